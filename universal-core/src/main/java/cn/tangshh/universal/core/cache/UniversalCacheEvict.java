@@ -0,0 +1,43 @@
+package cn.tangshh.universal.core.cache;
+
+import java.lang.annotation.*;
+
+/**
+ * <p>Evict cache written by {@link UniversalCacheable}</p>
+ * <p>删除 {@link UniversalCacheable} 写入的缓存</p>
+ * <pre>
+ * &#64;UniversalCacheEvict(name = "user", key = "#user.id")
+ * public void updateUser(User user) {...}
+ * </pre>
+ *
+ * @author Tang
+ * @version v1.0
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface UniversalCacheEvict {
+    /**
+     * <p>Cache name</p>
+     * <p>缓存名称</p>
+     */
+    String name();
+
+    /**
+     * <p>Key SpEL expression, default is json of all arguments</p>
+     * <p>键的SpEL表达式，默认为全部参数的json</p>
+     */
+    String key() default "";
+
+    /**
+     * <p>Evict all entries of cache name</p>
+     * <p>删除该缓存名称下的全部键</p>
+     */
+    boolean allEntries() default false;
+
+    /**
+     * <p>Evict before method invocation, default is after successful invocation</p>
+     * <p>在方法执行前删除，默认在方法成功执行后删除</p>
+     */
+    boolean beforeInvocation() default false;
+}
@@ -0,0 +1,318 @@
+package cn.tangshh.universal.core.cache;
+
+import cn.tangshh.universal.core.lock.RedisLock;
+import cn.tangshh.universal.core.util.JacksonUtil;
+import cn.tangshh.universal.core.util.RedisStrUtil;
+import cn.tangshh.universal.core.util.RedisUtil;
+import jakarta.annotation.Nullable;
+import jakarta.validation.constraints.NotNull;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>Interceptor of {@link UniversalCacheable} and {@link UniversalCacheEvict}</p>
+ * <p>缓存注解拦截器，缓存值格式为 过期时间戳:加载耗时:标记+json（标记 v 为有值，n 为空值），
+ * 过期时间与加载耗时用于XFetch提前刷新判断：now - 耗时 * beta * ln(random) &gt;= 过期时间</p>
+ * <p>ps: Redis读写异常时直接执行方法（不影响业务），分布式锁等待超时后同样直接执行方法；
+ * 缓存值无法反序列化（如返回类型变更）时视为未命中并覆盖写入</p>
+ *
+ * @author Tang
+ * @version v1.0
+ */
+@Slf4j
+public class UniversalCacheInterceptor implements MethodInterceptor {
+    private final static ParameterNameDiscoverer NAME_DISCOVERER = new DefaultParameterNameDiscoverer();
+    private final static SpelExpressionParser PARSER = new SpelExpressionParser();
+    private final static char VALUE_FLAG = 'v';
+    private final static char NULL_FLAG = 'n';
+
+    private final String keyPrefix;
+    private final Duration lockWait;
+    /** key expression -> parsed expression */
+    private final Map<String, Expression> expressions = new ConcurrentHashMap<>();
+    /** cache key -> loading of this instance */
+    private final Map<String, CompletableFuture<Object>> flights = new ConcurrentHashMap<>();
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder nullHitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder loadCount = new LongAdder();
+    private final LongAdder coalescedCount = new LongAdder();
+    private final LongAdder earlyRefreshCount = new LongAdder();
+    private final LongAdder errorCount = new LongAdder();
+
+    /**
+     * @param keyPrefix redis key prefix
+     * @param lockWait  maximum wait time of distributed lock
+     */
+    public UniversalCacheInterceptor(@NotNull String keyPrefix, @NotNull Duration lockWait) {
+        this.keyPrefix = keyPrefix;
+        this.lockWait = lockWait;
+    }
+
+    @Override
+    @Nullable
+    public Object invoke(@NotNull MethodInvocation invocation) throws Throwable {
+        Class<?> targetClass = invocation.getThis() == null ? null : AopUtils.getTargetClass(invocation.getThis());
+        Method method = AopUtils.getMostSpecificMethod(invocation.getMethod(), targetClass);
+        UniversalCacheEvict evict = AnnotatedElementUtils.findMergedAnnotation(method, UniversalCacheEvict.class);
+        if (evict != null) {
+            if (evict.beforeInvocation()) {
+                evict(evict, method, invocation.getArguments());
+            }
+            Object result = cacheable(invocation, method);
+            if (!evict.beforeInvocation()) {
+                evict(evict, method, invocation.getArguments());
+            }
+            return result;
+        }
+        return cacheable(invocation, method);
+    }
+
+    private Object cacheable(MethodInvocation invocation, Method method) throws Throwable {
+        UniversalCacheable cacheable = AnnotatedElementUtils.findMergedAnnotation(method, UniversalCacheable.class);
+        if (cacheable == null) {
+            return invocation.proceed();
+        }
+        String key = key(cacheable.name(), cacheable.key(), method, invocation.getArguments());
+        Type type = method.getGenericReturnType();
+        Entry entry = read(key, type);
+        if (entry == null) {
+            missCount.increment();
+            return load(invocation, cacheable, key, type, null);
+        }
+        if (entry.shouldRefresh(cacheable.beta())) {
+            earlyRefreshCount.increment();
+            return load(invocation, cacheable, key, type, entry);
+        }
+        if (entry.isNull()) {
+            nullHitCount.increment();
+        } else {
+            hitCount.increment();
+        }
+        return entry.value();
+    }
+
+    /**
+     * <p>Load once per key in this instance, other callers wait the result (or return stale value when refreshing)</p>
+     */
+    private Object load(MethodInvocation invocation, UniversalCacheable cacheable, String key, Type type,
+                        @Nullable Entry stale) throws Throwable {
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> loading = flights.putIfAbsent(key, flight);
+        if (loading != null) {
+            if (stale != null) {
+                return stale.value();
+            }
+            coalescedCount.increment();
+            try {
+                return loading.get();
+            } catch (ExecutionException e) {
+                throw e.getCause();
+            }
+        }
+        try {
+            Object value = cacheable.lock() ? loadWithLock(invocation, cacheable, key, type, stale)
+                    : invokeAndWrite(invocation, cacheable, key);
+            flight.complete(value);
+            return value;
+        } catch (Throwable e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(key, flight);
+        }
+    }
+
+    private Object loadWithLock(MethodInvocation invocation, UniversalCacheable cacheable, String key, Type type,
+                                @Nullable Entry stale) throws Throwable {
+        RedisLock lock = RedisLock.of(key);
+        // refreshing node holds the lock, others keep returning stale value instead of waiting
+        boolean locked = stale == null ? lock.tryLock(lockWait.toMillis(), TimeUnit.MILLISECONDS) : lock.tryLock();
+        if (!locked && stale != null) {
+            return stale.value();
+        }
+        try {
+            // loaded by another node while waiting
+            Entry entry = read(key, type);
+            if (entry != null && (stale == null || entry.expireAt != stale.expireAt)) {
+                return entry.value();
+            }
+            return invokeAndWrite(invocation, cacheable, key);
+        } finally {
+            if (locked) {
+                lock.unlock();
+            }
+        }
+    }
+
+    private Object invokeAndWrite(MethodInvocation invocation, UniversalCacheable cacheable, String key) throws Throwable {
+        loadCount.increment();
+        long start = System.currentTimeMillis();
+        Object value = invocation.proceed();
+        long delta = System.currentTimeMillis() - start;
+        long ttl = cacheable.unit().toMillis(value == null ? cacheable.nullTtl() : cacheable.ttl());
+        if (ttl <= 0) {
+            return value;
+        }
+        if (cacheable.jitter() > 0) {
+            ttl += (long) (ThreadLocalRandom.current().nextDouble() * cacheable.jitter() * ttl);
+        }
+        try {
+            String payload = value == null ? String.valueOf(NULL_FLAG) : VALUE_FLAG + JacksonUtil.toJson(value);
+            RedisStrUtil.setEx(key, (System.currentTimeMillis() + ttl) + ":" + delta + ":" + payload,
+                    Duration.ofMillis(ttl));
+        } catch (Exception e) {
+            errorCount.increment();
+            log.warn("cache write failed, key: {}", key, e);
+        }
+        return value;
+    }
+
+    @Nullable
+    private Entry read(String key, Type type) {
+        String raw;
+        try {
+            raw = RedisStrUtil.get(key);
+        } catch (Exception e) {
+            errorCount.increment();
+            log.warn("cache read failed, key: {}", key, e);
+            return null;
+        }
+        if (raw == null) {
+            return null;
+        }
+        int first = raw.indexOf(':');
+        int second = first < 0 ? -1 : raw.indexOf(':', first + 1);
+        // not written by this interceptor, treat as miss and overwrite
+        if (second < 0 || second + 1 >= raw.length()) {
+            return null;
+        }
+        long expireAt;
+        long delta;
+        try {
+            expireAt = Long.parseLong(raw.substring(0, first));
+            delta = Long.parseLong(raw.substring(first + 1, second));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        if (raw.charAt(second + 1) == NULL_FLAG) {
+            return new Entry(expireAt, delta, true, null);
+        }
+        String json = raw.substring(second + 2);
+        try {
+            // string is stored raw by JacksonUtil.toJson
+            return new Entry(expireAt, delta, false, type == String.class ? json : JacksonUtil.parseJson(json, type));
+        } catch (Exception e) {
+            // e.g. return type changed, treat as miss and overwrite
+            errorCount.increment();
+            log.warn("cache decode failed, key: {}", key, e);
+            return null;
+        }
+    }
+
+    private void evict(UniversalCacheEvict evict, Method method, Object[] args) {
+        try {
+            if (evict.allEntries()) {
+                RedisUtil.deleteByPattern(keyPrefix + evict.name() + ":*");
+            } else {
+                RedisUtil.del(key(evict.name(), evict.key(), method, args));
+            }
+        } catch (Exception e) {
+            errorCount.increment();
+            log.warn("cache evict failed, name: {}", evict.name(), e);
+        }
+    }
+
+    private String key(String name, String keyExpression, Method method, Object[] args) {
+        String key;
+        if (keyExpression.isEmpty()) {
+            key = args.length == 0 ? "_" : argsKey(args);
+        } else {
+            Expression expression = expressions.computeIfAbsent(keyExpression, PARSER::parseExpression);
+            Object value = expression.getValue(new MethodBasedEvaluationContext(null, method, args, NAME_DISCOVERER));
+            key = value == null ? "null" : JacksonUtil.toJson(value);
+        }
+        return keyPrefix + name + ":" + key;
+    }
+
+    private static String argsKey(Object[] args) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < args.length; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append(args[i] == null ? "null" : JacksonUtil.toJson(args[i]));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * <p>Statistics snapshot</p>
+     * <p>统计快照</p>
+     *
+     * @return {@link Stats}
+     */
+    public Stats stats() {
+        return new Stats(hitCount.sum(), nullHitCount.sum(), missCount.sum(), loadCount.sum(),
+                coalescedCount.sum(), earlyRefreshCount.sum(), errorCount.sum());
+    }
+
+    private record Entry(long expireAt, long delta, boolean isNull, @Nullable Object value) {
+        /**
+         * <p>XFetch: refresh with increasing probability when close to expiry, earlier for slower load</p>
+         */
+        boolean shouldRefresh(double beta) {
+            if (beta <= 0 || delta <= 0) {
+                return false;
+            }
+            double gap = -delta * beta * Math.log(ThreadLocalRandom.current().nextDouble());
+            return System.currentTimeMillis() + gap >= expireAt;
+        }
+    }
+
+    /**
+     * <p>Cache statistics</p>
+     * <p>缓存统计</p>
+     *
+     * @param hitCount          hit count
+     * @param nullHitCount      hit count of cached null
+     * @param missCount         miss count
+     * @param loadCount         method invocation count
+     * @param coalescedCount    miss served by another caller's loading in this instance
+     * @param earlyRefreshCount early refresh count
+     * @param errorCount        redis error or encode/decode failure count
+     */
+    public record Stats(long hitCount, long nullHitCount, long missCount, long loadCount, long coalescedCount,
+                        long earlyRefreshCount, long errorCount) {
+        /**
+         * <p>Hit ratio (null hit included)</p>
+         * <p>命中率（含空值命中）</p>
+         *
+         * @return double
+         */
+        public double hitRatio() {
+            long total = hitCount + nullHitCount + missCount;
+            return total == 0 ? 0 : (double) (hitCount + nullHitCount) / total;
+        }
+    }
+}
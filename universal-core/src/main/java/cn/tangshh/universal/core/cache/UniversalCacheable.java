@@ -0,0 +1,70 @@
+package cn.tangshh.universal.core.cache;
+
+import java.lang.annotation.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Cache method result in redis (cache-aside)</p>
+ * <p>将方法返回值缓存到Redis（旁路缓存），未命中时加载并写入，值经 {@link cn.tangshh.universal.core.util.JacksonUtil} 序列化</p>
+ * <p>缓存击穿保护：同一JVM内同键并发未命中只加载一次（single-flight），可选跨节点分布式锁；
+ * 临近过期时按XFetch算法概率性提前刷新（刷新期间其他请求继续返回旧值）；支持空值缓存与过期时间抖动</p>
+ * <pre>
+ * &#64;UniversalCacheable(name = "user", key = "#id", ttl = 10, unit = TimeUnit.MINUTES, lock = true)
+ * public User getUser(Long id) {...}
+ * </pre>
+ *
+ * @author Tang
+ * @version v1.0
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface UniversalCacheable {
+    /**
+     * <p>Cache name, part of redis key: prefix + name + ":" + key</p>
+     * <p>缓存名称，Redis键为 前缀 + 名称 + ":" + 键</p>
+     */
+    String name();
+
+    /**
+     * <p>Key SpEL expression, e.g. #id, #user.id, #p0; default is json of all arguments</p>
+     * <p>键的SpEL表达式，如 #id、#user.id、#p0，默认为全部参数的json</p>
+     */
+    String key() default "";
+
+    /**
+     * <p>Valid time</p>
+     * <p>有效期</p>
+     */
+    long ttl() default 300;
+
+    /**
+     * <p>Time unit of ttl and nullTtl</p>
+     * <p>有效期单位</p>
+     */
+    TimeUnit unit() default TimeUnit.SECONDS;
+
+    /**
+     * <p>Random extra valid time ratio, avoid keys written together expire together</p>
+     * <p>有效期随机增加的最大比例，避免同时写入的键同时过期</p>
+     */
+    double jitter() default 0.1;
+
+    /**
+     * <p>Valid time of null result (negative caching), 0 is not cache null</p>
+     * <p>空结果的有效期（空值缓存），0为不缓存空结果</p>
+     */
+    long nullTtl() default 60;
+
+    /**
+     * <p>Early refresh factor of XFetch, greater is earlier, 0 is disabled</p>
+     * <p>XFetch提前刷新系数，越大越早刷新，0为不提前刷新</p>
+     */
+    double beta() default 1.0;
+
+    /**
+     * <p>Load with distributed lock, only one node loads on miss (universal.redis.lock must be enabled)</p>
+     * <p>加载时使用分布式锁，未命中时仅一个节点加载，其他节点等待后读取缓存（需启用 universal.redis.lock）</p>
+     */
+    boolean lock() default false;
+}
@@ -0,0 +1,140 @@
+package cn.tangshh.universal.core.codec;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.*;
+
+/**
+ * <p>Redis value compression algorithm</p>
+ * <p>Redis值压缩算法（JDK内置实现）</p>
+ *
+ * @author Tang
+ * @version v1.0
+ */
+public enum CompressionAlgorithm {
+    /** raw deflate */
+    DEFLATE((byte) 1) {
+        @Override
+        public byte[] compress(@NotNull byte[] bytes, int level) {
+            Deflater deflater = new Deflater(level, true);
+            try {
+                deflater.setInput(bytes);
+                deflater.finish();
+                ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, bytes.length / 4));
+                byte[] buffer = new byte[BUFFER_SIZE];
+                while (!deflater.finished()) {
+                    out.write(buffer, 0, deflater.deflate(buffer));
+                }
+                return out.toByteArray();
+            } finally {
+                deflater.end();
+            }
+        }
+
+        @Override
+        public byte[] decompress(@NotNull byte[] bytes, int offset, int length) {
+            Inflater inflater = new Inflater(true);
+            try {
+                inflater.setInput(bytes, offset, length);
+                ByteArrayOutputStream out = new ByteArrayOutputStream(length * 4);
+                byte[] buffer = new byte[BUFFER_SIZE];
+                while (!inflater.finished()) {
+                    int n = inflater.inflate(buffer);
+                    if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                        // stream ended before the final block, truncated or not deflate data
+                        throw new IllegalStateException("redis value inflate failed, truncated deflate stream");
+                    }
+                    out.write(buffer, 0, n);
+                }
+                return out.toByteArray();
+            } catch (DataFormatException e) {
+                throw new IllegalStateException("redis value inflate failed", e);
+            } finally {
+                inflater.end();
+            }
+        }
+    },
+    /** gzip, readable by other language clients */
+    GZIP((byte) 2) {
+        @Override
+        public byte[] compress(@NotNull byte[] bytes, int level) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, bytes.length / 4));
+            try (GZIPOutputStream gzip = new GZIPOutputStream(out, BUFFER_SIZE) {
+                {
+                    def.setLevel(level);
+                }
+            }) {
+                gzip.write(bytes);
+            } catch (IOException e) {
+                throw new IllegalStateException("redis value gzip failed", e);
+            }
+            return out.toByteArray();
+        }
+
+        @Override
+        public byte[] decompress(@NotNull byte[] bytes, int offset, int length) {
+            try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(bytes, offset, length), BUFFER_SIZE)) {
+                return gzip.readAllBytes();
+            } catch (IOException e) {
+                throw new IllegalStateException("redis value gunzip failed", e);
+            }
+        }
+    };
+
+    private final static int BUFFER_SIZE = 8192;
+    private final byte id;
+
+    CompressionAlgorithm(byte id) {
+        this.id = id;
+    }
+
+    /**
+     * <p>Algorithm id, written in the value header</p>
+     * <p>算法标识，写入值头部</p>
+     *
+     * @return byte
+     */
+    public byte id() {
+        return id;
+    }
+
+    /**
+     * <p>Compress</p>
+     * <p>压缩</p>
+     *
+     * @param bytes bytes
+     * @param level compression level (0~9, -1 default)
+     * @return byte[]
+     */
+    public abstract byte[] compress(@NotNull byte[] bytes, int level);
+
+    /**
+     * <p>Decompress</p>
+     * <p>解压</p>
+     *
+     * @param bytes  bytes
+     * @param offset offset
+     * @param length length
+     * @return byte[]
+     */
+    public abstract byte[] decompress(@NotNull byte[] bytes, int offset, int length);
+
+    /**
+     * <p>Get algorithm by id</p>
+     * <p>通过标识获取算法</p>
+     *
+     * @param id id
+     * @return {@link CompressionAlgorithm}
+     */
+    public static CompressionAlgorithm of(byte id) {
+        for (CompressionAlgorithm algorithm : values()) {
+            if (algorithm.id == id) {
+                return algorithm;
+            }
+        }
+        throw new IllegalStateException("unknown redis value compression algorithm id: " + id);
+    }
+}
@@ -0,0 +1,22 @@
+package cn.tangshh.universal.core.codec;
+
+import lombok.Data;
+
+import java.util.zip.Deflater;
+
+/**
+ * <p>Redis value compression policy</p>
+ * <p>Redis值压缩策略，编码后的值达到阈值才压缩，且仅在压缩后更小时生效</p>
+ *
+ * @author Tang
+ * @version v1.0
+ */
+@Data
+public class CompressionPolicy {
+    /** compression algorithm */
+    private CompressionAlgorithm algorithm = CompressionAlgorithm.DEFLATE;
+    /** compress when encoded value size (byte) reach threshold */
+    private int threshold = 4096;
+    /** compression level (0~9, -1 default) */
+    private int level = Deflater.DEFAULT_COMPRESSION;
+}
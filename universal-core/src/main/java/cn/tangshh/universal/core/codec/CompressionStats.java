@@ -0,0 +1,78 @@
+package cn.tangshh.universal.core.codec;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>Redis value compression statistics</p>
+ * <p>Redis值压缩统计</p>
+ *
+ * @author Tang
+ * @version v1.0
+ */
+public final class CompressionStats {
+    private final LongAdder compressedCount = new LongAdder();
+    private final LongAdder skippedCount = new LongAdder();
+    private final LongAdder rawBytes = new LongAdder();
+    private final LongAdder compressedBytes = new LongAdder();
+
+    void compressed(int raw, int compressed) {
+        compressedCount.increment();
+        rawBytes.add(raw);
+        compressedBytes.add(compressed);
+    }
+
+    void skipped() {
+        skippedCount.increment();
+    }
+
+    /**
+     * <p>Compressed value count</p>
+     * <p>已压缩的值数量</p>
+     *
+     * @return long
+     */
+    public long compressedCount() {
+        return compressedCount.sum();
+    }
+
+    /**
+     * <p>Not compressed value count (under threshold or not smaller)</p>
+     * <p>未压缩的值数量（低于阈值或压缩后未变小）</p>
+     *
+     * @return long
+     */
+    public long skippedCount() {
+        return skippedCount.sum();
+    }
+
+    /**
+     * <p>Total size before compression</p>
+     * <p>压缩前总字节数</p>
+     *
+     * @return long
+     */
+    public long rawBytes() {
+        return rawBytes.sum();
+    }
+
+    /**
+     * <p>Total size after compression</p>
+     * <p>压缩后总字节数</p>
+     *
+     * @return long
+     */
+    public long compressedBytes() {
+        return compressedBytes.sum();
+    }
+
+    /**
+     * <p>Compression ratio (compressed / raw), 1 is nothing compressed</p>
+     * <p>压缩率（压缩后/压缩前），1表示未压缩</p>
+     *
+     * @return double
+     */
+    public double ratio() {
+        long raw = rawBytes.sum();
+        return raw == 0 ? 1 : (double) compressedBytes.sum() / raw;
+    }
+}
@@ -0,0 +1,120 @@
+package cn.tangshh.universal.core.codec;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.util.ClassUtils;
+
+import java.io.IOException;
+
+/**
+ * <p>Jackson binary format value codec (Smile / CBOR)</p>
+ * <p>基于Jackson二进制格式的编解码器，需引入对应的 jackson-dataformat-smile / jackson-dataformat-cbor 依赖</p>
+ *
+ * @author Tang
+ * @version v1.0
+ */
+public final class JacksonBinaryValueCodec implements RedisValueCodec {
+    public final static String SMILE = "smile";
+    public final static String CBOR = "cbor";
+    private final static String SMILE_FACTORY = "com.fasterxml.jackson.dataformat.smile.SmileFactory";
+    private final static String CBOR_FACTORY = "com.fasterxml.jackson.dataformat.cbor.CBORFactory";
+
+    private final byte id;
+    private final String name;
+    private final ObjectMapper mapper;
+
+    /**
+     * @param id      codec id
+     * @param name    codec name
+     * @param factory jackson binary format factory
+     */
+    public JacksonBinaryValueCodec(byte id, @NotNull String name, @NotNull JsonFactory factory) {
+        this.id = id;
+        this.name = name;
+        this.mapper = new ObjectMapper(factory);
+        this.mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    }
+
+    /**
+     * <p>Smile codec</p>
+     * <p>Smile编解码器</p>
+     *
+     * @return {@link JacksonBinaryValueCodec}
+     */
+    public static JacksonBinaryValueCodec smile() {
+        return new JacksonBinaryValueCodec((byte) 2, SMILE, factory(SMILE_FACTORY));
+    }
+
+    /**
+     * <p>CBOR codec</p>
+     * <p>CBOR编解码器</p>
+     *
+     * @return {@link JacksonBinaryValueCodec}
+     */
+    public static JacksonBinaryValueCodec cbor() {
+        return new JacksonBinaryValueCodec((byte) 3, CBOR, factory(CBOR_FACTORY));
+    }
+
+    /**
+     * <p>Is format available in classpath</p>
+     * <p>对应的二进制格式依赖是否存在</p>
+     *
+     * @param name codec name
+     * @return boolean
+     */
+    public static boolean isPresent(@NotNull String name) {
+        return switch (name) {
+            case SMILE -> ClassUtils.isPresent(SMILE_FACTORY, null);
+            case CBOR -> ClassUtils.isPresent(CBOR_FACTORY, null);
+            default -> false;
+        };
+    }
+
+    @Override
+    public byte id() {
+        return id;
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public byte[] encode(@NotNull Object value) {
+        try {
+            return mapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public <T> T decode(@NotNull byte[] bytes, @NotNull Class<T> tClass) {
+        try {
+            return mapper.readValue(bytes, tClass);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public <T> T decode(@NotNull byte[] bytes, @NotNull TypeReference<T> reference) {
+        try {
+            return mapper.readValue(bytes, reference);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static JsonFactory factory(String className) {
+        try {
+            return (JsonFactory) ClassUtils.forName(className, null).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            throw new IllegalStateException("not found " + className + ", please add the jackson dataformat dependency", e);
+        }
+    }
+}
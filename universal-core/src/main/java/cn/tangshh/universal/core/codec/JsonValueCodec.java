@@ -0,0 +1,53 @@
+package cn.tangshh.universal.core.codec;
+
+import cn.tangshh.universal.core.util.JacksonUtil;
+import com.fasterxml.jackson.core.type.TypeReference;
+import jakarta.validation.constraints.NotNull;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * <p>JSON value codec (default)</p>
+ * <p>JSON编解码器（默认），与既有字符串数据格式一致</p>
+ *
+ * @author Tang
+ * @version v1.0
+ */
+public final class JsonValueCodec implements RedisValueCodec {
+    public final static String NAME = "json";
+
+    @Override
+    public byte id() {
+        return 1;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public boolean headerless() {
+        return true;
+    }
+
+    @Override
+    public byte[] encode(@NotNull Object value) {
+        return JacksonUtil.toJsonBytes(value);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T decode(@NotNull byte[] bytes, @NotNull Class<T> tClass) {
+        // string value is stored raw (JacksonUtil.toJson keep string as is)
+        if (tClass == String.class && (bytes.length == 0 || bytes[0] != '"')) {
+            return (T) new String(bytes, StandardCharsets.UTF_8);
+        }
+        return JacksonUtil.parseJson(bytes, tClass);
+    }
+
+    @Override
+    public <T> T decode(@NotNull byte[] bytes, @NotNull TypeReference<T> reference) {
+        return JacksonUtil.parseJson(bytes, reference);
+    }
+}
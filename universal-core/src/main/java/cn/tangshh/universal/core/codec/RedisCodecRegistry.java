@@ -0,0 +1,264 @@
+package cn.tangshh.universal.core.codec;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import jakarta.annotation.Nullable;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>Redis value codec registry</p>
+ * <p>Redis值编解码器注册表，按键前缀选择编码器</p>
+ * <p>value format: [0x00][codec id][payload]，JSON为无头部的原始文本，读取时自动识别，兼容迁移期的旧数据</p>
+ * <p>compressed format: [0x00][0x80 | codec id][algorithm id][compressed payload]</p>
+ *
+ * @author Tang
+ * @version v1.0
+ */
+public final class RedisCodecRegistry implements InitializingBean, DisposableBean {
+    /** header magic byte, json text never start with 0x00 */
+    public final static byte MAGIC = 0x00;
+    /** compressed flag in codec id byte */
+    public final static byte COMPRESSED = (byte) 0x80;
+    private final static RedisCodecRegistry DEFAULT = new RedisCodecRegistry(JsonValueCodec.NAME, Collections.emptyMap(), Collections.emptyList());
+    private static volatile RedisCodecRegistry instance;
+
+    private final RedisValueCodec defaultCodec;
+    private final RedisValueCodec[] codecs = new RedisValueCodec[128];
+    private final Map<String, RedisValueCodec> codecNames = new ConcurrentHashMap<>();
+    /** key prefix -> codec, longest prefix first */
+    private final List<Map.Entry<String, RedisValueCodec>> prefixCodecs = new ArrayList<>();
+    @Nullable
+    private final CompressionPolicy defaultCompression;
+    /** key prefix -> compression policy, longest prefix first */
+    private final List<Map.Entry<String, CompressionPolicy>> prefixCompressions = new ArrayList<>();
+    private final CompressionStats compressionStats = new CompressionStats();
+
+    /**
+     * @param defaultCodec default codec name
+     * @param prefixes     key prefix -> codec name
+     * @param extraCodecs  custom codec
+     */
+    public RedisCodecRegistry(@NotNull String defaultCodec, @NotNull Map<String, String> prefixes,
+                              @NotNull Collection<RedisValueCodec> extraCodecs) {
+        this(defaultCodec, prefixes, extraCodecs, null, Collections.emptyMap());
+    }
+
+    /**
+     * @param defaultCodec        default codec name
+     * @param prefixes            key prefix -> codec name
+     * @param extraCodecs         custom codec
+     * @param defaultCompression  default compression policy, null is not compress
+     * @param prefixCompressions  key prefix -> compression policy
+     */
+    public RedisCodecRegistry(@NotNull String defaultCodec, @NotNull Map<String, String> prefixes,
+                              @NotNull Collection<RedisValueCodec> extraCodecs,
+                              @Nullable CompressionPolicy defaultCompression,
+                              @NotNull Map<String, CompressionPolicy> prefixCompressions) {
+        this.defaultCompression = defaultCompression;
+        this.prefixCompressions.addAll(prefixCompressions.entrySet());
+        this.prefixCompressions.sort((a, b) -> b.getKey().length() - a.getKey().length());
+        register(new JsonValueCodec());
+        extraCodecs.forEach(this::register);
+        this.defaultCodec = codec(defaultCodec);
+        prefixes.forEach((prefix, name) -> prefixCodecs.add(Map.entry(prefix, codec(name))));
+        prefixCodecs.sort((a, b) -> b.getKey().length() - a.getKey().length());
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        instance = this;
+    }
+
+    @Override
+    public void destroy() {
+        instance = null;
+    }
+
+    /**
+     * <p>Get current registry</p>
+     * <p>获取当前注册表，未配置时仅含JSON编码器</p>
+     *
+     * @return {@link RedisCodecRegistry}
+     */
+    public static RedisCodecRegistry current() {
+        RedisCodecRegistry registry = instance;
+        return registry == null ? DEFAULT : registry;
+    }
+
+    /**
+     * <p>Get codec by name</p>
+     * <p>通过名称获取编码器，内置二进制格式按需加载</p>
+     *
+     * @param name codec name
+     * @return {@link RedisValueCodec}
+     */
+    public RedisValueCodec codec(@NotNull String name) {
+        RedisValueCodec codec = codecNames.get(name);
+        if (codec != null) {
+            return codec;
+        }
+        codec = switch (name) {
+            case JacksonBinaryValueCodec.SMILE -> JacksonBinaryValueCodec.smile();
+            case JacksonBinaryValueCodec.CBOR -> JacksonBinaryValueCodec.cbor();
+            default -> throw new IllegalArgumentException("unknown redis value codec: " + name);
+        };
+        register(codec);
+        return codec;
+    }
+
+    /**
+     * <p>Select codec for key</p>
+     * <p>按键前缀选择编码器</p>
+     *
+     * @param key key
+     * @return {@link RedisValueCodec}
+     */
+    public RedisValueCodec codecFor(@NotNull String key) {
+        for (Map.Entry<String, RedisValueCodec> entry : prefixCodecs) {
+            if (key.startsWith(entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+        return defaultCodec;
+    }
+
+    /**
+     * <p>Encode value with the codec of key</p>
+     * <p>使用键对应的编码器编码</p>
+     *
+     * @param key   key
+     * @param value value
+     * @return byte[]
+     */
+    public byte[] encode(@NotNull String key, @NotNull Object value) {
+        RedisValueCodec codec = codecFor(key);
+        byte[] payload = codec.encode(value);
+        CompressionPolicy policy = compressionFor(key);
+        if (policy != null) {
+            if (payload.length >= policy.getThreshold()) {
+                byte[] compressed = policy.getAlgorithm().compress(payload, policy.getLevel());
+                if (compressed.length + 3 < payload.length) {
+                    compressionStats.compressed(payload.length, compressed.length + 3);
+                    byte[] bytes = new byte[compressed.length + 3];
+                    bytes[0] = MAGIC;
+                    bytes[1] = (byte) (COMPRESSED | codec.id());
+                    bytes[2] = policy.getAlgorithm().id();
+                    System.arraycopy(compressed, 0, bytes, 3, compressed.length);
+                    return bytes;
+                }
+            }
+            compressionStats.skipped();
+        }
+        if (codec.headerless()) {
+            return payload;
+        }
+        byte[] bytes = new byte[payload.length + 2];
+        bytes[0] = MAGIC;
+        bytes[1] = codec.id();
+        System.arraycopy(payload, 0, bytes, 2, payload.length);
+        return bytes;
+    }
+
+    /**
+     * <p>Decode value, detect codec by header</p>
+     * <p>解码，按头部识别编码器，无头部按JSON处理</p>
+     *
+     * @param bytes  bytes
+     * @param tClass target type class
+     * @return {@link T}
+     */
+    @Nullable
+    public <T> T decode(@Nullable byte[] bytes, @NotNull Class<T> tClass) {
+        if (bytes == null) {
+            return null;
+        }
+        RedisValueCodec codec = detect(bytes);
+        return codec.decode(payload(bytes), tClass);
+    }
+
+    /**
+     * <p>Decode value, detect codec by header</p>
+     * <p>解码，按头部识别编码器，无头部按JSON处理</p>
+     *
+     * @param bytes     bytes
+     * @param reference reference
+     * @return {@link T}
+     */
+    @Nullable
+    public <T> T decode(@Nullable byte[] bytes, @NotNull TypeReference<T> reference) {
+        if (bytes == null) {
+            return null;
+        }
+        RedisValueCodec codec = detect(bytes);
+        return codec.decode(payload(bytes), reference);
+    }
+
+    private RedisValueCodec detect(byte[] bytes) {
+        if (bytes.length < 2 || bytes[0] != MAGIC) {
+            return codecNames.get(JsonValueCodec.NAME);
+        }
+        byte id = (byte) (bytes[1] & ~COMPRESSED);
+        RedisValueCodec codec = codecs[id];
+        if (codec == null) {
+            // value written by another node with a codec not configured here
+            codec = switch (id) {
+                case 2 -> codec(JacksonBinaryValueCodec.SMILE);
+                case 3 -> codec(JacksonBinaryValueCodec.CBOR);
+                default -> null;
+            };
+        }
+        if (codec == null) {
+            throw new IllegalStateException("unknown redis value codec id: " + id);
+        }
+        return codec;
+    }
+
+    /**
+     * <p>Compression statistics</p>
+     * <p>压缩统计（压缩率等）</p>
+     *
+     * @return {@link CompressionStats}
+     */
+    public CompressionStats compressionStats() {
+        return compressionStats;
+    }
+
+    @Nullable
+    private CompressionPolicy compressionFor(String key) {
+        for (Map.Entry<String, CompressionPolicy> entry : prefixCompressions) {
+            if (key.startsWith(entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+        return defaultCompression;
+    }
+
+    private static byte[] payload(byte[] bytes) {
+        if (bytes.length < 2 || bytes[0] != MAGIC) {
+            return bytes;
+        }
+        if ((bytes[1] & COMPRESSED) != 0) {
+            if (bytes.length < 3) {
+                throw new IllegalStateException("truncated redis value, compressed flag without algorithm id");
+            }
+            return CompressionAlgorithm.of(bytes[2]).decompress(bytes, 3, bytes.length - 3);
+        }
+        return Arrays.copyOfRange(bytes, 2, bytes.length);
+    }
+
+    private synchronized void register(RedisValueCodec codec) {
+        if (codec.id() <= 0) {
+            throw new IllegalArgumentException("codec id must be in 1~127: " + codec.name());
+        }
+        RedisValueCodec exist = codecs[codec.id()];
+        if (exist != null && !exist.name().equals(codec.name())) {
+            throw new IllegalArgumentException("duplicate codec id " + codec.id() + ": " + exist.name() + ", " + codec.name());
+        }
+        codecs[codec.id()] = codec;
+        codecNames.put(codec.name(), codec);
+    }
+}
@@ -0,0 +1,71 @@
+package cn.tangshh.universal.core.codec;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import jakarta.annotation.Nullable;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * <p>Redis value codec SPI</p>
+ * <p>Redis值编解码器，声明为Spring Bean即可被 {@link RedisCodecRegistry} 注册</p>
+ *
+ * @author Tang
+ * @version v1.0
+ */
+public interface RedisValueCodec {
+    /**
+     * <p>Codec id, written in the value header (1~127)</p>
+     * <p>编码器标识，写入值头部，用于读取时识别编码格式</p>
+     *
+     * @return byte
+     */
+    byte id();
+
+    /**
+     * <p>Codec name, used in config</p>
+     * <p>编码器名称，用于配置</p>
+     *
+     * @return {@link String}
+     */
+    String name();
+
+    /**
+     * <p>Is header written (JSON is headerless to keep compatible with string utils)</p>
+     * <p>是否写入头部，JSON不写头部以兼容 {@code RedisStrUtil} 等字符串工具</p>
+     *
+     * @return boolean
+     */
+    default boolean headerless() {
+        return false;
+    }
+
+    /**
+     * <p>Encode value</p>
+     * <p>编码</p>
+     *
+     * @param value value
+     * @return byte[]
+     */
+    byte[] encode(@NotNull Object value);
+
+    /**
+     * <p>Decode value</p>
+     * <p>解码</p>
+     *
+     * @param bytes  payload (without header)
+     * @param tClass target type class
+     * @return {@link T}
+     */
+    @Nullable
+    <T> T decode(@NotNull byte[] bytes, @NotNull Class<T> tClass);
+
+    /**
+     * <p>Decode value</p>
+     * <p>解码</p>
+     *
+     * @param bytes     payload (without header)
+     * @param reference reference
+     * @return {@link T}
+     */
+    @Nullable
+    <T> T decode(@NotNull byte[] bytes, @NotNull TypeReference<T> reference);
+}
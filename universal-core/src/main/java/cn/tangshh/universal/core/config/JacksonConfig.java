@@ -0,0 +1,227 @@
+package cn.tangshh.universal.core.config;
+
+import cn.hutool.core.thread.ThreadFactoryBuilder;
+import cn.tangshh.universal.core.util.JacksonUtil;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.ClassUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * <p>Jackson Config</p>
+ * <p>{@link JacksonUtil} 配置，默认JacksonUtil使用独立的存储ObjectMapper（Redis等持久化数据格式固定，不受spring.jackson.* 影响），
+ * 可选注册字节码加速模块，并在启动时预热指定包下DTO的序列化器</p>
+ * <p>ps: share-mvc-mapper 开启后JacksonUtil改用Spring MVC的ObjectMapper Bean（spring.jackson.* 同样生效），
+ * 但Boot默认关闭WRITE_DATES_AS_TIMESTAMPS，日期等字段的存储格式随之改变，已有数据需确认可兼容读取或迁移后再开启；
+ * 共享的Bean为唯一的ObjectMapper Bean，存在多个时为@Primary标注的Bean，否则为Boot的jacksonObjectMapper，加速模块同样注册到该Bean</p>
+ *
+ * @author Tang
+ * @version v1.0
+ */
+@Slf4j
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "universal.jackson")
+public class JacksonConfig implements InitializingBean, DisposableBean {
+    /** JacksonUtil uses the Spring MVC mapper bean instead of its own storage mapper, changes stored format */
+    private boolean shareMvcMapper = false;
+    /** bytecode accelerator module: none / blackbird / afterburner */
+    private Accelerator accelerator = Accelerator.NONE;
+    /** packages of DTO to pre-warm (de)serializers at startup */
+    private List<String> prewarmPackages = new ArrayList<>();
+    /** batch parallelism */
+    private Parallel parallel = new Parallel();
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private ExecutorService executor;
+
+    @Override
+    public void afterPropertiesSet() {
+        executor = Executors.newFixedThreadPool(threads(), ThreadFactoryBuilder.create()
+                .setNamePrefix("jackson-parallel-").setDaemon(true).build());
+        JacksonUtil.configure(parallel.getThreshold(), parallel.getLength(), threads(), executor);
+        // storage mapper, also used before the shared mapper bean is initialized
+        Module module = accelerator.module();
+        if (module != null) {
+            JacksonUtil.use(JacksonUtil.getMapper().copy().registerModule(module));
+        }
+    }
+
+    @Override
+    public void destroy() {
+        // fall back to the built-in pool for calls after shutdown
+        JacksonUtil.configure(parallel.getThreshold(), parallel.getLength(), threads(), null);
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * <p>Pre-warm before the web server accepts requests</p>
+     */
+    @Bean
+    public SmartInitializingSingleton jacksonUtilInitializer() {
+        return () -> {
+            if (!prewarmPackages.isEmpty()) {
+                prewarm();
+            }
+        };
+    }
+
+    /**
+     * <p>Share the Spring mapper bean with JacksonUtil as soon as it is initialized, not after all singletons</p>
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "universal.jackson", name = "share-mvc-mapper", havingValue = "true")
+    public static BeanPostProcessor jacksonUtilMapperSharing(ConfigurableListableBeanFactory beanFactory,
+                                                            Environment environment) {
+        String target = sharedMapperName(beanFactory);
+        Accelerator accelerator = Binder.get(environment).bind("universal.jackson.accelerator", Accelerator.class)
+                .orElse(Accelerator.NONE);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (target.equals(beanName) && bean instanceof ObjectMapper objectMapper) {
+                    // registered by the builder customizer for Boot's mapper, not for a mapper built by the application
+                    Module module = accelerator.module();
+                    if (module != null && !objectMapper.getRegisteredModuleIds().contains(module.getTypeId())) {
+                        objectMapper.registerModule(module);
+                    }
+                    JacksonUtil.use(objectMapper);
+                    log.info("JacksonUtil shares the mapper bean: {}", beanName);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * <p>The only mapper bean, or the primary one, or Boot's jacksonObjectMapper</p>
+     */
+    private static String sharedMapperName(ConfigurableListableBeanFactory beanFactory) {
+        String[] names = beanFactory.getBeanNamesForType(ObjectMapper.class, true, false);
+        if (names.length == 1) {
+            return names[0];
+        }
+        for (String name : names) {
+            if (beanFactory.containsBeanDefinition(name) && beanFactory.getBeanDefinition(name).isPrimary()) {
+                return name;
+            }
+        }
+        return "jacksonObjectMapper";
+    }
+
+    private void prewarm() {
+        long start = System.currentTimeMillis();
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter((reader, factory) -> true);
+        List<Class<?>> types = new ArrayList<>();
+        ClassLoader classLoader = ClassUtils.getDefaultClassLoader();
+        for (String prewarmPackage : prewarmPackages) {
+            for (BeanDefinition candidate : scanner.findCandidateComponents(prewarmPackage)) {
+                try {
+                    types.add(ClassUtils.forName(candidate.getBeanClassName(), classLoader));
+                } catch (ClassNotFoundException | LinkageError e) {
+                    log.debug("jackson pre-warm skipped: {}", candidate.getBeanClassName(), e);
+                }
+            }
+        }
+        int count = JacksonUtil.warmUp(types);
+        log.info("jackson pre-warmed {} of {} types in {} ms", count, types.size(), System.currentTimeMillis() - start);
+    }
+
+    private int threads() {
+        return parallel.getThreads() > 0 ? parallel.getThreads()
+                : Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+    }
+
+    /**
+     * <p>Register accelerator module to the Spring mapper builder</p>
+     */
+    @Configuration
+    @ConditionalOnClass(Jackson2ObjectMapperBuilder.class)
+    static class BuilderConfig {
+        @Bean
+        public Jackson2ObjectMapperBuilderCustomizer universalJacksonCustomizer(JacksonConfig config) {
+            return builder -> {
+                Module module = config.getAccelerator().module();
+                if (module != null) {
+                    builder.postConfigurer(objectMapper -> objectMapper.registerModule(module));
+                }
+            };
+        }
+    }
+
+    /**
+     * <p>Bytecode accelerator module, generating accessors instead of reflection</p>
+     * <p>字节码加速模块，Blackbird适用于Java 11+，Afterburner适用于Java 8；需自行引入对应依赖，缺失时忽略</p>
+     */
+    public enum Accelerator {
+        NONE(null),
+        BLACKBIRD("com.fasterxml.jackson.module.blackbird.BlackbirdModule"),
+        AFTERBURNER("com.fasterxml.jackson.module.afterburner.AfterburnerModule");
+
+        private final String className;
+
+        Accelerator(String className) {
+            this.className = className;
+        }
+
+        Module module() {
+            if (className == null) {
+                return null;
+            }
+            if (!ClassUtils.isPresent(className, Accelerator.class.getClassLoader())) {
+                log.warn("jackson accelerator {} is not on classpath, ignored", className);
+                return null;
+            }
+            try {
+                return (Module) ClassUtils.forName(className, Accelerator.class.getClassLoader())
+                        .getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                log.warn("jackson accelerator {} create failed, ignored", className, e);
+                return null;
+            }
+        }
+    }
+
+    /**
+     * <p>Batch parallelism config</p>
+     * <p>批量序列化/反序列化并行配置，元素数量或json总长度达到阈值时并行，否则顺序处理</p>
+     */
+    @Data
+    public static class Parallel {
+        /** minimum element to process in parallel, 0 is never by size */
+        private int threshold = 512;
+        /** minimum total json length to deserialize in parallel, 0 is never by length */
+        private long length = 256 * 1024;
+        /** dedicated parallel threads, 0 is available processors - 1 */
+        private int threads = 0;
+    }
+}
@@ -0,0 +1,56 @@
+package cn.tangshh.universal.core.config;
+
+import cn.tangshh.universal.core.util.RedisNearCache;
+import lombok.Data;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>Redis Near Cache Config</p>
+ * <p>Redis本地近端缓存配置（默认关闭）</p>
+ *
+ * @author Tang
+ * @version v1.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "universal.redis.near-cache")
+@ConditionalOnClass(RedisProperties.class)
+@ConditionalOnProperty(prefix = "universal.redis.near-cache", name = "enabled", havingValue = "true")
+public class NearCacheConfig {
+    /** enable near cache */
+    private boolean enabled = false;
+    /** maximum cached redis key */
+    private int maximumSize = 10000;
+    /** local valid time */
+    private Duration ttl = Duration.ofMinutes(5);
+    /** invalidate notify channel */
+    private String channel = "universal:near-cache:invalidate";
+    /** cached key prefixes, empty is all key */
+    private List<String> keyPrefixes = new ArrayList<>();
+
+    @Bean
+    public RedisNearCache redisNearCache(StringRedisTemplate stringRedisTemplate) {
+        return new RedisNearCache(stringRedisTemplate, maximumSize, ttl, channel, keyPrefixes);
+    }
+
+    @Bean
+    public RedisMessageListenerContainer nearCacheListenerContainer(RedisConnectionFactory factory, RedisNearCache redisNearCache) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(factory);
+        container.addMessageListener(redisNearCache, new ChannelTopic(channel));
+        return container;
+    }
+}
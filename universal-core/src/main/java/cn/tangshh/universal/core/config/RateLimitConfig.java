@@ -0,0 +1,69 @@
+package cn.tangshh.universal.core.config;
+
+import cn.tangshh.universal.core.limit.RateLimitInterceptor;
+import cn.tangshh.universal.core.limit.RateLimitRule;
+import cn.tangshh.universal.core.limit.RateLimitUserResolver;
+import cn.tangshh.universal.core.limit.RedisRateLimiter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>Rate Limit Config</p>
+ * <p>接口限流配置</p>
+ *
+ * @author Tang
+ * @version v1.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "universal.rate-limit")
+@ConditionalOnClass(RedisProperties.class)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "universal.rate-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig {
+    /** enable rate limit */
+    private boolean enabled = true;
+    /** redis key prefix */
+    private String keyPrefix = "universal:rate-limit:";
+    /** maximum local pre-filter key, 0 is disabled */
+    private int localMaxKeys = 10000;
+    /** endpoint rules, first matched path is used */
+    private List<RateLimitRule> rules = new ArrayList<>();
+
+    @Bean
+    public RedisRateLimiter redisRateLimiter(StringRedisTemplate stringRedisTemplate) {
+        return new RedisRateLimiter(stringRedisTemplate, keyPrefix, localMaxKeys);
+    }
+
+    @Bean
+    public RateLimitInterceptor rateLimitInterceptor(RedisRateLimiter redisRateLimiter,
+                                                     ObjectProvider<RateLimitUserResolver> userResolver) {
+        return new RateLimitInterceptor(redisRateLimiter, rules,
+                userResolver.getIfAvailable(() -> HttpServletRequest::getRemoteUser));
+    }
+
+    @Bean
+    public WebMvcConfigurer rateLimitWebMvcConfigurer(RateLimitInterceptor rateLimitInterceptor) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(@NotNull InterceptorRegistry registry) {
+                registry.addInterceptor(rateLimitInterceptor);
+            }
+        };
+    }
+}
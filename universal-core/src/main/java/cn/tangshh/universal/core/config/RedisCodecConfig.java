@@ -0,0 +1,56 @@
+package cn.tangshh.universal.core.config;
+
+import cn.tangshh.universal.core.codec.CompressionPolicy;
+import cn.tangshh.universal.core.codec.JsonValueCodec;
+import cn.tangshh.universal.core.codec.RedisCodecRegistry;
+import cn.tangshh.universal.core.codec.RedisValueCodec;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * <p>Redis Value Codec Config</p>
+ * <p>Redis值编解码配置</p>
+ *
+ * @author Tang
+ * @version v1.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "universal.redis.codec")
+@ConditionalOnClass(RedisProperties.class)
+public class RedisCodecConfig {
+    /** default codec name: json / smile / cbor / custom codec name */
+    private String defaultCodec = JsonValueCodec.NAME;
+    /** key prefix -> codec name */
+    private Map<String, String> prefixes = new LinkedHashMap<>();
+    /** value compression */
+    private Compression compression = new Compression();
+
+    @Bean
+    public RedisCodecRegistry redisCodecRegistry(ObjectProvider<RedisValueCodec> codecs) {
+        return new RedisCodecRegistry(defaultCodec, prefixes, codecs.orderedStream().toList(),
+                compression.isEnabled() ? compression : null, compression.getPrefixes());
+    }
+
+    /**
+     * <p>Value compression config</p>
+     * <p>值压缩配置，prefixes中的策略对匹配前缀的键始终生效</p>
+     */
+    @Data
+    @EqualsAndHashCode(callSuper = true)
+    public static class Compression extends CompressionPolicy {
+        /** enable compression for all key */
+        private boolean enabled = false;
+        /** key prefix -> compression policy */
+        private Map<String, CompressionPolicy> prefixes = new LinkedHashMap<>();
+    }
+}
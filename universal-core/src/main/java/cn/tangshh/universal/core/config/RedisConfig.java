@@ -1,23 +1,114 @@
 package cn.tangshh.universal.core.config;
 
+import io.lettuce.core.ReadFrom;
+import io.lettuce.core.cluster.ClusterClientOptions;
+import io.lettuce.core.cluster.ClusterTopologyRefreshOptions;
+import lombok.Data;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.data.redis.ClientResourcesBuilderCustomizer;
+import org.springframework.boot.autoconfigure.data.redis.LettuceClientConfigurationBuilderCustomizer;
 import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
 
 /**
  * <p>Redis Config</p>
  * <p>Redis配置类</p>
+ * <p>启用 universal.redis.connection.enabled 时，通过Spring Boot的定制器调整Boot创建的Lettuce连接工厂
+ * （副本读取、超时、集群拓扑刷新、I/O线程、是否共享连接），地址、认证、SSL、连接池等仍由 spring.data.redis.* 配置</p>
  *
  * @author Tang
  * @version v1.0
  */
+@Data
 @Configuration
+@ConfigurationProperties(prefix = "universal.redis.connection")
 @ConditionalOnClass(RedisProperties.class)
 public class RedisConfig {
+    /** customize the lettuce connection factory of spring boot */
+    private boolean enabled = false;
+    /** share one native connection between threads (blocking and transaction commands still use dedicated connection) */
+    private boolean shareNativeConnection = true;
+    /** read from: master / masterPreferred / replica / replicaPreferred / lowestLatency / any, empty is master */
+    private String readFrom;
+    /** command timeout, empty is spring.data.redis.timeout */
+    private Duration commandTimeout;
+    /** shutdown timeout, empty is spring.data.redis.lettuce.shutdown-timeout */
+    private Duration shutdownTimeout;
+    /** netty I/O threads, 0 is available processors */
+    private int ioThreads = 0;
+    /** computation threads, 0 is available processors */
+    private int computationThreads = 0;
+    /** cluster topology refresh */
+    private TopologyRefresh topologyRefresh = new TopologyRefresh();
+
+    @Bean
+    @ConditionalOnProperty(prefix = "universal.redis.connection", name = "enabled", havingValue = "true")
+    public ClientResourcesBuilderCustomizer universalClientResourcesCustomizer() {
+        return builder -> {
+            if (ioThreads > 0) {
+                builder.ioThreadPoolSize(ioThreads);
+            }
+            if (computationThreads > 0) {
+                builder.computationThreadPoolSize(computationThreads);
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "universal.redis.connection", name = "enabled", havingValue = "true")
+    public LettuceClientConfigurationBuilderCustomizer universalLettuceCustomizer() {
+        return builder -> {
+            if (commandTimeout != null) {
+                builder.commandTimeout(commandTimeout);
+            }
+            if (shutdownTimeout != null) {
+                builder.shutdownTimeout(shutdownTimeout);
+            }
+            if (StringUtils.hasText(readFrom)) {
+                builder.readFrom(ReadFrom.valueOf(readFrom));
+            }
+            // keep the cluster options built by spring boot (ssl, socket, timeout), only replace topology refresh
+            builder.build().getClientOptions()
+                    .filter(ClusterClientOptions.class::isInstance)
+                    .map(options -> ((ClusterClientOptions) options).mutate()
+                            .topologyRefreshOptions(topologyRefresh.options()).build())
+                    .ifPresent(builder::clientOptions);
+        };
+    }
+
+    /**
+     * <p>Static, registered before the connection factory is created</p>
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "universal.redis.connection", name = "enabled", havingValue = "true")
+    public static BeanPostProcessor universalConnectionFactoryPostProcessor(Environment environment) {
+        boolean share = environment.getProperty("universal.redis.connection.share-native-connection",
+                Boolean.class, true);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof LettuceConnectionFactory factory) {
+                    factory.setShareNativeConnection(share);
+                }
+                return bean;
+            }
+        };
+    }
+
     @Bean
     @ConditionalOnBean(RedisConnectionFactory.class)
     public StringRedisTemplate stringRedisTemplate(RedisConnectionFactory factory) {
@@ -26,4 +117,43 @@ public class RedisConfig {
         redisTemplate.afterPropertiesSet();
         return redisTemplate;
     }
+
+    /**
+     * <p>Not conditional on the connection factory bean: this class is component-scanned before
+     * RedisAutoConfiguration registers the factory, the condition would never match</p>
+     */
+    @Bean
+    public RedisTemplate<String, byte[]> byteRedisTemplate(RedisConnectionFactory factory) {
+        RedisTemplate<String, byte[]> redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(factory);
+        redisTemplate.setKeySerializer(RedisSerializer.string());
+        redisTemplate.setHashKeySerializer(RedisSerializer.string());
+        redisTemplate.setValueSerializer(RedisSerializer.byteArray());
+        redisTemplate.setHashValueSerializer(RedisSerializer.byteArray());
+        redisTemplate.afterPropertiesSet();
+        return redisTemplate;
+    }
+
+    /**
+     * <p>Cluster topology refresh</p>
+     * <p>集群拓扑刷新配置</p>
+     */
+    @Data
+    public static class TopologyRefresh {
+        /** refresh on MOVED/ASK redirect, reconnect and unknown node */
+        private boolean adaptive = true;
+        /** periodic refresh interval, zero is disabled */
+        private Duration period = Duration.ofSeconds(60);
+
+        ClusterTopologyRefreshOptions options() {
+            ClusterTopologyRefreshOptions.Builder refresh = ClusterTopologyRefreshOptions.builder();
+            if (adaptive) {
+                refresh.enableAllAdaptiveRefreshTriggers();
+            }
+            if (period != null && !period.isZero()) {
+                refresh.enablePeriodicRefresh(period);
+            }
+            return refresh.build();
+        }
+    }
 }
@@ -0,0 +1,64 @@
+package cn.tangshh.universal.core.config;
+
+import cn.tangshh.universal.core.endpoint.RedisHotKeyEndpoint;
+import cn.tangshh.universal.core.util.RedisHotKeyDetector;
+import lombok.Data;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * <p>Redis Hot Key Config</p>
+ * <p>Redis热键探测配置（默认关闭），存在actuator时注册 redishotkeys 端点</p>
+ *
+ * @author Tang
+ * @version v1.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "universal.redis.hot-key")
+@ConditionalOnClass(RedisProperties.class)
+@ConditionalOnProperty(prefix = "universal.redis.hot-key", name = "enabled", havingValue = "true")
+public class RedisHotKeyConfig {
+    /** enable hot key detection */
+    private boolean enabled = false;
+    /** sample rate of access, (0, 1] */
+    private double sampleRate = 0.1;
+    /** count-min sketch width of each row */
+    private int width = 4096;
+    /** maximum reported hot key */
+    private int topK = 20;
+    /** statistics window */
+    private Duration window = Duration.ofSeconds(5);
+    /** estimated qps to be reported hot */
+    private double threshold = 500;
+    /** estimated qps to be promoted to local cache, 0 is disabled */
+    private double promoteThreshold = 0;
+    /** local cache valid time of promoted key */
+    private Duration promoteTtl = Duration.ofSeconds(1);
+    /** maximum local cached key */
+    private int promoteMaxSize = 1000;
+
+    @Bean
+    public RedisHotKeyDetector redisHotKeyDetector() {
+        return new RedisHotKeyDetector(sampleRate, width, topK, window, threshold, promoteThreshold, promoteTtl,
+                promoteMaxSize);
+    }
+
+    /**
+     * <p>Actuator endpoint, registered when actuator is present</p>
+     */
+    @Configuration
+    @ConditionalOnClass(name = "org.springframework.boot.actuate.endpoint.annotation.Endpoint")
+    static class EndpointConfig {
+        @Bean
+        public RedisHotKeyEndpoint redisHotKeyEndpoint() {
+            return new RedisHotKeyEndpoint();
+        }
+    }
+}
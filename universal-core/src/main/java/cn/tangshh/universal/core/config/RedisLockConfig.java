@@ -0,0 +1,41 @@
+package cn.tangshh.universal.core.config;
+
+import cn.tangshh.universal.core.lock.RedisLockManager;
+import lombok.Data;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+
+/**
+ * <p>Redis Lock Config</p>
+ * <p>Redis分布式锁配置</p>
+ *
+ * @author Tang
+ * @version v1.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "universal.redis.lock")
+@ConditionalOnClass(RedisProperties.class)
+@ConditionalOnProperty(prefix = "universal.redis.lock", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RedisLockConfig {
+    /** enable redis lock */
+    private boolean enabled = true;
+    /** lock key prefix */
+    private String keyPrefix = "universal:lock:";
+    /** default lease time, renewed by watchdog every 1/3 lease */
+    private Duration leaseTime = Duration.ofSeconds(30);
+    /** unlock notify channel */
+    private String channel = "universal:lock:unlock";
+
+    @Bean
+    public RedisLockManager redisLockManager(StringRedisTemplate stringRedisTemplate) {
+        return new RedisLockManager(stringRedisTemplate, keyPrefix, leaseTime, channel);
+    }
+}
@@ -0,0 +1,40 @@
+package cn.tangshh.universal.core.config;
+
+import cn.tangshh.universal.core.util.RedisReadBatcher;
+import lombok.Data;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * <p>Redis Read Batch Config</p>
+ * <p>Redis读请求合并配置（默认关闭）</p>
+ *
+ * @author Tang
+ * @version v1.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "universal.redis.read-batch")
+@ConditionalOnClass(RedisProperties.class)
+@ConditionalOnProperty(prefix = "universal.redis.read-batch", name = "enabled", havingValue = "true")
+public class RedisReadBatchConfig {
+    /** enable read batching */
+    private boolean enabled = false;
+    /** collect window after first request */
+    private Duration window = Duration.ofNanos(500_000);
+    /** maximum request of each batch */
+    private int maxBatch = 128;
+    /** threads sending batches */
+    private int flushThreads = 4;
+
+    @Bean
+    public RedisReadBatcher redisReadBatcher() {
+        return new RedisReadBatcher(window, maxBatch, flushThreads);
+    }
+}
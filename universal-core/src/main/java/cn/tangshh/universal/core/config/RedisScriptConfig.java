@@ -0,0 +1,36 @@
+package cn.tangshh.universal.core.config;
+
+import cn.tangshh.universal.core.script.RedisScriptRegistry;
+import lombok.Data;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>Redis Lua Script Config</p>
+ * <p>Redis Lua脚本配置</p>
+ *
+ * @author Tang
+ * @version v1.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "universal.redis.script")
+@ConditionalOnClass(RedisProperties.class)
+public class RedisScriptConfig {
+    /** script resource locations */
+    private List<String> locations = new ArrayList<>(List.of("classpath*:lua/*.lua"));
+    /** run SCRIPT LOAD at startup */
+    private boolean preload = true;
+
+    @Bean
+    public RedisScriptRegistry redisScriptRegistry(StringRedisTemplate stringRedisTemplate) {
+        return new RedisScriptRegistry(stringRedisTemplate, locations, preload);
+    }
+}
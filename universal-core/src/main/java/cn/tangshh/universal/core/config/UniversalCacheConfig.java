@@ -0,0 +1,57 @@
+package cn.tangshh.universal.core.config;
+
+import cn.tangshh.universal.core.cache.UniversalCacheEvict;
+import cn.tangshh.universal.core.cache.UniversalCacheInterceptor;
+import cn.tangshh.universal.core.cache.UniversalCacheable;
+import lombok.Data;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+
+import java.time.Duration;
+
+/**
+ * <p>Universal Cache Config</p>
+ * <p>缓存注解配置，通过Spring AOP代理（无需AspectJ）拦截 {@link UniversalCacheable} 与 {@link UniversalCacheEvict}</p>
+ *
+ * @author Tang
+ * @version v1.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "universal.cache")
+@ConditionalOnClass(RedisProperties.class)
+@ConditionalOnProperty(prefix = "universal.cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+public class UniversalCacheConfig {
+    /** enable cache annotation */
+    private boolean enabled = true;
+    /** redis key prefix */
+    private String keyPrefix = "universal:cache:";
+    /** maximum wait time of distributed lock when loading, method invoked directly after timeout */
+    private Duration lockWait = Duration.ofSeconds(3);
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public UniversalCacheInterceptor universalCacheInterceptor() {
+        return new UniversalCacheInterceptor(keyPrefix, lockWait);
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public Advisor universalCacheAdvisor(UniversalCacheInterceptor universalCacheInterceptor) {
+        ComposablePointcut pointcut = new ComposablePointcut(new AnnotationMatchingPointcut(null,
+                UniversalCacheable.class, true)).union(new AnnotationMatchingPointcut(null,
+                UniversalCacheEvict.class, true));
+        return new DefaultPointcutAdvisor(pointcut, universalCacheInterceptor);
+    }
+}
@@ -0,0 +1,32 @@
+package cn.tangshh.universal.core.endpoint;
+
+import cn.tangshh.universal.core.util.RedisHotKeyDetector;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * <p>Redis hot key actuator endpoint</p>
+ * <p>Redis热键端点（/actuator/redishotkeys），返回上个统计窗口的热键与探测统计，
+ * 需在 management.endpoints.web.exposure.include 中暴露</p>
+ *
+ * @author Tang
+ * @version v1.0
+ */
+@Endpoint(id = "redishotkeys")
+public class RedisHotKeyEndpoint {
+
+    @ReadOperation
+    public Map<String, Object> hotKeys() {
+        RedisHotKeyDetector detector = RedisHotKeyDetector.current();
+        Map<String, Object> result = new LinkedHashMap<>(4);
+        result.put("enabled", detector != null);
+        if (detector != null) {
+            result.put("hotKeys", detector.hotKeys());
+            result.put("stats", detector.stats());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,57 @@
+package cn.tangshh.universal.core.limit;
+
+import java.lang.annotation.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Rate limit of endpoint</p>
+ * <p>接口限流，标注在Controller类或方法上，方法上的配置优先</p>
+ * <pre>
+ * &#64;RateLimit(limit = 10, period = 1, keys = {RateLimitKey.IP, RateLimitKey.URI})
+ * &#64;GetMapping("/1")
+ * public String test01() {...}
+ * </pre>
+ *
+ * @author Tang
+ * @version v1.0
+ */
+@Documented
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimit {
+    /**
+     * <p>Limit name, default is controller method</p>
+     * <p>限流名称，默认为Controller方法</p>
+     */
+    String name() default "";
+
+    /**
+     * <p>Algorithm</p>
+     * <p>限流算法</p>
+     */
+    RateLimitAlgorithm algorithm() default RateLimitAlgorithm.TOKEN_BUCKET;
+
+    /**
+     * <p>Permits per period</p>
+     * <p>每个周期允许的请求数</p>
+     */
+    long limit();
+
+    /**
+     * <p>Period</p>
+     * <p>周期</p>
+     */
+    long period() default 1;
+
+    /**
+     * <p>Period unit</p>
+     * <p>周期单位</p>
+     */
+    TimeUnit unit() default TimeUnit.SECONDS;
+
+    /**
+     * <p>Key dimensions</p>
+     * <p>限流键维度</p>
+     */
+    RateLimitKey[] keys() default {RateLimitKey.IP};
+}
@@ -0,0 +1,15 @@
+package cn.tangshh.universal.core.limit;
+
+/**
+ * <p>Rate limit algorithm</p>
+ * <p>限流算法</p>
+ *
+ * @author Tang
+ * @version v1.0
+ */
+public enum RateLimitAlgorithm {
+    /** token bucket, allow burst up to limit, refill limit per period */
+    TOKEN_BUCKET,
+    /** sliding window log (ZSet), at most limit within any period */
+    SLIDING_WINDOW
+}
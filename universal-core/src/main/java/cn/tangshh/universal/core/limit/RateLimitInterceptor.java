@@ -0,0 +1,103 @@
+package cn.tangshh.universal.core.limit;
+
+import cn.tangshh.universal.core.util.RequestUtil;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>Rate limit interceptor</p>
+ * <p>限流拦截器，按 {@link RateLimit} 注解或配置规则限流，超限返回429及Retry-After</p>
+ * <p>ps: 注解优先，未标注时使用第一个匹配请求路径的配置规则</p>
+ *
+ * @author Tang
+ * @version v1.0
+ */
+public class RateLimitInterceptor implements HandlerInterceptor {
+    private final static AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final RedisRateLimiter rateLimiter;
+    private final List<RateLimitRule> rules;
+    private final RateLimitUserResolver userResolver;
+    /** handler method -> annotation rule */
+    private final Map<Method, Optional<RateLimitRule>> annotationRules = new ConcurrentHashMap<>();
+
+    /**
+     * @param rateLimiter  rate limiter
+     * @param rules        properties rules
+     * @param userResolver user id resolver
+     */
+    public RateLimitInterceptor(@NotNull RedisRateLimiter rateLimiter, @NotNull List<RateLimitRule> rules,
+                                @NotNull RateLimitUserResolver userResolver) {
+        this.rateLimiter = rateLimiter;
+        this.rules = List.copyOf(rules);
+        this.userResolver = userResolver;
+    }
+
+    @Override
+    public boolean preHandle(@NotNull HttpServletRequest request, @NotNull HttpServletResponse response,
+                             @NotNull Object handler) throws IOException {
+        RateLimitRule rule = rule(request, handler);
+        if (rule == null) {
+            return true;
+        }
+        long wait = rateLimiter.tryAcquire(key(request, rule), rule);
+        if (wait <= 0) {
+            return true;
+        }
+        response.setHeader("Retry-After", String.valueOf((wait + 999) / 1000));
+        response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase());
+        return false;
+    }
+
+    private RateLimitRule rule(HttpServletRequest request, Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod) {
+            Optional<RateLimitRule> rule = annotationRules.computeIfAbsent(handlerMethod.getMethod(), method -> {
+                RateLimit rateLimit = AnnotatedElementUtils.findMergedAnnotation(method, RateLimit.class);
+                if (rateLimit == null) {
+                    rateLimit = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getBeanType(), RateLimit.class);
+                }
+                String name = handlerMethod.getBeanType().getSimpleName() + "." + method.getName();
+                return Optional.ofNullable(rateLimit).map(limit -> RateLimitRule.of(limit, name));
+            });
+            if (rule.isPresent()) {
+                return rule.get();
+            }
+        }
+        String uri = request.getRequestURI();
+        for (RateLimitRule rule : rules) {
+            if (PATH_MATCHER.match(rule.getPath(), uri)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    private String key(HttpServletRequest request, RateLimitRule rule) {
+        StringBuilder key = new StringBuilder(rule.getName() == null ? rule.getPath() : rule.getName());
+        for (RateLimitKey dimension : rule.getKeys()) {
+            key.append(':');
+            switch (dimension) {
+                case IP -> key.append(RequestUtil.getRequestIp(request));
+                case URI -> key.append(request.getRequestURI());
+                case USER -> {
+                    String user = userResolver.resolve(request);
+                    key.append(user == null ? RequestUtil.getRequestIp(request) : user);
+                }
+            }
+        }
+        return key.toString();
+    }
+}
@@ -0,0 +1,17 @@
+package cn.tangshh.universal.core.limit;
+
+/**
+ * <p>Rate limit key dimension</p>
+ * <p>限流键维度，多个维度组合生成限流键</p>
+ *
+ * @author Tang
+ * @version v1.0
+ */
+public enum RateLimitKey {
+    /** request ip */
+    IP,
+    /** request uri */
+    URI,
+    /** user id from {@link RateLimitUserResolver}, fallback to request ip when anonymous */
+    USER
+}
@@ -0,0 +1,48 @@
+package cn.tangshh.universal.core.limit;
+
+import lombok.Data;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>Rate limit rule</p>
+ * <p>限流规则</p>
+ *
+ * @author Tang
+ * @version v1.0
+ */
+@Data
+public class RateLimitRule {
+    /** rule name, part of redis key */
+    private String name;
+    /** request path pattern (ant style), only used by properties rule */
+    private String path;
+    /** algorithm */
+    private RateLimitAlgorithm algorithm = RateLimitAlgorithm.TOKEN_BUCKET;
+    /** permits per period */
+    private long limit;
+    /** period */
+    private Duration period = Duration.ofSeconds(1);
+    /** key dimensions */
+    private List<RateLimitKey> keys = new ArrayList<>(List.of(RateLimitKey.IP));
+
+    /**
+     * <p>Create rule from annotation</p>
+     * <p>通过注解创建规则</p>
+     *
+     * @param rateLimit annotation
+     * @param name      default name
+     * @return {@link RateLimitRule}
+     */
+    public static RateLimitRule of(RateLimit rateLimit, String name) {
+        RateLimitRule rule = new RateLimitRule();
+        rule.setName(rateLimit.name().isEmpty() ? name : rateLimit.name());
+        rule.setAlgorithm(rateLimit.algorithm());
+        rule.setLimit(rateLimit.limit());
+        rule.setPeriod(Duration.ofNanos(rateLimit.unit().toNanos(rateLimit.period())));
+        rule.setKeys(List.of(rateLimit.keys()));
+        return rule;
+    }
+}
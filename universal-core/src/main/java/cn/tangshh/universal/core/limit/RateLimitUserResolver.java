@@ -0,0 +1,24 @@
+package cn.tangshh.universal.core.limit;
+
+import jakarta.annotation.Nullable;
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * <p>Rate limit user id resolver</p>
+ * <p>限流用户标识解析器，注册为Bean后替换默认实现（{@link HttpServletRequest#getRemoteUser()}）</p>
+ *
+ * @author Tang
+ * @version v1.0
+ */
+@FunctionalInterface
+public interface RateLimitUserResolver {
+    /**
+     * <p>Resolve user id</p>
+     * <p>解析用户标识，匿名返回null</p>
+     *
+     * @param request request
+     * @return {@link String}
+     */
+    @Nullable
+    String resolve(HttpServletRequest request);
+}
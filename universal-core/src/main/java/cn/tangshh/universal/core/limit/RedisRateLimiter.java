@@ -0,0 +1,195 @@
+package cn.tangshh.universal.core.limit;
+
+import cn.hutool.cache.impl.LRUCache;
+import jakarta.validation.constraints.NotNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>Redis distributed rate limiter</p>
+ * <p>Redis分布式限流器，令牌桶与滑动窗口均为原子Lua脚本，以Redis服务器时间计算</p>
+ * <p>ps: 可选的本地预过滤按相同速率在进程内限流，单节点已超限的请求无需访问Redis即被拒绝，
+ * 本地限流不会比全局限流更严格；Redis异常时放行</p>
+ *
+ * @author Tang
+ * @version v1.0
+ */
+@Slf4j
+public final class RedisRateLimiter {
+    /** return 0 when allowed, otherwise wait millis */
+    private final static RedisScript<Long> TOKEN_BUCKET_SCRIPT = new DefaultRedisScript<>("""
+            local capacity = tonumber(ARGV[1])
+            local rate = tonumber(ARGV[2])
+            local permits = tonumber(ARGV[3])
+            local time = redis.call('time')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            local bucket = redis.call('hmget', KEYS[1], 'tokens', 'ts')
+            local tokens = tonumber(bucket[1])
+            local ts = tonumber(bucket[2])
+            if tokens == nil or ts == nil then
+                tokens = capacity
+                ts = now
+            end
+            tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate)
+            local wait = 0
+            if tokens >= permits then
+                tokens = tokens - permits
+            else
+                wait = math.max(1, math.ceil((permits - tokens) / rate))
+            end
+            redis.call('hset', KEYS[1], 'tokens', tostring(tokens), 'ts', now)
+            redis.call('pexpire', KEYS[1], math.ceil(capacity / rate) + 1000)
+            return wait
+            """, Long.class);
+    /** return 0 when allowed, otherwise wait millis */
+    private final static RedisScript<Long> SLIDING_WINDOW_SCRIPT = new DefaultRedisScript<>("""
+            local limit = tonumber(ARGV[1])
+            local window = tonumber(ARGV[2])
+            local permits = tonumber(ARGV[3])
+            local time = redis.call('time')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            redis.call('zremrangebyscore', KEYS[1], '-inf', now - window)
+            local count = redis.call('zcard', KEYS[1])
+            if count + permits <= limit then
+                for i = 1, permits do
+                    redis.call('zadd', KEYS[1], now, ARGV[4] .. ':' .. i)
+                end
+                redis.call('pexpire', KEYS[1], window)
+                return 0
+            end
+            local oldest = redis.call('zrange', KEYS[1], 0, 0, 'WITHSCORES')
+            if oldest[2] == nil then
+                return 1
+            end
+            return math.max(1, tonumber(oldest[2]) + window - now)
+            """, Long.class);
+
+    private final StringRedisTemplate template;
+    private final String keyPrefix;
+    /** null is local pre-filter disabled */
+    private final LRUCache<String, LocalBucket> localBuckets;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final AtomicLong sequence = new AtomicLong();
+    private final LongAdder allowedCount = new LongAdder();
+    private final LongAdder localRejectedCount = new LongAdder();
+    private final LongAdder redisRejectedCount = new LongAdder();
+    private final LongAdder errorCount = new LongAdder();
+
+    /**
+     * @param template       redis template
+     * @param keyPrefix      redis key prefix
+     * @param localMaxKeys   maximum local pre-filter key, non-positive is disabled
+     */
+    public RedisRateLimiter(@NotNull StringRedisTemplate template, @NotNull String keyPrefix, int localMaxKeys) {
+        this.template = template;
+        this.keyPrefix = keyPrefix;
+        this.localBuckets = localMaxKeys > 0 ? new LRUCache<>(localMaxKeys) : null;
+    }
+
+    /**
+     * <p>Try acquire one permit</p>
+     * <p>尝试获取一个许可</p>
+     *
+     * @param key  limit key
+     * @param rule rule
+     * @return wait millis before retry, 0 is allowed
+     */
+    public long tryAcquire(@NotNull String key, @NotNull RateLimitRule rule) {
+        return tryAcquire(key, rule, 1);
+    }
+
+    /**
+     * <p>Try acquire permits</p>
+     * <p>尝试获取多个许可</p>
+     *
+     * @param key     limit key
+     * @param rule    rule
+     * @param permits permits
+     * @return wait millis before retry, 0 is allowed
+     */
+    public long tryAcquire(@NotNull String key, @NotNull RateLimitRule rule, int permits) {
+        long periodMillis = Math.max(1, rule.getPeriod().toMillis());
+        String redisKey = keyPrefix + key;
+        if (localBuckets != null) {
+            LocalBucket bucket = localBuckets.get(redisKey, false, () -> new LocalBucket(rule.getLimit()));
+            long wait = bucket.tryAcquire(rule.getLimit(), (double) rule.getLimit() / periodMillis, permits);
+            if (wait > 0) {
+                localRejectedCount.increment();
+                return wait;
+            }
+        }
+        Long wait;
+        try {
+            wait = switch (rule.getAlgorithm()) {
+                case TOKEN_BUCKET -> template.execute(TOKEN_BUCKET_SCRIPT, List.of(redisKey),
+                        String.valueOf(rule.getLimit()), String.valueOf((double) rule.getLimit() / periodMillis),
+                        String.valueOf(permits));
+                case SLIDING_WINDOW -> template.execute(SLIDING_WINDOW_SCRIPT, List.of(redisKey),
+                        String.valueOf(rule.getLimit()), String.valueOf(periodMillis), String.valueOf(permits),
+                        instanceId + ":" + sequence.incrementAndGet());
+            };
+        } catch (Exception e) {
+            errorCount.increment();
+            log.warn("rate limit redis failed, allowed, key: {}", redisKey, e);
+            return 0;
+        }
+        if (wait != null && wait > 0) {
+            redisRejectedCount.increment();
+            return wait;
+        }
+        allowedCount.increment();
+        return 0;
+    }
+
+    /**
+     * <p>Rate limit statistics</p>
+     * <p>限流统计</p>
+     *
+     * @return {@link Stats}
+     */
+    public Stats stats() {
+        return new Stats(allowedCount.sum(), localRejectedCount.sum(), redisRejectedCount.sum(), errorCount.sum());
+    }
+
+    /**
+     * <p>Local token bucket with the same rate as the global limit</p>
+     */
+    private static final class LocalBucket {
+        private double tokens;
+        private long timestamp = System.currentTimeMillis();
+
+        private LocalBucket(long capacity) {
+            this.tokens = capacity;
+        }
+
+        private synchronized long tryAcquire(long capacity, double rate, int permits) {
+            long now = System.currentTimeMillis();
+            tokens = Math.min(capacity, tokens + Math.max(0, now - timestamp) * rate);
+            timestamp = now;
+            if (tokens >= permits) {
+                tokens -= permits;
+                return 0;
+            }
+            return Math.max(1, (long) Math.ceil((permits - tokens) / rate));
+        }
+    }
+
+    /**
+     * <p>Rate limit statistics</p>
+     * <p>限流统计</p>
+     *
+     * @param allowedCount       allowed count
+     * @param localRejectedCount rejected by local pre-filter count
+     * @param redisRejectedCount rejected by redis count
+     * @param errorCount         redis error (allowed) count
+     */
+    public record Stats(long allowedCount, long localRejectedCount, long redisRejectedCount, long errorCount) {
+    }
+}
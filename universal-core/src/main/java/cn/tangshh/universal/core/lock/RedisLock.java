@@ -0,0 +1,178 @@
+package cn.tangshh.universal.core.lock;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * <p>Redis distributed lock</p>
+ * <p>Redis分布式锁，可重入，解锁校验持有者，未指定租期时由看门狗自动续期</p>
+ * <p>ps: 获取成功后可通过 {@link #fencingToken()} 获取单调递增的栅栏令牌，写入下游资源时携带以拒绝过期持有者的写入</p>
+ * <pre>
+ * RedisLock lock = RedisLock.of("order:" + orderId);
+ * if (lock.tryLock(3, TimeUnit.SECONDS)) {
+ *     try {
+ *         long token = lock.fencingToken();
+ *         ...
+ *     } finally {
+ *         lock.unlock();
+ *     }
+ * }
+ * </pre>
+ *
+ * @author Tang
+ * @version v1.0
+ */
+public final class RedisLock implements Lock {
+    private final RedisLockManager manager;
+    private final String key;
+
+    RedisLock(RedisLockManager manager, String key) {
+        this.manager = manager;
+        this.key = key;
+    }
+
+    /**
+     * <p>Get lock by name</p>
+     * <p>通过名称获取锁</p>
+     *
+     * @param name lock name
+     * @return {@link RedisLock}
+     */
+    public static RedisLock of(@NotNull String name) {
+        return RedisLockManager.current().getLock(name);
+    }
+
+    /**
+     * <p>Acquire lock, wait until success</p>
+     * <p>获取锁，阻塞直到成功（不响应中断）</p>
+     */
+    @Override
+    public void lock() {
+        try {
+            manager.acquire(key, -1, -1, false);
+        } catch (InterruptedException e) {
+            // not reachable when not interruptible
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * <p>Acquire lock, wait until success or interrupted</p>
+     * <p>获取锁，阻塞直到成功或被中断</p>
+     */
+    @Override
+    public void lockInterruptibly() throws InterruptedException {
+        manager.acquire(key, -1, -1, true);
+    }
+
+    /**
+     * <p>Try acquire lock without waiting</p>
+     * <p>尝试获取锁，不等待</p>
+     *
+     * @return boolean
+     */
+    @Override
+    public boolean tryLock() {
+        try {
+            return manager.acquire(key, 0, -1, false) > 0;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * <p>Try acquire lock within wait time</p>
+     * <p>在等待时间内尝试获取锁</p>
+     *
+     * @param time wait time
+     * @param unit time unit
+     * @return boolean
+     */
+    @Override
+    public boolean tryLock(long time, @NotNull TimeUnit unit) throws InterruptedException {
+        return manager.acquire(key, Math.max(0, unit.toNanos(time)), -1, true) > 0;
+    }
+
+    /**
+     * <p>Try acquire lock within wait time with fixed lease time (no watchdog renewal)</p>
+     * <p>在等待时间内尝试获取锁，使用固定租期（不自动续期）</p>
+     *
+     * @param waitTime  wait time
+     * @param leaseTime lease time
+     * @param unit      time unit
+     * @return boolean
+     */
+    public boolean tryLock(long waitTime, long leaseTime, @NotNull TimeUnit unit) throws InterruptedException {
+        return manager.acquire(key, Math.max(0, unit.toNanos(waitTime)), Math.max(1, unit.toMillis(leaseTime)), true) > 0;
+    }
+
+    /**
+     * <p>Release lock</p>
+     * <p>释放锁</p>
+     *
+     * @throws IllegalMonitorStateException not held by current thread
+     */
+    @Override
+    public void unlock() {
+        manager.release(key);
+    }
+
+    /**
+     * <p>Fencing token of current hold</p>
+     * <p>当前持有的栅栏令牌，每次成功加锁（非重入）单调递增</p>
+     *
+     * @return long
+     * @throws IllegalMonitorStateException not held by current thread
+     */
+    public long fencingToken() {
+        RedisLockManager.Hold hold = manager.hold(key);
+        if (hold == null) {
+            throw new IllegalMonitorStateException("redis lock not held by current thread: " + key);
+        }
+        return hold.token();
+    }
+
+    /**
+     * <p>Whether held by current thread</p>
+     * <p>是否被当前线程持有</p>
+     *
+     * @return boolean
+     */
+    public boolean isHeldByCurrentThread() {
+        return manager.hold(key) != null;
+    }
+
+    /**
+     * <p>Reentrant count of current thread</p>
+     * <p>当前线程的重入次数</p>
+     *
+     * @return int
+     */
+    public int getHoldCount() {
+        RedisLockManager.Hold hold = manager.hold(key);
+        return hold == null ? 0 : hold.count();
+    }
+
+    /**
+     * <p>Redis key of lock</p>
+     * <p>锁对应的Redis键</p>
+     *
+     * @return {@link String}
+     */
+    public String key() {
+        return key;
+    }
+
+    /**
+     * <p>Not supported</p>
+     * <p>不支持条件变量</p>
+     */
+    @Override
+    public Condition newCondition() {
+        throw new UnsupportedOperationException("redis lock not support condition");
+    }
+}
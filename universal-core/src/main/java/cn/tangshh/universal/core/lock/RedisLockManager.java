@@ -0,0 +1,426 @@
+package cn.tangshh.universal.core.lock;
+
+import cn.hutool.core.thread.ThreadFactoryBuilder;
+import jakarta.annotation.Nullable;
+import jakarta.validation.constraints.NotNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>Redis distributed lock manager</p>
+ * <p>Redis分布式锁管理器，负责加锁/解锁脚本、看门狗续期、解锁通知与等待统计</p>
+ * <p>ps: 锁键为 prefix + {name}，栅栏令牌计数器为 prefix + {name}:fencing（同槽位，兼容集群），
+ * 令牌计数器每次加锁时续期（{@link #FENCING_TTL}），长期未使用的锁不会残留计数器；
+ * 过期后重新创建的计数器从当前毫秒时间戳开始，仍大于过期前发出的令牌</p>
+ *
+ * @author Tang
+ * @version v1.0
+ */
+@Slf4j
+public final class RedisLockManager implements MessageListener, InitializingBean, DisposableBean {
+    /** return fencing token when success, otherwise -(remaining lease ms + 1) */
+    private final static RedisScript<Long> ACQUIRE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('set', KEYS[1], ARGV[1], 'NX', 'PX', ARGV[2]) then
+                if redis.call('exists', KEYS[2]) == 0 then
+                    redis.call('set', KEYS[2], ARGV[4])
+                end
+                local token = redis.call('incr', KEYS[2])
+                redis.call('pexpire', KEYS[2], ARGV[3])
+                return token
+            end
+            local ttl = redis.call('pttl', KEYS[1])
+            if ttl < 0 then
+                ttl = 0
+            end
+            return -1 - ttl
+            """, Long.class);
+    /** fencing counter valid time, refreshed by each acquire */
+    private final static Duration FENCING_TTL = Duration.ofDays(7);
+    private final static RedisScript<Long> UNLOCK_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('get', KEYS[1]) == ARGV[1] then
+                redis.call('del', KEYS[1])
+                redis.call('publish', ARGV[2], KEYS[1])
+                return 1
+            end
+            return 0
+            """, Long.class);
+    private final static RedisScript<Long> RENEW_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('get', KEYS[1]) == ARGV[1] then
+                return redis.call('pexpire', KEYS[1], ARGV[2])
+            end
+            return 0
+            """, Long.class);
+    private static volatile RedisLockManager instance;
+
+    private final StringRedisTemplate template;
+    private final String keyPrefix;
+    private final long leaseMillis;
+    private final String channel;
+    private final String instanceId = UUID.randomUUID().toString();
+    /** lock key -> local hold, a key can only be held by one thread of this instance */
+    private final Map<String, Hold> holds = new ConcurrentHashMap<>();
+    /** lock key -> unlock signal of waiting threads */
+    private final Map<String, Signal> signals = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService watchdog;
+    private volatile RedisMessageListenerContainer container;
+
+    private final LongAdder acquiredCount = new LongAdder();
+    private final LongAdder contendedCount = new LongAdder();
+    private final LongAdder timeoutCount = new LongAdder();
+    private final LongAdder leaseLostCount = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0);
+
+    /**
+     * @param template  redis template
+     * @param keyPrefix lock key prefix
+     * @param leaseTime default lease time, renewed by watchdog every 1/3 lease
+     * @param channel   unlock notify channel
+     */
+    public RedisLockManager(@NotNull StringRedisTemplate template, @NotNull String keyPrefix,
+                            @NotNull Duration leaseTime, @NotNull String channel) {
+        this.template = template;
+        this.keyPrefix = keyPrefix;
+        this.leaseMillis = leaseTime.toMillis();
+        this.channel = channel;
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(ThreadFactoryBuilder.create()
+                .setNamePrefix("redis-lock-watchdog-").setDaemon(true).build());
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        instance = this;
+    }
+
+    @Override
+    public void destroy() {
+        instance = null;
+        watchdog.shutdownNow();
+        RedisMessageListenerContainer listenerContainer = container;
+        if (listenerContainer != null) {
+            try {
+                listenerContainer.destroy();
+            } catch (Exception e) {
+                log.warn("redis lock listener container destroy failed", e);
+            }
+        }
+    }
+
+    /**
+     * <p>Get current lock manager</p>
+     * <p>获取当前锁管理器</p>
+     *
+     * @return {@link RedisLockManager}
+     */
+    public static RedisLockManager current() {
+        RedisLockManager manager = instance;
+        if (manager == null) {
+            throw new IllegalStateException("redis lock not configured, check universal.redis.lock.enabled");
+        }
+        return manager;
+    }
+
+    /**
+     * <p>Get lock by name</p>
+     * <p>通过名称获取锁</p>
+     *
+     * @param name lock name
+     * @return {@link RedisLock}
+     */
+    public RedisLock getLock(@NotNull String name) {
+        return new RedisLock(this, keyPrefix + "{" + name + "}");
+    }
+
+    @Override
+    public void onMessage(@NotNull Message message, @Nullable byte[] pattern) {
+        signal(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * <p>Lock statistics</p>
+     * <p>锁统计（获取次数、等待耗时等）</p>
+     *
+     * @return {@link Stats}
+     */
+    public Stats stats() {
+        return new Stats(acquiredCount.sum(), contendedCount.sum(), timeoutCount.sum(), leaseLostCount.sum(),
+                TimeUnit.NANOSECONDS.toMillis(waitNanos.sum()), TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get()));
+    }
+
+    /**
+     * <p>Acquire lock</p>
+     * <p>获取锁，竞争时等待解锁通知而非轮询</p>
+     *
+     * @param key           lock key
+     * @param waitNanos     wait time, negative is forever
+     * @param leaseMillis   lease time, non-positive is default lease with watchdog
+     * @param interruptible interruptible
+     * @return fencing token, -1 is timeout
+     */
+    long acquire(String key, long waitNanos, long leaseMillis, boolean interruptible) throws InterruptedException {
+        Thread thread = Thread.currentThread();
+        Hold hold = holds.get(key);
+        if (hold != null && hold.thread == thread) {
+            hold.count++;
+            return hold.token;
+        }
+        boolean watch = leaseMillis <= 0;
+        long lease = watch ? this.leaseMillis : leaseMillis;
+        long start = System.nanoTime();
+        long result = tryAcquire(key, lease);
+        if (result > 0) {
+            return acquired(key, thread, result, lease, watch, 0);
+        }
+        contendedCount.increment();
+        if (waitNanos == 0) {
+            timeoutCount.increment();
+            return -1;
+        }
+        Signal signal = subscribe(key);
+        try {
+            boolean interrupted = false;
+            while (true) {
+                long seq = signal.seq;
+                result = tryAcquire(key, lease);
+                if (result > 0) {
+                    if (interrupted) {
+                        thread.interrupt();
+                    }
+                    return acquired(key, thread, result, lease, watch, System.nanoTime() - start);
+                }
+                long waitMillis = -1 - result;
+                if (waitNanos > 0) {
+                    long remaining = waitNanos - (System.nanoTime() - start);
+                    if (remaining <= 0) {
+                        timeoutCount.increment();
+                        record(System.nanoTime() - start);
+                        if (interrupted) {
+                            thread.interrupt();
+                        }
+                        return -1;
+                    }
+                    waitMillis = Math.min(waitMillis, TimeUnit.NANOSECONDS.toMillis(remaining));
+                }
+                try {
+                    signal.await(seq, Math.max(1, waitMillis));
+                } catch (InterruptedException e) {
+                    if (interruptible) {
+                        throw e;
+                    }
+                    interrupted = true;
+                }
+            }
+        } finally {
+            unsubscribe(key, signal);
+        }
+    }
+
+    /**
+     * <p>Release lock</p>
+     * <p>释放锁，重入计数归零时才删除Redis锁</p>
+     *
+     * @param key lock key
+     */
+    void release(String key) {
+        Hold hold = holds.get(key);
+        if (hold == null || hold.thread != Thread.currentThread()) {
+            throw new IllegalMonitorStateException("redis lock not held by current thread: " + key);
+        }
+        if (--hold.count > 0) {
+            return;
+        }
+        holds.remove(key);
+        if (hold.renewal != null) {
+            hold.renewal.cancel(false);
+        }
+        Long result = template.execute(UNLOCK_SCRIPT, List.of(key), owner(hold.thread), channel);
+        if (result == null || result == 0) {
+            leaseLostCount.increment();
+            log.warn("redis lock expired before unlock, key: {}, token: {}", key, hold.token);
+        }
+        signal(key);
+    }
+
+    /**
+     * <p>Local hold of current thread</p>
+     * <p>当前线程的本地持有信息</p>
+     *
+     * @param key lock key
+     * @return {@link Hold}
+     */
+    @Nullable
+    Hold hold(String key) {
+        Hold hold = holds.get(key);
+        return hold != null && hold.thread == Thread.currentThread() ? hold : null;
+    }
+
+    private long tryAcquire(String key, long lease) {
+        Long result = template.execute(ACQUIRE_SCRIPT, List.of(key, key + ":fencing"),
+                owner(Thread.currentThread()), String.valueOf(lease), String.valueOf(FENCING_TTL.toMillis()),
+                String.valueOf(System.currentTimeMillis()));
+        return result == null ? -1 : result;
+    }
+
+    private long acquired(String key, Thread thread, long token, long lease, boolean watch, long waited) {
+        Hold hold = new Hold(thread, token);
+        if (watch) {
+            long period = Math.max(1, lease / 3);
+            hold.renewal = watchdog.scheduleAtFixedRate(() -> renew(key, hold, lease), period, period, TimeUnit.MILLISECONDS);
+        }
+        holds.put(key, hold);
+        acquiredCount.increment();
+        if (waited > 0) {
+            record(waited);
+            log.debug("redis lock acquired after {}ms, key: {}", TimeUnit.NANOSECONDS.toMillis(waited), key);
+        }
+        return token;
+    }
+
+    private void renew(String key, Hold hold, long lease) {
+        try {
+            Long result = template.execute(RENEW_SCRIPT, List.of(key), owner(hold.thread), String.valueOf(lease));
+            if (result == null || result == 0) {
+                leaseLostCount.increment();
+                hold.renewal.cancel(false);
+                log.warn("redis lock lease lost, key: {}, token: {}", key, hold.token);
+            }
+        } catch (Exception e) {
+            log.warn("redis lock renew failed, key: {}", key, e);
+        }
+    }
+
+    private void record(long waited) {
+        waitNanos.add(waited);
+        maxWaitNanos.accumulate(waited);
+    }
+
+    private String owner(Thread thread) {
+        return instanceId + ":" + thread.getId();
+    }
+
+    private Signal subscribe(String key) {
+        listen();
+        return signals.compute(key, (k, signal) -> {
+            signal = signal == null ? new Signal() : signal;
+            signal.waiters++;
+            return signal;
+        });
+    }
+
+    private void unsubscribe(String key, Signal signal) {
+        signals.computeIfPresent(key, (k, exist) -> exist == signal && --exist.waiters <= 0 ? null : exist);
+    }
+
+    private void signal(String key) {
+        Signal signal = signals.get(key);
+        if (signal != null) {
+            signal.signalAll();
+        }
+    }
+
+    /**
+     * <p>Subscribe unlock channel at the first contention</p>
+     * <p>首次竞争时才订阅解锁频道，不使用锁的应用不会建立订阅连接</p>
+     */
+    private void listen() {
+        if (container != null) {
+            return;
+        }
+        synchronized (this) {
+            if (container != null) {
+                return;
+            }
+            RedisMessageListenerContainer listenerContainer = new RedisMessageListenerContainer();
+            listenerContainer.setConnectionFactory(template.getRequiredConnectionFactory());
+            listenerContainer.addMessageListener(this, new ChannelTopic(channel));
+            listenerContainer.afterPropertiesSet();
+            listenerContainer.start();
+            container = listenerContainer;
+        }
+    }
+
+    /**
+     * <p>Local hold of lock</p>
+     */
+    static final class Hold {
+        private final Thread thread;
+        private final long token;
+        /** reentrant count, only accessed by owner thread */
+        private int count = 1;
+        private volatile ScheduledFuture<?> renewal;
+
+        private Hold(Thread thread, long token) {
+            this.thread = thread;
+            this.token = token;
+        }
+
+        long token() {
+            return token;
+        }
+
+        int count() {
+            return count;
+        }
+    }
+
+    /**
+     * <p>Unlock signal, the sequence read before acquire attempt avoids a lost wakeup</p>
+     */
+    private static final class Signal {
+        private volatile long seq;
+        /** guarded by signals map compute */
+        private int waiters;
+
+        private synchronized void await(long observed, long millis) throws InterruptedException {
+            if (seq == observed) {
+                wait(millis);
+            }
+        }
+
+        private synchronized void signalAll() {
+            seq++;
+            notifyAll();
+        }
+    }
+
+    /**
+     * <p>Lock statistics</p>
+     * <p>锁统计</p>
+     *
+     * @param acquiredCount  acquired count
+     * @param contendedCount acquire count that the lock was held by others
+     * @param timeoutCount   acquire timeout count
+     * @param leaseLostCount lease expired before unlock or renew count
+     * @param waitMillis     total wait time
+     * @param maxWaitMillis  maximum wait time
+     */
+    public record Stats(long acquiredCount, long contendedCount, long timeoutCount, long leaseLostCount,
+                        long waitMillis, long maxWaitMillis) {
+        /**
+         * <p>Average wait time of contended acquire</p>
+         * <p>竞争时的平均等待时间</p>
+         *
+         * @return double
+         */
+        public double averageWaitMillis() {
+            return contendedCount == 0 ? 0 : (double) waitMillis / contendedCount;
+        }
+    }
+}
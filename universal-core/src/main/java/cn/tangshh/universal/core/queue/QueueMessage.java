@@ -0,0 +1,67 @@
+package cn.tangshh.universal.core.queue;
+
+import cn.tangshh.universal.core.util.JacksonUtil;
+import com.fasterxml.jackson.core.type.TypeReference;
+import jakarta.annotation.Nullable;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * <p>Reliable queue message</p>
+ * <p>可靠队列消息</p>
+ *
+ * @param id       message id
+ * @param payload  json payload
+ * @param envelope raw list element (id:payload), used by ack/nack
+ * @param receipt  claim receipt of reliable queue, ack/nack of an older claim is rejected
+ * @author Tang
+ * @version v1.0
+ */
+public record QueueMessage(String id, String payload, String envelope, @Nullable String receipt) {
+    /**
+     * <p>Parse envelope</p>
+     * <p>解析列表元素</p>
+     *
+     * @param envelope raw list element
+     * @return {@link QueueMessage}
+     */
+    static QueueMessage of(String envelope) {
+        return of(envelope, null);
+    }
+
+    /**
+     * <p>Parse envelope of a claim</p>
+     * <p>解析列表元素，并附带本次取出的回执</p>
+     *
+     * @param envelope raw list element
+     * @param receipt  claim receipt
+     * @return {@link QueueMessage}
+     */
+    static QueueMessage of(String envelope, @Nullable String receipt) {
+        int index = envelope.indexOf(':');
+        return new QueueMessage(envelope.substring(0, index), envelope.substring(index + 1), envelope, receipt);
+    }
+
+    /**
+     * <p>Parse payload</p>
+     * <p>解析消息体</p>
+     *
+     * @param tClass target type class
+     * @return {@link T}
+     */
+    @Nullable
+    public <T> T payload(@NotNull Class<T> tClass) {
+        return JacksonUtil.parseJson(payload, tClass);
+    }
+
+    /**
+     * <p>Parse payload</p>
+     * <p>解析消息体</p>
+     *
+     * @param reference reference
+     * @return {@link T}
+     */
+    @Nullable
+    public <T> T payload(@NotNull TypeReference<T> reference) {
+        return JacksonUtil.parseJson(payload, reference);
+    }
+}
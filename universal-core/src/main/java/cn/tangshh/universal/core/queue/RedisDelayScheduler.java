@@ -0,0 +1,402 @@
+package cn.tangshh.universal.core.queue;
+
+import cn.hutool.core.thread.ThreadFactoryBuilder;
+import cn.hutool.core.util.IdUtil;
+import cn.hutool.extra.spring.SpringUtil;
+import cn.tangshh.universal.core.util.JacksonUtil;
+import jakarta.validation.constraints.NotNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * <p>Redis delayed job scheduler</p>
+ * <p>基于ZSet的延时任务调度器，分值为到期时间（毫秒时间戳），任务按哈希分布到多个分片键；
+ * 到期任务由Lua脚本原子地批量移入处理中集合，处理成功后确认，处理失败或超过可见性超时未确认的任务重新投递（至少一次）</p>
+ * <p>keys: name:{分片序号}（待到期ZSet）, name:{分片序号}:processing（处理中ZSet，分值为可见性截止时间），
+ * 分片序号为哈希标签，保证同一分片的两个键在集群中位于同一槽</p>
+ * <p>ps: 到期时间以Redis服务器时间判断；轮询线程休眠到最近的到期时间，本节点新增更早的任务时立即唤醒</p>
+ * <pre>
+ * RedisDelayScheduler scheduler = new RedisDelayScheduler("delay:order-timeout", 8, Duration.ofMinutes(1));
+ * scheduler.schedule(orderId, Duration.ofMinutes(30));
+ * scheduler.start(4, 100, message -> closeOrder(message.payload(Long.class)));
+ * </pre>
+ *
+ * @author Tang
+ * @version v1.0
+ */
+@Slf4j
+public class RedisDelayScheduler {
+    /**
+     * KEYS: due, processing; ARGV: limit, visibility ms;
+     * return [member, due score, ...] + [server now, next due score or -1]
+     */
+    private final static RedisScript<List> CLAIM_SCRIPT = new DefaultRedisScript<>("""
+            local time = redis.call('time')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            local limit = tonumber(ARGV[1])
+            local expired = redis.call('zrangebyscore', KEYS[2], '-inf', now, 'LIMIT', 0, limit)
+            for i = 1, #expired do
+                redis.call('zrem', KEYS[2], expired[i])
+                redis.call('zadd', KEYS[1], now, expired[i])
+            end
+            local items = redis.call('zrangebyscore', KEYS[1], '-inf', now, 'WITHSCORES', 'LIMIT', 0, limit)
+            local deadline = now + tonumber(ARGV[2])
+            for i = 1, #items, 2 do
+                redis.call('zrem', KEYS[1], items[i])
+                redis.call('zadd', KEYS[2], deadline, items[i])
+            end
+            local next = redis.call('zrange', KEYS[1], 0, 0, 'WITHSCORES')
+            items[#items + 1] = tostring(now)
+            items[#items + 1] = next[2] or '-1'
+            return items
+            """, List.class);
+    /** KEYS: processing, due; ARGV: due score, members; return retried count */
+    private final static RedisScript<Long> RETRY_SCRIPT = new DefaultRedisScript<>("""
+            local retried = 0
+            for i = 2, #ARGV do
+                if redis.call('zrem', KEYS[1], ARGV[i]) > 0 then
+                    redis.call('zadd', KEYS[2], ARGV[1], ARGV[i])
+                    retried = retried + 1
+                end
+            end
+            return retried
+            """, Long.class);
+
+    private final StringRedisTemplate template;
+    private final String name;
+    private final String[] dueKeys;
+    private final String[] processingKeys;
+    private final long visibilityMillis;
+
+    private final LongAdder dispatchedCount = new LongAdder();
+    private final LongAdder ackCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+    private final LongAdder latencyMillis = new LongAdder();
+    private final LongAccumulator maxLatencyMillis = new LongAccumulator(Math::max, 0);
+
+    private final ReentrantLock wakeLock = new ReentrantLock();
+    private final Condition wakeCondition = wakeLock.newCondition();
+    /** local clock time the poller plans to wake up */
+    private volatile long plannedWakeAt = Long.MAX_VALUE;
+
+    /**
+     * @param name              scheduler name (shard key prefix)
+     * @param shards            shard count
+     * @param visibilityTimeout redeliver if not ack within timeout
+     */
+    public RedisDelayScheduler(@NotNull String name, int shards, @NotNull Duration visibilityTimeout) {
+        this(SpringUtil.getBean(StringRedisTemplate.class), name, shards, visibilityTimeout);
+    }
+
+    /**
+     * @param template          redis template
+     * @param name              scheduler name (shard key prefix)
+     * @param shards            shard count
+     * @param visibilityTimeout redeliver if not ack within timeout
+     */
+    public RedisDelayScheduler(@NotNull StringRedisTemplate template, @NotNull String name, int shards,
+                               @NotNull Duration visibilityTimeout) {
+        this.template = template;
+        this.name = name;
+        int count = Math.max(1, shards);
+        this.dueKeys = new String[count];
+        this.processingKeys = new String[count];
+        for (int i = 0; i < count; i++) {
+            // hash tag keeps both keys of a shard in one cluster slot for the two-key scripts
+            dueKeys[i] = name + ":{" + i + "}";
+            processingKeys[i] = name + ":{" + i + "}:processing";
+        }
+        this.visibilityMillis = visibilityTimeout.toMillis();
+    }
+
+    /**
+     * <p>Schedule job after delay</p>
+     * <p>延时执行任务</p>
+     *
+     * @param value job value
+     * @param delay delay
+     * @return {@link String} job id
+     */
+    public String schedule(@NotNull Object value, @NotNull Duration delay) {
+        return schedule(value, System.currentTimeMillis() + delay.toMillis());
+    }
+
+    /**
+     * <p>Schedule job at due time</p>
+     * <p>在指定时间执行任务</p>
+     *
+     * @param value job value
+     * @param dueAt due epoch millis
+     * @return {@link String} job id
+     */
+    public String schedule(@NotNull Object value, long dueAt) {
+        String id = IdUtil.fastSimpleUUID();
+        template.opsForZSet().add(dueKeys[shard(id)], id + ":" + JacksonUtil.toJson(value), dueAt);
+        if (dueAt < plannedWakeAt) {
+            wake();
+        }
+        return id;
+    }
+
+    /**
+     * <p>Due job backlog of each shard</p>
+     * <p>各分片待到期任务数量</p>
+     *
+     * @return {@link Map}<{@link String}, {@link Long}> shard key -> size
+     */
+    public Map<String, Long> backlog() {
+        return sizes(dueKeys);
+    }
+
+    /**
+     * <p>Processing job of each shard</p>
+     * <p>各分片处理中任务数量</p>
+     *
+     * @return {@link Map}<{@link String}, {@link Long}> shard key -> size
+     */
+    public Map<String, Long> processing() {
+        return sizes(processingKeys);
+    }
+
+    /**
+     * <p>Dispatch statistics</p>
+     * <p>投递统计，投递延迟为到期时间到被领取的时间差</p>
+     *
+     * @return {@link Stats}
+     */
+    public Stats stats() {
+        return new Stats(dispatchedCount.sum(), ackCount.sum(), failedCount.sum(), latencyMillis.sum(),
+                maxLatencyMillis.get());
+    }
+
+    /**
+     * <p>Start poller and worker pool</p>
+     * <p>启动轮询线程与处理线程池，处理线程池满时轮询线程自行处理（背压）</p>
+     *
+     * @param threads   worker threads
+     * @param batchSize claim batch size of each shard
+     * @param handler   job handler, throw exception to redeliver after visibility timeout
+     * @return {@link Worker}
+     */
+    public Worker start(int threads, int batchSize, @NotNull Consumer<QueueMessage> handler) {
+        return new Worker(threads, batchSize, handler);
+    }
+
+    private Map<String, Long> sizes(String[] keys) {
+        List<Object> sizes = template.executePipelined((RedisCallback<Object>) connection -> {
+            for (String key : keys) {
+                connection.zSetCommands().zCard(key.getBytes(StandardCharsets.UTF_8));
+            }
+            return null;
+        });
+        Map<String, Long> result = new LinkedHashMap<>(keys.length);
+        for (int i = 0; i < keys.length; i++) {
+            Object size = sizes.get(i);
+            result.put(keys[i], size == null ? 0 : (Long) size);
+        }
+        return result;
+    }
+
+    private int shard(String id) {
+        return (id.hashCode() & Integer.MAX_VALUE) % dueKeys.length;
+    }
+
+    private void wake() {
+        wakeLock.lock();
+        try {
+            plannedWakeAt = 0;
+            wakeCondition.signalAll();
+        } finally {
+            wakeLock.unlock();
+        }
+    }
+
+    /**
+     * <p>Poller and worker pool</p>
+     * <p>轮询线程与处理线程池</p>
+     */
+    public final class Worker implements AutoCloseable {
+        private final static long MIN_POLL_MILLIS = 5;
+        private final static long MAX_POLL_MILLIS = 1000;
+
+        private final ThreadPoolExecutor workers;
+        private final Thread poller;
+        private final int batchSize;
+        private final Consumer<QueueMessage> handler;
+        private volatile boolean running = true;
+
+        private Worker(int threads, int batchSize, Consumer<QueueMessage> handler) {
+            this.batchSize = Math.max(1, batchSize);
+            this.handler = handler;
+            this.workers = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(threads * this.batchSize),
+                    ThreadFactoryBuilder.create().setNamePrefix("redis-delay-" + name + "-").build(),
+                    new ThreadPoolExecutor.CallerRunsPolicy());
+            this.poller = ThreadFactoryBuilder.create().setNamePrefix("redis-delay-poller-" + name + "-")
+                    .setDaemon(true).build().newThread(this::poll);
+            poller.start();
+        }
+
+        private void poll() {
+            while (running) {
+                long sleep = MAX_POLL_MILLIS;
+                try {
+                    for (int shard = 0; shard < dueKeys.length; shard++) {
+                        sleep = Math.min(sleep, claim(shard));
+                    }
+                } catch (Exception e) {
+                    log.warn("redis delay scheduler poll failed, name: {}", name, e);
+                }
+                if (sleep > 0) {
+                    await(Math.max(MIN_POLL_MILLIS, sleep));
+                }
+            }
+        }
+
+        /**
+         * <p>Claim due jobs of shard and dispatch</p>
+         *
+         * @return millis until next due job of shard, 0 is more due job
+         */
+        @SuppressWarnings("unchecked")
+        private long claim(int shard) {
+            List<String> reply = template.execute(CLAIM_SCRIPT, List.of(dueKeys[shard], processingKeys[shard]),
+                    String.valueOf(batchSize), String.valueOf(visibilityMillis));
+            if (reply == null || reply.size() < 2) {
+                return MAX_POLL_MILLIS;
+            }
+            int size = reply.size() - 2;
+            long now = Long.parseLong(reply.get(size));
+            long next = (long) Double.parseDouble(reply.get(size + 1));
+            for (int i = 0; i < size; i += 2) {
+                String member = reply.get(i);
+                long latency = Math.max(0, now - (long) Double.parseDouble(reply.get(i + 1)));
+                dispatchedCount.increment();
+                latencyMillis.add(latency);
+                maxLatencyMillis.accumulate(latency);
+                workers.execute(() -> handle(shard, member));
+            }
+            if (size / 2 >= batchSize) {
+                return 0;
+            }
+            return next < 0 ? MAX_POLL_MILLIS : Math.max(0, next - now);
+        }
+
+        private void handle(int shard, String member) {
+            QueueMessage message = QueueMessage.of(member);
+            try {
+                handler.accept(message);
+            } catch (Exception e) {
+                failedCount.increment();
+                log.warn("redis delay job handle failed, name: {}, id: {}", name, message.id(), e);
+                return;
+            }
+            try {
+                template.opsForZSet().remove(processingKeys[shard], member);
+                ackCount.increment();
+            } catch (Exception e) {
+                log.warn("redis delay job ack failed, name: {}, id: {}", name, message.id(), e);
+            }
+        }
+
+        private void await(long millis) {
+            wakeLock.lock();
+            try {
+                long wakeAt = System.currentTimeMillis() + millis;
+                if (plannedWakeAt == 0) {
+                    // woken up by a schedule before waiting
+                    plannedWakeAt = Long.MAX_VALUE;
+                    return;
+                }
+                plannedWakeAt = wakeAt;
+                long nanos = TimeUnit.MILLISECONDS.toNanos(millis);
+                while (running && plannedWakeAt != 0 && nanos > 0) {
+                    nanos = wakeCondition.awaitNanos(nanos);
+                }
+                plannedWakeAt = Long.MAX_VALUE;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } finally {
+                wakeLock.unlock();
+            }
+        }
+
+        /**
+         * <p>Redeliver processing jobs of all shards immediately</p>
+         * <p>立即重新投递全部分片的处理中任务（如确认处理进程已停止）</p>
+         *
+         * @return long redelivered count
+         */
+        public long redeliver() {
+            long total = 0;
+            for (int shard = 0; shard < dueKeys.length; shard++) {
+                Set<String> members = template.opsForZSet().range(processingKeys[shard], 0, -1);
+                if (members == null || members.isEmpty()) {
+                    continue;
+                }
+                Object[] args = new Object[members.size() + 1];
+                args[0] = "0";
+                int i = 1;
+                for (String member : members) {
+                    args[i++] = member;
+                }
+                Long retried = template.execute(RETRY_SCRIPT, List.of(processingKeys[shard], dueKeys[shard]), args);
+                total += retried == null ? 0 : retried;
+            }
+            wake();
+            return total;
+        }
+
+        /**
+         * <p>Stop poller and workers, unfinished jobs are redelivered after visibility timeout</p>
+         * <p>停止轮询与处理，未完成的任务在可见性超时后重新投递</p>
+         */
+        @Override
+        public void close() throws InterruptedException {
+            running = false;
+            wake();
+            poller.join(MAX_POLL_MILLIS);
+            workers.shutdown();
+            if (!workers.awaitTermination(visibilityMillis, TimeUnit.MILLISECONDS)) {
+                workers.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * <p>Dispatch statistics</p>
+     * <p>投递统计</p>
+     *
+     * @param dispatchedCount  dispatched job count
+     * @param ackCount         succeeded job count
+     * @param failedCount      failed job count
+     * @param latencyMillis    total dispatch latency (claim time - due time)
+     * @param maxLatencyMillis maximum dispatch latency
+     */
+    public record Stats(long dispatchedCount, long ackCount, long failedCount, long latencyMillis,
+                        long maxLatencyMillis) {
+        /**
+         * <p>Average dispatch latency</p>
+         * <p>平均投递延迟</p>
+         *
+         * @return double
+         */
+        public double averageLatencyMillis() {
+            return dispatchedCount == 0 ? 0 : (double) latencyMillis / dispatchedCount;
+        }
+    }
+}
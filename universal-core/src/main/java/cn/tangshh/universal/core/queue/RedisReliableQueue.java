@@ -0,0 +1,429 @@
+package cn.tangshh.universal.core.queue;
+
+import cn.hutool.core.thread.ThreadFactoryBuilder;
+import cn.hutool.core.util.IdUtil;
+import cn.hutool.extra.spring.SpringUtil;
+import cn.tangshh.universal.core.util.JacksonUtil;
+import jakarta.validation.constraints.NotNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * <p>Redis reliable work queue</p>
+ * <p>基于Redis List的可靠队列，消费时原子地移入处理中集合，确认（ack）后删除，
+ * 超过可见性超时未确认的消息由回收任务重新入队，超过最大尝试次数进入死信列表</p>
+ * <p>keys: name（待处理列表）, name:processing（处理中ZSet，分值为可见性截止时间）,
+ * name:attempts（失败次数Hash）, name:receipts（消息id -> 当前取出回执Hash）, name:dead（死信列表）；
+ * 集群模式下名称应包含哈希标签，如 {orders}</p>
+ * <p>每次取出生成新的回执，确认/否认时回执须与当前回执一致：超时被回收并重新取出后，
+ * 原消费者迟到的确认/否认被拒绝，不影响新消费者</p>
+ * <pre>
+ * RedisReliableQueue queue = new RedisReliableQueue("{orders}", Duration.ofMinutes(1), 5);
+ * queue.push(order);
+ * queue.start(8, 100, message -> handle(message.payload(Order.class)));
+ * </pre>
+ *
+ * @author Tang
+ * @version v1.0
+ */
+@Slf4j
+public class RedisReliableQueue {
+    /** KEYS: ready, processing, receipts; ARGV: count, visibility ms, receipt; return claimed envelopes, oldest first */
+    private final static RedisScript<List> CLAIM_SCRIPT = new DefaultRedisScript<>("""
+            local items = redis.call('lrange', KEYS[1], -tonumber(ARGV[1]), -1)
+            if #items == 0 then
+                return items
+            end
+            redis.call('ltrim', KEYS[1], 0, -#items - 1)
+            local time = redis.call('time')
+            local deadline = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000) + tonumber(ARGV[2])
+            local claimed = {}
+            for i = #items, 1, -1 do
+                redis.call('zadd', KEYS[2], deadline, items[i])
+                redis.call('hset', KEYS[3], string.match(items[i], '^([^:]*):'), ARGV[3])
+                claimed[#claimed + 1] = items[i]
+            end
+            return claimed
+            """, List.class);
+    /** KEYS: processing, attempts, receipts; ARGV: receipt, envelope, ...; return acked count */
+    private final static RedisScript<Long> ACK_SCRIPT = new DefaultRedisScript<>("""
+            local acked = 0
+            for i = 1, #ARGV, 2 do
+                local id = string.match(ARGV[i + 1], '^([^:]*):')
+                if redis.call('hget', KEYS[3], id) == ARGV[i] and redis.call('zrem', KEYS[1], ARGV[i + 1]) > 0 then
+                    acked = acked + 1
+                    redis.call('hdel', KEYS[2], id)
+                    redis.call('hdel', KEYS[3], id)
+                end
+            end
+            return acked
+            """, Long.class);
+    /** KEYS: processing, ready, attempts, dead, receipts; ARGV: max attempts, receipt, envelope, ...; return requeued count */
+    private final static RedisScript<Long> NACK_SCRIPT = new DefaultRedisScript<>("""
+            local requeued = 0
+            for i = 2, #ARGV, 2 do
+                local id = string.match(ARGV[i + 1], '^([^:]*):')
+                if redis.call('hget', KEYS[5], id) == ARGV[i] and redis.call('zrem', KEYS[1], ARGV[i + 1]) > 0 then
+                    requeued = requeued + 1
+                    redis.call('hdel', KEYS[5], id)
+                    if redis.call('hincrby', KEYS[3], id, 1) >= tonumber(ARGV[1]) then
+                        redis.call('hdel', KEYS[3], id)
+                        redis.call('lpush', KEYS[4], ARGV[i + 1])
+                    else
+                        redis.call('lpush', KEYS[2], ARGV[i + 1])
+                    end
+                end
+            end
+            return requeued
+            """, Long.class);
+    /** KEYS: processing, ready, attempts, dead, receipts; ARGV: max attempts, limit; return requeued count */
+    private final static RedisScript<Long> REAP_SCRIPT = new DefaultRedisScript<>("""
+            local time = redis.call('time')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            local items = redis.call('zrangebyscore', KEYS[1], '-inf', now, 'LIMIT', 0, tonumber(ARGV[2]))
+            for i = 1, #items do
+                redis.call('zrem', KEYS[1], items[i])
+                local id = string.match(items[i], '^([^:]*):')
+                redis.call('hdel', KEYS[5], id)
+                if redis.call('hincrby', KEYS[3], id, 1) >= tonumber(ARGV[1]) then
+                    redis.call('hdel', KEYS[3], id)
+                    redis.call('lpush', KEYS[4], items[i])
+                else
+                    redis.call('rpush', KEYS[2], items[i])
+                end
+            end
+            return #items
+            """, Long.class);
+    private final static int REAP_LIMIT = 1000;
+
+    private final StringRedisTemplate template;
+    private final String readyKey;
+    private final String processingKey;
+    private final String attemptsKey;
+    private final String receiptsKey;
+    private final String deadKey;
+    private final long visibilityMillis;
+    private final int maxAttempts;
+
+    /**
+     * @param name              queue name (ready list key)
+     * @param visibilityTimeout requeue if not ack within timeout
+     * @param maxAttempts       move to dead list after failed attempts
+     */
+    public RedisReliableQueue(@NotNull String name, @NotNull Duration visibilityTimeout, int maxAttempts) {
+        this(SpringUtil.getBean(StringRedisTemplate.class), name, visibilityTimeout, maxAttempts);
+    }
+
+    /**
+     * @param template          redis template
+     * @param name              queue name (ready list key)
+     * @param visibilityTimeout requeue if not ack within timeout
+     * @param maxAttempts       move to dead list after failed attempts
+     */
+    public RedisReliableQueue(@NotNull StringRedisTemplate template, @NotNull String name,
+                              @NotNull Duration visibilityTimeout, int maxAttempts) {
+        this.template = template;
+        this.readyKey = name;
+        this.processingKey = name + ":processing";
+        this.attemptsKey = name + ":attempts";
+        this.receiptsKey = name + ":receipts";
+        this.deadKey = name + ":dead";
+        this.visibilityMillis = visibilityTimeout.toMillis();
+        this.maxAttempts = Math.max(1, maxAttempts);
+    }
+
+    /**
+     * <p>Push a message</p>
+     * <p>推入一条消息</p>
+     *
+     * @param value value
+     * @return {@link String} message id
+     */
+    public String push(@NotNull Object value) {
+        String id = IdUtil.fastSimpleUUID();
+        template.opsForList().leftPush(readyKey, id + ":" + JacksonUtil.toJson(value));
+        return id;
+    }
+
+    /**
+     * <p>Push multiple message in one command</p>
+     * <p>批量推入消息（单次LPUSH）</p>
+     *
+     * @param values values
+     * @return {@link List}<{@link String}> message ids
+     */
+    public List<String> pushAll(@NotNull Collection<?> values) {
+        if (values.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> ids = new ArrayList<>(values.size());
+        List<String> envelopes = new ArrayList<>(values.size());
+        for (Object value : values) {
+            String id = IdUtil.fastSimpleUUID();
+            ids.add(id);
+            envelopes.add(id + ":" + JacksonUtil.toJson(value));
+        }
+        template.opsForList().leftPushAll(readyKey, envelopes);
+        return ids;
+    }
+
+    /**
+     * <p>Atomic claim messages into processing</p>
+     * <p>原子地批量取出消息并移入处理中集合，先入先出，本次取出的消息携带新的回执</p>
+     *
+     * @param count maximum count
+     * @return {@link List}<{@link QueueMessage}>
+     */
+    @SuppressWarnings("unchecked")
+    public List<QueueMessage> claim(int count) {
+        String receipt = IdUtil.fastSimpleUUID();
+        List<String> envelopes = template.execute(CLAIM_SCRIPT, List.of(readyKey, processingKey, receiptsKey),
+                String.valueOf(count), String.valueOf(visibilityMillis), receipt);
+        if (envelopes == null || envelopes.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<QueueMessage> messages = new ArrayList<>(envelopes.size());
+        for (String envelope : envelopes) {
+            messages.add(QueueMessage.of(envelope, receipt));
+        }
+        return messages;
+    }
+
+    /**
+     * <p>Ack messages, remove from processing</p>
+     * <p>确认消息，从处理中集合删除</p>
+     *
+     * @param messages messages
+     * @return long acked count, message already requeued by reaper (or claimed again) is not counted
+     */
+    public long ack(@NotNull Collection<QueueMessage> messages) {
+        if (messages.isEmpty()) {
+            return 0;
+        }
+        Object[] args = new Object[messages.size() * 2];
+        int i = 0;
+        for (QueueMessage message : messages) {
+            args[i++] = receipt(message);
+            args[i++] = message.envelope();
+        }
+        Long acked = template.execute(ACK_SCRIPT, List.of(processingKey, attemptsKey, receiptsKey), args);
+        return acked == null ? 0 : acked;
+    }
+
+    /**
+     * <p>Nack messages, requeue or move to dead list</p>
+     * <p>否认消息，重新入队（队尾），失败次数达到上限时移入死信列表</p>
+     *
+     * @param messages messages
+     * @return long requeued count, message already requeued by reaper (or claimed again) is not counted
+     */
+    public long nack(@NotNull Collection<QueueMessage> messages) {
+        if (messages.isEmpty()) {
+            return 0;
+        }
+        Object[] args = new Object[messages.size() * 2 + 1];
+        args[0] = String.valueOf(maxAttempts);
+        int i = 1;
+        for (QueueMessage message : messages) {
+            args[i++] = receipt(message);
+            args[i++] = message.envelope();
+        }
+        Long requeued = template.execute(NACK_SCRIPT, List.of(processingKey, readyKey, attemptsKey, deadKey,
+                receiptsKey), args);
+        return requeued == null ? 0 : requeued;
+    }
+
+    /**
+     * <p>Requeue messages exceed visibility timeout</p>
+     * <p>回收超过可见性超时的消息，重新入队（队首，优先处理）</p>
+     *
+     * @return long requeued count
+     */
+    public long reap() {
+        long total = 0;
+        Long requeued;
+        do {
+            requeued = template.execute(REAP_SCRIPT, List.of(processingKey, readyKey, attemptsKey, deadKey,
+                            receiptsKey),
+                    String.valueOf(maxAttempts), String.valueOf(REAP_LIMIT));
+            total += requeued == null ? 0 : requeued;
+        } while (requeued != null && requeued == REAP_LIMIT);
+        return total;
+    }
+
+    /**
+     * <p>Message not from claim has no receipt, never matches</p>
+     */
+    private static String receipt(QueueMessage message) {
+        return message.receipt() == null ? "" : message.receipt();
+    }
+
+    /**
+     * <p>Ready message size</p>
+     * <p>待处理消息数量</p>
+     *
+     * @return long
+     */
+    public long size() {
+        Long size = template.opsForList().size(readyKey);
+        return size == null ? 0 : size;
+    }
+
+    /**
+     * <p>Processing message size</p>
+     * <p>处理中消息数量</p>
+     *
+     * @return long
+     */
+    public long processingSize() {
+        Long size = template.opsForZSet().zCard(processingKey);
+        return size == null ? 0 : size;
+    }
+
+    /**
+     * <p>Start consumer worker pool</p>
+     * <p>启动消费线程池，每个线程批量取出并逐条处理，成功的消息批量确认，抛出异常的消息否认</p>
+     *
+     * @param threads   worker threads
+     * @param batchSize claim batch size
+     * @param handler   message handler
+     * @return {@link Worker}
+     */
+    public Worker start(int threads, int batchSize, @NotNull Consumer<QueueMessage> handler) {
+        return new Worker(threads, batchSize, handler);
+    }
+
+    /**
+     * <p>Consumer worker pool, also reap stuck messages every half visibility timeout</p>
+     * <p>消费线程池，同时每半个可见性超时执行一次回收</p>
+     */
+    public final class Worker implements AutoCloseable {
+        private final static long MIN_IDLE_MILLIS = 10;
+        private final static long MAX_IDLE_MILLIS = 1000;
+
+        private final ExecutorService workers;
+        private final ScheduledExecutorService reaper;
+        private final int batchSize;
+        private final Consumer<QueueMessage> handler;
+        private volatile boolean running = true;
+        private final LongAdder ackCount = new LongAdder();
+        private final LongAdder nackCount = new LongAdder();
+
+        private Worker(int threads, int batchSize, Consumer<QueueMessage> handler) {
+            this.batchSize = Math.max(1, batchSize);
+            this.handler = handler;
+            this.workers = Executors.newFixedThreadPool(threads, ThreadFactoryBuilder.create()
+                    .setNamePrefix("redis-queue-" + readyKey + "-").build());
+            this.reaper = Executors.newSingleThreadScheduledExecutor(ThreadFactoryBuilder.create()
+                    .setNamePrefix("redis-queue-reaper-" + readyKey + "-").setDaemon(true).build());
+            long period = Math.max(1, visibilityMillis / 2);
+            reaper.scheduleWithFixedDelay(this::reap, period, period, TimeUnit.MILLISECONDS);
+            for (int i = 0; i < threads; i++) {
+                workers.execute(this::loop);
+            }
+        }
+
+        private void loop() {
+            long idle = MIN_IDLE_MILLIS;
+            while (running) {
+                try {
+                    List<QueueMessage> messages = claim(batchSize);
+                    if (messages.isEmpty()) {
+                        TimeUnit.MILLISECONDS.sleep(idle);
+                        idle = Math.min(MAX_IDLE_MILLIS, idle * 2);
+                        continue;
+                    }
+                    idle = MIN_IDLE_MILLIS;
+                    handle(messages);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (Exception e) {
+                    log.warn("redis queue consume failed, queue: {}", readyKey, e);
+                    sleepQuietly(idle);
+                    idle = Math.min(MAX_IDLE_MILLIS, idle * 2);
+                }
+            }
+        }
+
+        private void handle(List<QueueMessage> messages) {
+            List<QueueMessage> succeeded = new ArrayList<>(messages.size());
+            List<QueueMessage> failed = new ArrayList<>();
+            for (QueueMessage message : messages) {
+                try {
+                    handler.accept(message);
+                    succeeded.add(message);
+                } catch (Exception e) {
+                    log.warn("redis queue message handle failed, queue: {}, id: {}", readyKey, message.id(), e);
+                    failed.add(message);
+                }
+            }
+            ackCount.add(ack(succeeded));
+            nackCount.add(nack(failed));
+        }
+
+        private void reap() {
+            try {
+                long requeued = RedisReliableQueue.this.reap();
+                if (requeued > 0) {
+                    log.info("redis queue requeued {} timeout message, queue: {}", requeued, readyKey);
+                }
+            } catch (Exception e) {
+                log.warn("redis queue reap failed, queue: {}", readyKey, e);
+            }
+        }
+
+        private void sleepQuietly(long millis) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        /**
+         * <p>Acked message count</p>
+         * <p>已确认消息数</p>
+         *
+         * @return long
+         */
+        public long ackCount() {
+            return ackCount.sum();
+        }
+
+        /**
+         * <p>Nacked message count</p>
+         * <p>已否认消息数</p>
+         *
+         * @return long
+         */
+        public long nackCount() {
+            return nackCount.sum();
+        }
+
+        /**
+         * <p>Stop workers, in-flight batch is finished before exit</p>
+         * <p>停止消费，正在处理的批次处理完成后退出</p>
+         */
+        @Override
+        public void close() throws InterruptedException {
+            running = false;
+            reaper.shutdownNow();
+            workers.shutdown();
+            if (!workers.awaitTermination(visibilityMillis, TimeUnit.MILLISECONDS)) {
+                workers.shutdownNow();
+            }
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package cn.tangshh.universal.core.queue;
+
+import cn.hutool.core.thread.ThreadFactoryBuilder;
+import cn.tangshh.universal.core.util.RedisStreamUtil;
+import jakarta.validation.constraints.NotNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.stream.MapRecord;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * <p>Redis stream consumer group runner</p>
+ * <p>Redis Stream消费组运行器，每个线程作为一个组成员批量读取（XREADGROUP COUNT BLOCK），
+ * 批次处理成功后一次性确认（XACK），处理失败的批次留在待确认列表，
+ * 空闲超过 minIdle 的待确认记录由各成员定期认领（XAUTOCLAIM）重新处理</p>
+ * <p>ps: 启动时先处理成员自己遗留的待确认记录；消费者名称为 consumerPrefix-序号，重启后沿用相同名称</p>
+ * <pre>
+ * RedisStreamConsumer consumer = new RedisStreamConsumer("{events}", "billing", "node-1",
+ *         4, 200, Duration.ofSeconds(2), Duration.ofMinutes(5), records -> handle(records));
+ * consumer.start();
+ * </pre>
+ *
+ * @author Tang
+ * @version v1.0
+ */
+@Slf4j
+public class RedisStreamConsumer implements AutoCloseable {
+    private final String key;
+    private final String group;
+    private final String consumerPrefix;
+    private final int threads;
+    private final int batchSize;
+    private final Duration block;
+    private final Duration minIdle;
+    private final Consumer<List<MapRecord<String, String, String>>> handler;
+    private final LongAdder ackCount = new LongAdder();
+    private final LongAdder failedBatchCount = new LongAdder();
+    private final LongAdder claimedCount = new LongAdder();
+    private volatile boolean running;
+    private ExecutorService workers;
+
+    /**
+     * @param key            stream key
+     * @param group          group name, created from the latest record if not exist
+     * @param consumerPrefix consumer name prefix, should be stable across restarts of this node
+     * @param threads        worker threads (group consumers)
+     * @param batchSize      read batch size
+     * @param block          block time when no record
+     * @param minIdle        claim pending records idle over this time
+     * @param handler        batch handler, throw exception to keep the batch pending
+     */
+    public RedisStreamConsumer(@NotNull String key, @NotNull String group, @NotNull String consumerPrefix,
+                               int threads, int batchSize, @NotNull Duration block, @NotNull Duration minIdle,
+                               @NotNull Consumer<List<MapRecord<String, String, String>>> handler) {
+        this.key = key;
+        this.group = group;
+        this.consumerPrefix = consumerPrefix;
+        this.threads = Math.max(1, threads);
+        this.batchSize = Math.max(1, batchSize);
+        this.block = block;
+        this.minIdle = minIdle;
+        this.handler = handler;
+    }
+
+    /**
+     * <p>Start workers</p>
+     * <p>启动消费线程</p>
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        RedisStreamUtil.createGroup(key, group);
+        running = true;
+        workers = Executors.newFixedThreadPool(threads, ThreadFactoryBuilder.create()
+                .setNamePrefix("redis-stream-" + group + "-").build());
+        for (int i = 0; i < threads; i++) {
+            String consumer = consumerPrefix + "-" + i;
+            workers.execute(() -> loop(consumer));
+        }
+    }
+
+    private void loop(String consumer) {
+        recover(consumer);
+        long claimInterval = Math.max(1000, minIdle.toMillis() / 2);
+        long nextClaim = System.currentTimeMillis() + claimInterval;
+        String claimStart = "0-0";
+        while (running && !Thread.currentThread().isInterrupted()) {
+            try {
+                if (System.currentTimeMillis() >= nextClaim) {
+                    RedisStreamUtil.AutoClaimResult result = RedisStreamUtil.autoClaim(key, group, consumer,
+                            minIdle, claimStart, batchSize);
+                    claimStart = result.nextStartId();
+                    if ("0-0".equals(claimStart)) {
+                        nextClaim = System.currentTimeMillis() + claimInterval;
+                    }
+                    if (!result.records().isEmpty()) {
+                        claimedCount.add(result.records().size());
+                        handle(result.records());
+                        continue;
+                    }
+                }
+                List<MapRecord<String, String, String>> records = RedisStreamUtil.readGroup(key, group, consumer,
+                        batchSize, block);
+                if (!records.isEmpty()) {
+                    handle(records);
+                }
+            } catch (Exception e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("redis stream consume failed, key: {}, group: {}, consumer: {}", key, group, consumer, e);
+                try {
+                    TimeUnit.MILLISECONDS.sleep(1000);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * <p>Process pending records left by previous run of the same consumer</p>
+     */
+    private void recover(String consumer) {
+        try {
+            List<MapRecord<String, String, String>> records;
+            do {
+                records = RedisStreamUtil.readPending(key, group, consumer, batchSize);
+                if (!records.isEmpty() && !handle(records)) {
+                    // keep pending, reclaimed later by XAUTOCLAIM
+                    return;
+                }
+            } while (running && records.size() == batchSize);
+        } catch (Exception e) {
+            log.warn("redis stream pending recover failed, key: {}, consumer: {}", key, consumer, e);
+        }
+    }
+
+    private boolean handle(List<MapRecord<String, String, String>> records) {
+        try {
+            handler.accept(records);
+        } catch (Exception e) {
+            failedBatchCount.increment();
+            log.warn("redis stream batch handle failed, key: {}, group: {}, size: {}", key, group, records.size(), e);
+            return false;
+        }
+        ackCount.add(RedisStreamUtil.ack(key, group, records));
+        return true;
+    }
+
+    /**
+     * <p>Acked record count</p>
+     * <p>已确认记录数</p>
+     *
+     * @return long
+     */
+    public long ackCount() {
+        return ackCount.sum();
+    }
+
+    /**
+     * <p>Failed batch count</p>
+     * <p>处理失败的批次数</p>
+     *
+     * @return long
+     */
+    public long failedBatchCount() {
+        return failedBatchCount.sum();
+    }
+
+    /**
+     * <p>Claimed pending record count</p>
+     * <p>认领的待确认记录数</p>
+     *
+     * @return long
+     */
+    public long claimedCount() {
+        return claimedCount.sum();
+    }
+
+    /**
+     * <p>Stop workers, wait in-flight batch at most one block time</p>
+     * <p>停止消费，最多等待一个阻塞周期让正在处理的批次完成</p>
+     */
+    @Override
+    public synchronized void close() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        workers.shutdown();
+        if (!workers.awaitTermination(block.toMillis() + 1000, TimeUnit.MILLISECONDS)) {
+            workers.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,315 @@
+package cn.tangshh.universal.core.script;
+
+import cn.hutool.crypto.SecureUtil;
+import cn.tangshh.universal.core.util.JacksonUtil;
+import jakarta.annotation.Nullable;
+import jakarta.validation.constraints.NotNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>Redis Lua script registry</p>
+ * <p>Redis Lua脚本注册表，启动时加载classpath中的 .lua 文件并执行 SCRIPT LOAD，
+ * 调用时使用 EVALSHA，服务端无缓存（NOSCRIPT）时回退到 EVAL</p>
+ * <p>ps: 脚本名为文件名（不含 .lua），键原样传递，参数经 {@link JacksonUtil#toJson(Object)} 转换（字符串保持原样）</p>
+ * <pre>
+ * // classpath:lua/stock_deduct.lua
+ * Long left = RedisScriptRegistry.current().execute("stock_deduct", List.of("stock:" + id), Long.class, count);
+ * </pre>
+ *
+ * @author Tang
+ * @version v1.0
+ */
+@Slf4j
+public final class RedisScriptRegistry implements InitializingBean, DisposableBean {
+    private static volatile RedisScriptRegistry instance;
+
+    private final StringRedisTemplate template;
+    private final String[] locations;
+    private final boolean preload;
+    private final Map<String, Script> scripts = new ConcurrentHashMap<>();
+
+    /**
+     * @param template  redis template
+     * @param locations script resource locations, e.g. classpath*:lua/*.lua
+     * @param preload   run SCRIPT LOAD at startup
+     */
+    public RedisScriptRegistry(@NotNull StringRedisTemplate template, @NotNull Collection<String> locations, boolean preload) {
+        this.template = template;
+        this.locations = locations.toArray(String[]::new);
+        this.preload = preload;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws IOException {
+        PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+        for (String location : locations) {
+            for (Resource resource : resolver.getResources(location)) {
+                String filename = resource.getFilename();
+                if (filename == null || !resource.isReadable()) {
+                    continue;
+                }
+                String name = filename.endsWith(".lua") ? filename.substring(0, filename.length() - 4) : filename;
+                register(name, resource.getContentAsString(StandardCharsets.UTF_8));
+            }
+        }
+        if (preload && !scripts.isEmpty()) {
+            try {
+                template.execute((RedisCallback<Void>) connection -> {
+                    scripts.values().forEach(script -> connection.scriptingCommands().scriptLoad(script.source));
+                    return null;
+                });
+                log.info("redis lua script loaded: {}", scripts.keySet());
+            } catch (Exception e) {
+                log.warn("redis lua script preload failed, fallback to EVAL on first call", e);
+            }
+        }
+        instance = this;
+    }
+
+    @Override
+    public void destroy() {
+        instance = null;
+    }
+
+    /**
+     * <p>Get current registry</p>
+     * <p>获取当前脚本注册表</p>
+     *
+     * @return {@link RedisScriptRegistry}
+     */
+    public static RedisScriptRegistry current() {
+        RedisScriptRegistry registry = instance;
+        if (registry == null) {
+            throw new IllegalStateException("redis script registry not configured");
+        }
+        return registry;
+    }
+
+    /**
+     * <p>Register script</p>
+     * <p>注册脚本，同名脚本不可重复注册</p>
+     *
+     * @param name   script name
+     * @param source lua source
+     */
+    public void register(@NotNull String name, @NotNull String source) {
+        Script exist = scripts.putIfAbsent(name, new Script(source));
+        if (exist != null) {
+            throw new IllegalArgumentException("duplicate redis lua script: " + name);
+        }
+    }
+
+    /**
+     * <p>Script names</p>
+     * <p>已注册的脚本名称</p>
+     *
+     * @return {@link Set}<{@link String}>
+     */
+    public Set<String> names() {
+        return Collections.unmodifiableSet(scripts.keySet());
+    }
+
+    /**
+     * <p>Execute script, ignore result</p>
+     * <p>执行脚本，忽略返回值</p>
+     *
+     * @param name script name
+     * @param keys keys
+     * @param args args
+     */
+    public void execute(@NotNull String name, @NotNull List<String> keys, Object... args) {
+        execute(name, keys, Void.class, args);
+    }
+
+    /**
+     * <p>Execute script</p>
+     * <p>执行脚本，返回值按类型转换：Long/Boolean/List（元素为String、Long或嵌套List）/String，
+     * Object接收任意类型的返回（结果为List，非数组返回为单元素List），其他类型按JSON字符串解析</p>
+     *
+     * @param name       script name
+     * @param keys       keys
+     * @param resultType result type
+     * @param args       args
+     * @return {@link T}
+     */
+    @Nullable
+    public <T> T execute(@NotNull String name, @NotNull List<String> keys, @NotNull Class<T> resultType, Object... args) {
+        Script script = scripts.get(name);
+        if (script == null) {
+            throw new IllegalArgumentException("unknown redis lua script: " + name);
+        }
+        ReturnType returnType = returnType(resultType);
+        byte[][] keysAndArgs = new byte[keys.size() + args.length][];
+        int i = 0;
+        for (String key : keys) {
+            keysAndArgs[i++] = key.getBytes(StandardCharsets.UTF_8);
+        }
+        for (Object arg : args) {
+            keysAndArgs[i++] = JacksonUtil.toJsonBytes(arg);
+        }
+        long start = System.nanoTime();
+        try {
+            Object result = template.execute((RedisCallback<Object>) connection ->
+                    eval(connection, script, returnType, keys.size(), keysAndArgs));
+            return convert(result, resultType);
+        } catch (RuntimeException e) {
+            script.errorCount.increment();
+            throw e;
+        } finally {
+            script.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * <p>Script statistics</p>
+     * <p>脚本调用统计（次数、耗时）</p>
+     *
+     * @return {@link Map}<{@link String}, {@link Stats}>
+     */
+    public Map<String, Stats> stats() {
+        Map<String, Stats> stats = new TreeMap<>();
+        scripts.forEach((name, script) -> stats.put(name, script.stats()));
+        return stats;
+    }
+
+    private static Object eval(RedisConnection connection, Script script, ReturnType returnType,
+                               int numKeys, byte[][] keysAndArgs) {
+        try {
+            return connection.scriptingCommands().evalSha(script.sha1, returnType, numKeys, keysAndArgs);
+        } catch (RuntimeException e) {
+            if (!noScript(e)) {
+                throw e;
+            }
+            // EVAL also caches the script on server, following EVALSHA will hit
+            script.fallbackCount.increment();
+            return connection.scriptingCommands().eval(script.source, returnType, numKeys, keysAndArgs);
+        }
+    }
+
+    private static boolean noScript(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause.getMessage() != null && cause.getMessage().contains("NOSCRIPT")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static ReturnType returnType(Class<?> resultType) {
+        // nested multi output accepts every reply (status/integer/bulk/array), others fail on mismatched reply
+        if (resultType == Void.class || resultType == Object.class) {
+            return ReturnType.MULTI;
+        }
+        if (resultType == Long.class || resultType == Integer.class) {
+            return ReturnType.INTEGER;
+        }
+        if (resultType == Boolean.class) {
+            return ReturnType.BOOLEAN;
+        }
+        if (List.class.isAssignableFrom(resultType)) {
+            return ReturnType.MULTI;
+        }
+        return ReturnType.VALUE;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T convert(Object result, Class<T> resultType) {
+        if (result == null || resultType == Void.class) {
+            return null;
+        }
+        if (resultType == Integer.class) {
+            return (T) Integer.valueOf(((Long) result).intValue());
+        }
+        if (resultType == Long.class || resultType == Boolean.class) {
+            return (T) result;
+        }
+        Object value = decode(result);
+        if (resultType.isInstance(value)) {
+            return (T) value;
+        }
+        return JacksonUtil.parseJson((String) value, resultType);
+    }
+
+    private static Object decode(Object value) {
+        if (value instanceof byte[] bytes) {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+        if (value instanceof List<?> list) {
+            List<Object> result = new ArrayList<>(list.size());
+            for (Object item : list) {
+                result.add(decode(item));
+            }
+            return result;
+        }
+        return value;
+    }
+
+    /**
+     * <p>Registered script</p>
+     */
+    private static final class Script {
+        private final byte[] source;
+        private final String sha1;
+        private final LongAdder callCount = new LongAdder();
+        private final LongAdder errorCount = new LongAdder();
+        private final LongAdder fallbackCount = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        private Script(String source) {
+            this.source = source.getBytes(StandardCharsets.UTF_8);
+            this.sha1 = SecureUtil.sha1(source);
+        }
+
+        private void record(long nanos) {
+            callCount.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+        }
+
+        private Stats stats() {
+            return new Stats(sha1, callCount.sum(), errorCount.sum(), fallbackCount.sum(),
+                    TimeUnit.NANOSECONDS.toMicros(totalNanos.sum()), TimeUnit.NANOSECONDS.toMicros(maxNanos.get()));
+        }
+    }
+
+    /**
+     * <p>Script statistics</p>
+     * <p>脚本调用统计</p>
+     *
+     * @param sha1          script sha1
+     * @param callCount     call count
+     * @param errorCount    error count
+     * @param fallbackCount NOSCRIPT fallback to EVAL count
+     * @param totalMicros   total latency
+     * @param maxMicros     maximum latency
+     */
+    public record Stats(String sha1, long callCount, long errorCount, long fallbackCount,
+                        long totalMicros, long maxMicros) {
+        /**
+         * <p>Average latency</p>
+         * <p>平均耗时</p>
+         *
+         * @return double
+         */
+        public double averageMicros() {
+            return callCount == 0 ? 0 : (double) totalMicros / callCount;
+        }
+    }
+}
@@ -1,28 +1,70 @@
 package cn.tangshh.universal.core.util;
 
+import cn.hutool.core.thread.ThreadFactoryBuilder;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonPointer;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
 import jakarta.annotation.Nullable;
 import jakarta.validation.constraints.NotNull;
 
+import java.io.*;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * <p> Jackson's serialization and deserialization tools</p>
  * <p>基于Jackson封装的序列化与反序列化工具</p>
+ * <p>ObjectReader/ObjectWriter按目标类型缓存复用；批量处理时元素数量或json总长度达到阈值才并行，
+ * 并行任务在独立线程池执行（调用线程执行其中一段），不占用公共ForkJoinPool</p>
+ * <p>ps: 默认使用独立的存储ObjectMapper（日期写为时间戳、忽略未知属性），开启 universal.jackson.share-mvc-mapper
+ * 后改用Spring MVC的ObjectMapper Bean，参见 {@link #use(ObjectMapper)}</p>
  *
  * @author Tang
  * @version v1.0
  */
 public final class JacksonUtil {
-    private final static ObjectMapper MAPPER;
+    /** minimum element of each parallel chunk */
+    private final static int MIN_CHUNK = 16;
+    private static volatile int parallelThreshold = 512;
+    private static volatile long parallelLength = 256 * 1024;
+    private static volatile int parallelism = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+    @Nullable
+    private static volatile ExecutorService executor;
+    /** fallback pool when no executor configured, created once and reused */
+    @Nullable
+    private static volatile ExecutorService builtInExecutor;
+
+    private static volatile Mapper mapper;
 
     static {
-        MAPPER = new ObjectMapper();
-        MAPPER.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        // stored format, pinned against later default changes
+        objectMapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, true);
+        mapper = new Mapper(objectMapper);
     }
 
     private JacksonUtil() {
@@ -37,12 +79,50 @@ public final class JacksonUtil {
      */
     public static String toJson(@NotNull Object value) {
         try {
-            return value instanceof String ? (String) value : MAPPER.writeValueAsString(value);
+            return value instanceof String ? (String) value : writer(value.getClass()).writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * <p>Serialize to json UTF-8 bytes</p>
+     * <p>序列化为json UTF-8字节，直接编码为字节不经过String中转（字符串值同样保持原样）</p>
+     *
+     * @param value value
+     * @return byte[]
+     */
+    public static byte[] toJsonBytes(@NotNull Object value) {
+        try {
+            return value instanceof String ? ((String) value).getBytes(StandardCharsets.UTF_8)
+                    : writer(value.getClass()).writeValueAsBytes(value);
         } catch (JsonProcessingException e) {
             throw new RuntimeException(e);
         }
     }
 
+    /**
+     * <p>Serialize as json UTF-8 bytes to output stream</p>
+     * <p>序列化为json UTF-8字节写入输出流（字符串值保持原样），写完后flush但不关闭输出流</p>
+     *
+     * @param out   output
+     * @param value value
+     */
+    public static void writeTo(@NotNull OutputStream out, @NotNull Object value) {
+        try {
+            if (value instanceof String) {
+                out.write(((String) value).getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+            try (JsonGenerator generator = mapper.objectMapper.getFactory().createGenerator(out)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+                writer(value.getClass()).writeValue(generator, value);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     /**
      * <p>Batch serialize to json string</p>
      * <p>批量序列化为json字符串</p>
@@ -66,9 +146,8 @@ public final class JacksonUtil {
      * @return {@link List}<{@link String}>
      */
     public static Collection<String> toJsons(@NotNull Collection<Object> values) {
-        return values.parallelStream()
-                .map(JacksonUtil::toJson)
-                .collect(Collectors.toList());
+        List<Object> list = values instanceof List ? (List<Object>) values : new ArrayList<>(values);
+        return map(list, JacksonUtil::toJson, list.size() >= parallelThreshold);
     }
 
     /**
@@ -98,7 +177,7 @@ public final class JacksonUtil {
             return null;
         }
         try {
-            return MAPPER.readValue(value, tClass);
+            return reader(tClass).readValue(value);
         } catch (JsonProcessingException e) {
             throw new RuntimeException(e);
         }
@@ -118,7 +197,93 @@ public final class JacksonUtil {
             return null;
         }
         try {
-            return MAPPER.readValue(value, reference);
+            return reader(reference.getType()).readValue(value);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * <p>Deserialize json UTF-8 bytes to pojo</p>
+     * <p>将json UTF-8字节直接反序列化为pojo，不经过String中转</p>
+     *
+     * @param value  json bytes
+     * @param tClass target type class
+     * @return {@link T}
+     */
+    @Nullable
+    public static <T> T parseJson(byte[] value, @NotNull Class<T> tClass) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return reader(tClass).readValue(value);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * <p>Deserialize json UTF-8 bytes to pojo</p>
+     * <p>将json UTF-8字节直接反序列化为pojo，不经过String中转</p>
+     *
+     * @param value     json bytes
+     * @param reference reference
+     * @return {@link T}
+     */
+    @Nullable
+    public static <T> T parseJson(byte[] value, @NotNull TypeReference<T> reference) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return reader(reference.getType()).readValue(value);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * <p>Deserialize json UTF-8 bytes between position and limit to pojo</p>
+     * <p>将缓冲区position到limit之间的json UTF-8字节反序列化为pojo，不改变缓冲区位置</p>
+     *
+     * @param value  json buffer
+     * @param tClass target type class
+     * @return {@link T}
+     */
+    @Nullable
+    public static <T> T parseJson(ByteBuffer value, @NotNull Class<T> tClass) {
+        return value == null ? null : read(reader(tClass), value);
+    }
+
+    /**
+     * <p>Deserialize json UTF-8 bytes between position and limit to pojo</p>
+     * <p>将缓冲区position到limit之间的json UTF-8字节反序列化为pojo，不改变缓冲区位置</p>
+     *
+     * @param value     json buffer
+     * @param reference reference
+     * @return {@link T}
+     */
+    @Nullable
+    public static <T> T parseJson(ByteBuffer value, @NotNull TypeReference<T> reference) {
+        return value == null ? null : read(reader(reference.getType()), value);
+    }
+
+    /**
+     * <p>Deserialize json string to generic type, e.g. method generic return type</p>
+     * <p>将json字符串反序列化为泛型类型，如方法的泛型返回值类型</p>
+     *
+     * @param value value
+     * @param type  target type
+     * @return {@link T}
+     */
+    @Nullable
+    public static <T> T parseJson(String value, @NotNull Type type) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return reader(type).readValue(value);
         } catch (JsonProcessingException e) {
             throw new RuntimeException(e);
         }
@@ -137,9 +302,7 @@ public final class JacksonUtil {
         if (values == null) {
             return null;
         }
-        return values.parallelStream()
-                .map(e -> parseJson(e, tClass))
-                .collect(Collectors.toList());
+        return map(values, e -> parseJson(e, tClass), parallel(values));
     }
 
     /**
@@ -155,9 +318,7 @@ public final class JacksonUtil {
         if (values == null) {
             return null;
         }
-        return values.parallelStream()
-                .map(e -> parseJson(e, reference))
-                .collect(Collectors.toList());
+        return map(values, e -> parseJson(e, reference), parallel(values));
     }
 
     /**
@@ -173,9 +334,8 @@ public final class JacksonUtil {
         if (values == null) {
             return null;
         }
-        return values.parallelStream()
-                .map(e -> parseJson(e, tClass))
-                .collect(Collectors.toSet());
+        List<String> list = new ArrayList<>(values);
+        return new HashSet<>(map(list, e -> parseJson(e, tClass), parallel(list)));
     }
 
     /**
@@ -191,9 +351,487 @@ public final class JacksonUtil {
         if (values == null) {
             return null;
         }
-        return values.parallelStream()
-                .map(e -> parseJson(e, reference))
-                .collect(Collectors.toSet());
+        List<String> list = new ArrayList<>(values);
+        return new HashSet<>(map(list, e -> parseJson(e, reference), parallel(list)));
+    }
+
+    /**
+     * <p>Lazily deserialize json array elements from input stream</p>
+     * <p>流式反序列化json数组元素，按需逐个读取（内存占用与数据总量无关），关闭Stream时关闭输入流，需配合try-with-resources使用</p>
+     *
+     * @param in     json array input
+     * @param tClass element type class
+     * @return {@link Stream}<{@link T}>
+     */
+    public static <T> Stream<T> parseJsonStream(@NotNull InputStream in, @NotNull Class<T> tClass) {
+        try {
+            return stream(reader(tClass).readValues(in));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * <p>Lazily deserialize json array elements from input stream</p>
+     * <p>流式反序列化json数组元素，关闭Stream时关闭输入流</p>
+     *
+     * @param in        json array input
+     * @param reference element type reference
+     * @return {@link Stream}<{@link T}>
+     */
+    public static <T> Stream<T> parseJsonStream(@NotNull InputStream in, @NotNull TypeReference<T> reference) {
+        try {
+            return stream(reader(reference.getType()).readValues(in));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * <p>Lazily deserialize json array elements from reader</p>
+     * <p>流式反序列化json数组元素，关闭Stream时关闭Reader</p>
+     *
+     * @param in     json array reader
+     * @param tClass element type class
+     * @return {@link Stream}<{@link T}>
+     */
+    public static <T> Stream<T> parseJsonStream(@NotNull Reader in, @NotNull Class<T> tClass) {
+        try {
+            return stream(reader(tClass).readValues(in));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * <p>Lazily deserialize json array elements from reader</p>
+     * <p>流式反序列化json数组元素，关闭Stream时关闭Reader</p>
+     *
+     * @param in        json array reader
+     * @param reference element type reference
+     * @return {@link Stream}<{@link T}>
+     */
+    public static <T> Stream<T> parseJsonStream(@NotNull Reader in, @NotNull TypeReference<T> reference) {
+        try {
+            return stream(reader(reference.getType()).readValues(in));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * <p>Incrementally serialize values as json array to output stream</p>
+     * <p>流式序列化为json数组，逐个写出（内存占用与数据总量无关），写完后flush但不关闭输出流</p>
+     *
+     * @param out    output
+     * @param values values
+     */
+    public static void writeJsonStream(@NotNull OutputStream out, @NotNull Iterator<?> values) {
+        try {
+            writeArray(mapper.objectMapper.getFactory().createGenerator(out), values);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * <p>Incrementally serialize values as json array to writer</p>
+     * <p>流式序列化为json数组，写完后flush但不关闭Writer</p>
+     *
+     * @param out    writer
+     * @param values values
+     */
+    public static void writeJsonStream(@NotNull Writer out, @NotNull Iterator<?> values) {
+        try {
+            writeArray(mapper.objectMapper.getFactory().createGenerator(out), values);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * <p>Read value at json pointer path (e.g. /a/b/0) without binding the whole document</p>
+     * <p>按JSON Pointer路径（如 /a/b/0）读取值，单次遍历token流，跳过无关子树，找到后立即停止，不构建完整对象</p>
+     *
+     * @param json json
+     * @param path json pointer path, empty is whole document
+     * @return {@link JsonNode}, null if path not found
+     */
+    @Nullable
+    public static JsonNode readPath(String json, @NotNull String path) {
+        return json == null ? null : readPaths(json, List.of(path)).get(path);
+    }
+
+    /**
+     * <p>Read value at json pointer path and bind to type</p>
+     * <p>按JSON Pointer路径读取值并直接绑定为目标类型（仅绑定该子树）</p>
+     *
+     * @param json   json
+     * @param path   json pointer path, empty is whole document
+     * @param tClass target type class
+     * @return {@link T}, null if path not found
+     */
+    @Nullable
+    public static <T> T readPath(String json, @NotNull String path, @NotNull Class<T> tClass) {
+        if (json == null) {
+            return null;
+        }
+        ObjectReader reader = reader(tClass);
+        List<T> value = new ArrayList<>(1);
+        // typed by the reader, Class#cast rejects boxed values of primitive targets like int.class
+        extract(json, List.of(path), (parser, node) -> value.add(reader.<T>readValue(parser)));
+        return value.isEmpty() ? null : value.get(0);
+    }
+
+    /**
+     * <p>Read values at multiple json pointer paths in one pass</p>
+     * <p>单次遍历token流读取多个JSON Pointer路径的值，全部找到后立即停止</p>
+     *
+     * @param json  json
+     * @param paths json pointer paths
+     * @return path -> {@link JsonNode}, not found path is absent
+     */
+    public static Map<String, JsonNode> readPaths(@NotNull String json, @NotNull Collection<String> paths) {
+        Map<String, JsonNode> result = new HashMap<>(paths.size() * 2);
+        ObjectMapper objectMapper = mapper.objectMapper;
+        extract(json, paths, (parser, node) -> {
+            JsonNode tree = objectMapper.readTree(parser);
+            node.forEachPath((path, relative) -> {
+                JsonNode value = tree.at(relative);
+                if (!value.isMissingNode()) {
+                    result.put(path, value);
+                }
+            });
+        });
+        return result;
+    }
+
+    /**
+     * <p>Use the given mapper (e.g. the Spring MVC mapper bean) for all later calls</p>
+     * <p>切换为指定的ObjectMapper（如Spring MVC使用的ObjectMapper Bean），共享序列化器缓存与配置，已缓存的Reader/Writer随之失效</p>
+     *
+     * @param objectMapper object mapper
+     */
+    public static void use(@NotNull ObjectMapper objectMapper) {
+        if (mapper.objectMapper != objectMapper) {
+            mapper = new Mapper(objectMapper);
+        }
+    }
+
+    /**
+     * <p>Get current mapper</p>
+     * <p>获取当前使用的ObjectMapper</p>
+     *
+     * @return {@link ObjectMapper}
+     */
+    public static ObjectMapper getMapper() {
+        return mapper.objectMapper;
+    }
+
+    /**
+     * <p>Pre-build reader and writer (with root (de)serializer) of types</p>
+     * <p>预先构建类型的Reader与Writer（同时构建根序列化器/反序列化器），避免首次请求时的内省开销，无法处理的类型跳过</p>
+     *
+     * @param types types
+     * @return warmed type count
+     */
+    public static int warmUp(@NotNull Collection<Class<?>> types) {
+        int count = 0;
+        for (Class<?> type : types) {
+            try {
+                reader(type);
+                writer(type);
+                count++;
+            } catch (RuntimeException e) {
+                // not a (de)serializable type, e.g. missing creator
+            }
+        }
+        return count;
+    }
+
+    /**
+     * <p>Configure batch parallelism</p>
+     * <p>配置批量处理的并行策略，元素数量达到threshold或json总长度达到length时并行，executor为空时使用内置的守护线程池
+     * （首次使用时创建并一直复用），传入的executor由调用方负责关闭</p>
+     *
+     * @param threshold   minimum element to process in parallel, non-positive is never by size
+     * @param length      minimum total json length to deserialize in parallel, non-positive is never by length
+     * @param parallelism maximum parallel chunk
+     * @param executor    executor of parallel chunks
+     */
+    public static void configure(int threshold, long length, int parallelism, @Nullable ExecutorService executor) {
+        JacksonUtil.parallelThreshold = threshold > 0 ? threshold : Integer.MAX_VALUE;
+        JacksonUtil.parallelLength = length > 0 ? length : Long.MAX_VALUE;
+        JacksonUtil.parallelism = Math.max(1, parallelism);
+        JacksonUtil.executor = executor;
+    }
+
+    /**
+     * <p>Heap buffer is read in place, direct buffer through a stream view</p>
+     */
+    private static <T> T read(ObjectReader reader, ByteBuffer buffer) {
+        try {
+            if (buffer.hasArray()) {
+                return reader.readValue(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+            }
+            return reader.readValue(new ByteBufferBackedInputStream(buffer.duplicate()));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static void extract(String json, Collection<String> paths, PathCapture capture) {
+        PathMatcher matcher = new PathMatcher(paths);
+        try (JsonParser parser = mapper.objectMapper.getFactory().createParser(json)) {
+            if (parser.nextToken() != null) {
+                matcher.walk(parser, matcher.root, capture);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static <T> Stream<T> stream(MappingIterator<T> iterator) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+                .onClose(() -> {
+                    try {
+                        iterator.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    /**
+     * <p>Generator buffer is flushed when full, not after each element</p>
+     */
+    private static void writeArray(JsonGenerator generator, Iterator<?> values) throws IOException {
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        try (generator; SequenceWriter writer = mapper.objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE).writeValuesAsArray(generator)) {
+            while (values.hasNext()) {
+                writer.write(values.next());
+            }
+        }
+    }
+
+    private static ObjectReader reader(Type type) {
+        return mapper.reader(type);
+    }
+
+    private static ObjectWriter writer(Class<?> type) {
+        return mapper.writer(type);
+    }
+
+    /**
+     * <p>Deserializing is worth parallel when there are many values or large total json</p>
+     */
+    private static boolean parallel(List<String> values) {
+        int size = values.size();
+        if (size < 2) {
+            return false;
+        }
+        if (size >= parallelThreshold) {
+            return true;
+        }
+        long length = 0;
+        for (String value : values) {
+            if (value != null && (length += value.length()) >= parallelLength) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * <p>Map values in original order, parallel chunks run on the executor and the first chunk on caller thread</p>
+     */
+    @SuppressWarnings("unchecked")
+    private static <S, R> List<R> map(List<S> values, Function<S, R> mapper, boolean parallel) {
+        int size = values.size();
+        int chunks = parallel ? Math.min(parallelism + 1, (size + MIN_CHUNK - 1) / MIN_CHUNK) : 1;
+        if (chunks < 2) {
+            List<R> result = new ArrayList<>(size);
+            for (S value : values) {
+                result.add(mapper.apply(value));
+            }
+            return result;
+        }
+        Object[] result = new Object[size];
+        int chunkSize = (size + chunks - 1) / chunks;
+        ExecutorService pool = executor();
+        List<CompletableFuture<Void>> futures = new ArrayList<>(chunks - 1);
+        for (int start = chunkSize; start < size; start += chunkSize) {
+            int from = start, to = Math.min(size, start + chunkSize);
+            futures.add(CompletableFuture.runAsync(() -> {
+                for (int i = from; i < to; i++) {
+                    result[i] = mapper.apply(values.get(i));
+                }
+            }, pool));
+        }
+        for (int i = 0; i < chunkSize; i++) {
+            result[i] = mapper.apply(values.get(i));
+        }
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+        return new ArrayList<>((List<R>) Arrays.asList(result));
+    }
+
+    private static ExecutorService executor() {
+        ExecutorService pool = executor;
+        if (pool != null) {
+            return pool;
+        }
+        pool = builtInExecutor;
+        if (pool == null) {
+            synchronized (JacksonUtil.class) {
+                pool = builtInExecutor;
+                if (pool == null) {
+                    pool = Executors.newFixedThreadPool(parallelism, ThreadFactoryBuilder.create()
+                            .setNamePrefix("jackson-parallel-").setDaemon(true).build());
+                    builtInExecutor = pool;
+                }
+            }
+        }
+        return pool;
+    }
+
+    /**
+     * <p>Object mapper with its reader and writer cache</p>
+     */
+    private static final class Mapper {
+        private final ObjectMapper objectMapper;
+        /** target type -> reader */
+        private final Map<Type, ObjectReader> readers = new ConcurrentHashMap<>();
+        /** value class -> writer */
+        private final Map<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+        private Mapper(ObjectMapper objectMapper) {
+            this.objectMapper = objectMapper;
+        }
+
+        private ObjectReader reader(Type type) {
+            return readers.computeIfAbsent(type,
+                    t -> objectMapper.readerFor(objectMapper.getTypeFactory().constructType(t)));
+        }
+
+        private ObjectWriter writer(Class<?> type) {
+            return writers.computeIfAbsent(type, objectMapper::writerFor);
+        }
+    }
+
+    private interface PathCapture {
+        /**
+         * <p>Consume value of the matched node, parser at its first token</p>
+         */
+        void accept(JsonParser parser, PathNode node) throws IOException;
+    }
+
+    /**
+     * <p>Json pointer paths as a trie of property name / array index segments</p>
+     */
+    private static final class PathMatcher {
+        private final PathNode root = new PathNode(null);
+        private int remaining;
+
+        private PathMatcher(Collection<String> paths) {
+            for (String path : paths) {
+                PathNode node = root;
+                for (JsonPointer pointer = JsonPointer.compile(path); !pointer.matches(); pointer = pointer.tail()) {
+                    PathNode parent = node;
+                    node = node.children.computeIfAbsent(pointer.getMatchingProperty(), k -> new PathNode(parent));
+                }
+                if (!node.paths.contains(path)) {
+                    node.paths.add(path);
+                    remaining++;
+                }
+            }
+        }
+
+        /**
+         * <p>Parser at first token of current value, unmatched subtrees are skipped</p>
+         *
+         * @return all paths found
+         */
+        private boolean walk(JsonParser parser, PathNode node, PathCapture capture) throws IOException {
+            if (!node.paths.isEmpty()) {
+                capture.accept(parser, node);
+                remaining -= node.pathCount();
+                return remaining == 0;
+            }
+            JsonToken token = parser.currentToken();
+            if (token == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    PathNode child = node.children.remove(parser.currentName());
+                    parser.nextToken();
+                    if (child == null) {
+                        parser.skipChildren();
+                    } else if (walk(parser, child, capture)) {
+                        return true;
+                    }
+                }
+            } else if (token == JsonToken.START_ARRAY) {
+                int index = 0;
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    PathNode child = node.children.remove(String.valueOf(index++));
+                    if (child == null) {
+                        parser.skipChildren();
+                    } else if (walk(parser, child, capture)) {
+                        return true;
+                    }
+                }
+            }
+            // scalar value never matches a deeper path
+            return false;
+        }
+    }
+
+    private static final class PathNode {
+        @Nullable
+        private final PathNode parent;
+        /** segment -> child, removed once visited (duplicated property is ignored) */
+        private final Map<String, PathNode> children = new HashMap<>(4);
+        private final List<String> paths = new ArrayList<>(1);
+
+        private PathNode(@Nullable PathNode parent) {
+            this.parent = parent;
+        }
+
+        private int pathCount() {
+            int count = paths.size();
+            for (PathNode child : children.values()) {
+                count += child.pathCount();
+            }
+            return count;
+        }
+
+        /**
+         * <p>Paths of this node and its descendants, with pointer relative to this node</p>
+         */
+        private void forEachPath(BiConsumer<String, JsonPointer> action) {
+            int depth = 0;
+            for (PathNode node = parent; node != null; node = node.parent) {
+                depth++;
+            }
+            forEachPath(depth, action);
+        }
+
+        private void forEachPath(int depth, BiConsumer<String, JsonPointer> action) {
+            for (String path : paths) {
+                JsonPointer relative = JsonPointer.compile(path);
+                for (int i = 0; i < depth; i++) {
+                    relative = relative.tail();
+                }
+                action.accept(path, relative);
+            }
+            children.values().forEach(child -> child.forEachPath(depth, action));
+        }
     }
 }
 
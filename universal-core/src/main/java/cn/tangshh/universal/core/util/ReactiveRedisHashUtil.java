@@ -0,0 +1,284 @@
+package cn.tangshh.universal.core.util;
+
+
+import jakarta.validation.constraints.NotNull;
+import org.springframework.data.redis.core.ReactiveHashOperations;
+import org.springframework.data.redis.core.ScanOptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Reactive Redis Hash Util</p>
+ * <p>非阻塞Redis Hash类型工具</p>
+ *
+ * @author Tang
+ * @version v1.0
+ */
+public final class ReactiveRedisHashUtil extends ReactiveRedisUtil {
+    private final static ReactiveHashOperations<String, String, String> OPERATIONS;
+
+    static {
+        OPERATIONS = TEMPLATE.opsForHash();
+    }
+
+    private ReactiveRedisHashUtil() {
+    }
+
+    /**
+     * <p>Query hash key size</p>
+     * <p>查询Hash键数量</p>
+     *
+     * @param key key
+     * @return {@link Mono}<{@link Long}>
+     */
+    public static Mono<Long> size(@NotNull String key) {
+        return OPERATIONS.size(key);
+    }
+
+    /**
+     * <p>Is exist hash key</p>
+     * <p>是否存在Hash键</p>
+     *
+     * @param key     key
+     * @param hashKey hash key
+     * @return {@link Mono}<{@link Boolean}>
+     */
+    public static Mono<Boolean> hasKey(@NotNull String key, @NotNull Object hashKey) {
+        return OPERATIONS.hasKey(key, JacksonUtil.toJson(hashKey));
+    }
+
+    /**
+     * <p>Scan key by expression (* match anything)</p>
+     * <p>通过表达式查询键（*匹配任意内容），按需拉取游标，支持背压</p>
+     * <p>example: user:*,2023*,*09</p>
+     *
+     * @param key        key
+     * @param expression scan expression
+     * @return {@link Flux}<{@link Map.Entry}<{@link String}, {@link String}>>
+     */
+    public static Flux<Map.Entry<String, String>> scan(@NotNull String key, @NotNull String expression) {
+        return scan(key, expression, SCAN_COUNT);
+    }
+
+    /**
+     * <p>Scan key by expression (* match anything)</p>
+     * <p>通过表达式查询键（*匹配任意内容），按需拉取游标，支持背压</p>
+     *
+     * @param key        key
+     * @param expression scan expression
+     * @param count      count hint of each scan
+     * @return {@link Flux}<{@link Map.Entry}<{@link String}, {@link String}>>
+     */
+    public static Flux<Map.Entry<String, String>> scan(@NotNull String key, @NotNull String expression, long count) {
+        return OPERATIONS.scan(key, ScanOptions.scanOptions().match(expression).count(count).build());
+    }
+
+    /**
+     * <p>Get all hash key</p>
+     * <p>获取全部Hash键</p>
+     *
+     * @param key key
+     * @return {@link Flux}<{@link String}>
+     */
+    public static Flux<String> keys(@NotNull String key) {
+        return OPERATIONS.keys(key);
+    }
+
+    /**
+     * <p>Get hash value</p>
+     * <p>获取Hash值</p>
+     *
+     * @param key     key
+     * @param hashKey hash key
+     * @return {@link Mono}<{@link String}>
+     */
+    public static Mono<String> get(@NotNull String key, @NotNull Object hashKey) {
+        return OPERATIONS.get(key, JacksonUtil.toJson(hashKey));
+    }
+
+    /**
+     * <p>Get hash value and deserialize json</p>
+     * <p>获取Hash值并反序列化</p>
+     *
+     * @param key     key
+     * @param hashKey hash key
+     * @param tClass  target type class
+     * @return {@link Mono}<{@link T}>
+     */
+    public static <T> Mono<T> get(@NotNull String key, @NotNull Object hashKey, @NotNull Class<T> tClass) {
+        return get(key, hashKey).mapNotNull(e -> JacksonUtil.parseJson(e, tClass));
+    }
+
+    /**
+     * <p>Get multiple hash value</p>
+     * <p>获取获取多个Hash值</p>
+     *
+     * @param key      key
+     * @param hashKeys hash key
+     * @return {@link Mono}<{@link List}<{@link String}>>
+     */
+    public static Mono<List<String>> multiGet(@NotNull String key, @NotNull Collection<Object> hashKeys) {
+        return OPERATIONS.multiGet(key, JacksonUtil.toJsons(hashKeys));
+    }
+
+    /**
+     * <p>Get all key-value</p>
+     * <p>获取全部键值对</p>
+     *
+     * @param key key
+     * @return {@link Flux}<{@link Map.Entry}<{@link String}, {@link String}>>
+     */
+    public static Flux<Map.Entry<String, String>> entries(@NotNull String key) {
+        return OPERATIONS.entries(key);
+    }
+
+    /**
+     * <p>Get all hash value</p>
+     * <p>获取全部Hash值</p>
+     *
+     * @param key key
+     * @return {@link Flux}<{@link String}>
+     */
+    public static Flux<String> values(@NotNull String key) {
+        return OPERATIONS.values(key);
+    }
+
+    /**
+     * <p>Add hash value</p>
+     * <p>添加Hash值</p>
+     *
+     * @param key       key
+     * @param hashKey   hash key
+     * @param hashValue hash value
+     * @return {@link Mono}<{@link Boolean}>
+     */
+    public static Mono<Boolean> put(@NotNull String key, @NotNull Object hashKey, Object hashValue) {
+        return invalidate(OPERATIONS.put(key, JacksonUtil.toJson(hashKey), JacksonUtil.toJson(hashValue)), key);
+    }
+
+    /**
+     * <p>Batch add key-value</p>
+     * <p>批量添加键值对</p>
+     *
+     * @param key key
+     * @param map key-value
+     * @return {@link Mono}<{@link Boolean}>
+     */
+    public static Mono<Boolean> put(@NotNull String key, @NotNull Map<Object, Object> map) {
+        return invalidate(OPERATIONS.putAll(key, JacksonUtil.toJsons(map)), key);
+    }
+
+    /**
+     * <p>If hash key not exist then add</p>
+     * <p>如果Hash值不存在则添加</p>
+     *
+     * @param key       key
+     * @param hashKey   hash key
+     * @param hashValue hash value
+     * @return {@link Mono}<{@link Boolean}>
+     */
+    public static Mono<Boolean> putNx(@NotNull String key, @NotNull Object hashKey, Object hashValue) {
+        return invalidate(OPERATIONS.putIfAbsent(key, JacksonUtil.toJson(hashKey), JacksonUtil.toJson(hashValue)),
+                key);
+    }
+
+    /**
+     * <p>Hash value increment</p>
+     * <p>Hash值自增</p>
+     *
+     * @param key     key
+     * @param hashKey hash key
+     * @return {@link Mono}<{@link Long}>
+     */
+    public static Mono<Long> increment(@NotNull String key, @NotNull Object hashKey) {
+        return increment(key, hashKey, 1);
+    }
+
+    /**
+     * <p>Hash value increment</p>
+     * <p>Hash值自增</p>
+     *
+     * @param key       key
+     * @param hashKey   hash key
+     * @param increment increment
+     * @return {@link Mono}<{@link Long}>
+     */
+    public static Mono<Long> increment(@NotNull String key, @NotNull Object hashKey, long increment) {
+        return invalidate(OPERATIONS.increment(key, JacksonUtil.toJson(hashKey), increment), key);
+    }
+
+    /**
+     * <p>Hash value increment</p>
+     * <p>Hash值自增</p>
+     *
+     * @param key       key
+     * @param hashKey   hash key
+     * @param increment increment
+     * @return {@link Mono}<{@link Double}>
+     */
+    public static Mono<Double> increment(@NotNull String key, @NotNull Object hashKey, double increment) {
+        return invalidate(OPERATIONS.increment(key, JacksonUtil.toJson(hashKey), increment), key);
+    }
+
+    /**
+     * <p>Random get a hash key</p>
+     * <p>随机获取一个Hash键</p>
+     *
+     * @param key key
+     * @return {@link Mono}<{@link String}>
+     */
+    public static Mono<String> randomKey(@NotNull String key) {
+        return OPERATIONS.randomKey(key);
+    }
+
+    /**
+     * <p>Random get multiple hash key</p>
+     * <p>随机获取多个Hash键</p>
+     *
+     * @param key   key
+     * @param count count
+     * @return {@link Flux}<{@link String}>
+     */
+    public static Flux<String> randomKeys(@NotNull String key, long count) {
+        return OPERATIONS.randomKeys(key, count);
+    }
+
+    /**
+     * <p>Random get a key-value</p>
+     * <p>随机获取一个键值对</p>
+     *
+     * @param key key
+     * @return {@link Mono}<{@link Map.Entry}<{@link String}, {@link String}>>
+     */
+    public static Mono<Map.Entry<String, String>> randomEntry(@NotNull String key) {
+        return OPERATIONS.randomEntry(key);
+    }
+
+    /**
+     * <p>Random get multiple key-value</p>
+     * <p>随机获取多个键值对</p>
+     *
+     * @param key   key
+     * @param count count
+     * @return {@link Flux}<{@link Map.Entry}<{@link String}, {@link String}>>
+     */
+    public static Flux<Map.Entry<String, String>> randomEntries(@NotNull String key, long count) {
+        return OPERATIONS.randomEntries(key, count);
+    }
+
+    /**
+     * <p>Delete multiple hash value</p>
+     * <p>删除多个Hash值</p>
+     *
+     * @param key      key
+     * @param hashKeys hash key
+     * @return {@link Mono}<{@link Long}>
+     */
+    public static Mono<Long> delete(@NotNull String key, Object... hashKeys) {
+        return invalidate(OPERATIONS.remove(key, (Object[]) JacksonUtil.toJson(hashKeys)), key);
+    }
+}
@@ -0,0 +1,346 @@
+package cn.tangshh.universal.core.util;
+
+
+import jakarta.validation.constraints.NotNull;
+import org.springframework.data.redis.core.ReactiveListOperations;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collection;
+
+/**
+ * <p>Reactive Redis List Util</p>
+ * <p>非阻塞Redis List类型工具</p>
+ *
+ * @author Tang
+ * @version v1.0
+ */
+public final class ReactiveRedisListUtil extends ReactiveRedisUtil {
+    /** default page size of paged range */
+    private final static int PAGE_SIZE = 500;
+    private final static ReactiveListOperations<String, String> OPERATIONS;
+
+    static {
+        OPERATIONS = TEMPLATE.opsForList();
+    }
+
+    private ReactiveRedisListUtil() {
+    }
+
+    /**
+     * <p>Query list size</p>
+     * <p>查询列表元素数量</p>
+     *
+     * @param key key
+     * @return {@link Mono}<{@link Long}>
+     */
+    public static Mono<Long> size(@NotNull String key) {
+        return OPERATIONS.size(key);
+    }
+
+    /**
+     * <p>Query value by index</p>
+     * <p>通过索引查询值</p>
+     *
+     * @param key   key
+     * @param index index
+     * @return {@link Mono}<{@link String}>
+     */
+    public static Mono<String> index(@NotNull String key, long index) {
+        return OPERATIONS.index(key, index);
+    }
+
+    /**
+     * <p>The index position of the first occurrence of the query value</p>
+     * <p>查询值第一次出现的索引位置</p>
+     *
+     * @param key   key
+     * @param value value
+     * @return {@link Mono}<{@link Long}>
+     */
+    public static Mono<Long> indexOf(@NotNull String key, @NotNull Object value) {
+        return OPERATIONS.indexOf(key, JacksonUtil.toJson(value));
+    }
+
+    /**
+     * <p>The index position of the last occurrence of the query value</p>
+     * <p>查询值最后一次出现的索引位置</p>
+     *
+     * @param key   key
+     * @param value value
+     * @return {@link Mono}<{@link Long}>
+     */
+    public static Mono<Long> lastIndexOf(@NotNull String key, @NotNull Object value) {
+        return OPERATIONS.lastIndexOf(key, JacksonUtil.toJson(value));
+    }
+
+    /**
+     * <p>Query all value page by page</p>
+     * <p>分页拉取全部值，下游请求时才读取下一页（背压）</p>
+     *
+     * @param key key
+     * @return {@link Flux}<{@link String}>
+     */
+    public static Flux<String> rangeAll(@NotNull String key) {
+        return rangeAll(key, PAGE_SIZE);
+    }
+
+    /**
+     * <p>Query all value page by page</p>
+     * <p>分页拉取全部值，下游请求时才读取下一页（背压）</p>
+     *
+     * @param key      key
+     * @param pageSize page size of each LRANGE
+     * @return {@link Flux}<{@link String}>
+     */
+    public static Flux<String> rangeAll(@NotNull String key, int pageSize) {
+        return page(key, 0, pageSize);
+    }
+
+    /**
+     * <p>Query values within range</p>
+     * <p>查询范围内的值</p>
+     *
+     * @param key   key
+     * @param start start index
+     * @param end   end index
+     * @return {@link Flux}<{@link String}>
+     */
+    public static Flux<String> range(@NotNull String key, long start, long end) {
+        return OPERATIONS.range(key, start, end);
+    }
+
+    /**
+     * <p>Query values within range and deserialize json</p>
+     * <p>查询范围内的值并反序列化</p>
+     *
+     * @param key    key
+     * @param start  start index
+     * @param end    end index
+     * @param tClass target type class
+     * @return {@link Flux}<{@link T}>
+     */
+    public static <T> Flux<T> range(@NotNull String key, long start, long end, @NotNull Class<T> tClass) {
+        return range(key, start, end).mapNotNull(e -> JacksonUtil.parseJson(e, tClass));
+    }
+
+    /**
+     * <p>Remove values outside of range</p>
+     * <p>移除超出范围的值</p>
+     *
+     * @param key   key
+     * @param start start index
+     * @param end   end index
+     * @return {@link Mono}<{@link Boolean}>
+     */
+    public static Mono<Boolean> trim(@NotNull String key, long start, long end) {
+        return OPERATIONS.trim(key, start, end);
+    }
+
+    /**
+     * <p>Remove a value</p>
+     * <p>删除一个值</p>
+     *
+     * @param key   key
+     * @param value value
+     * @return {@link Mono}<{@link Long}>
+     */
+    public static Mono<Long> remove(@NotNull String key, Object value) {
+        return remove(key, value, 1);
+    }
+
+    /**
+     * <p>Remove multiple value</p>
+     * <p>删除多个值</p>
+     *
+     * @param key   key
+     * @param value value
+     * @param count count
+     * @return {@link Mono}<{@link Long}>
+     */
+    public static Mono<Long> remove(@NotNull String key, Object value, long count) {
+        return OPERATIONS.remove(key, count, JacksonUtil.toJson(value));
+    }
+
+    /**
+     * <p>Add value to index</p>
+     * <p>添加值到索引</p>
+     *
+     * @param key   key
+     * @param index index
+     * @param value value
+     * @return {@link Mono}<{@link Boolean}>
+     */
+    public static Mono<Boolean> set(@NotNull String key, long index, Object value) {
+        return OPERATIONS.set(key, index, JacksonUtil.toJson(value));
+    }
+
+    /**
+     * <p>Left push a value</p>
+     * <p>左侧推入一个值</p>
+     *
+     * @param key   key
+     * @param value value
+     * @return {@link Mono}<{@link Long}>
+     */
+    public static Mono<Long> lPush(@NotNull String key, Object value) {
+        return OPERATIONS.leftPush(key, JacksonUtil.toJson(value));
+    }
+
+    /**
+     * <p>Left push multiple value</p>
+     * <p>左侧推入多个值</p>
+     *
+     * @param key    key
+     * @param values values
+     * @return {@link Mono}<{@link Long}>
+     */
+    public static Mono<Long> lPush(@NotNull String key, @NotNull Object... values) {
+        return OPERATIONS.leftPushAll(key, JacksonUtil.toJson(values));
+    }
+
+    /**
+     * <p>Left push multiple value</p>
+     * <p>左侧推入多个值</p>
+     *
+     * @param key    key
+     * @param values values
+     * @return {@link Mono}<{@link Long}>
+     */
+    public static Mono<Long> lPush(@NotNull String key, @NotNull Collection<Object> values) {
+        return OPERATIONS.leftPushAll(key, JacksonUtil.toJsons(values));
+    }
+
+    /**
+     * <p>If key exist then left push a value</p>
+     * <p>如果键存在则左侧推入一个值</p>
+     *
+     * @param key   key
+     * @param value value
+     * @return {@link Mono}<{@link Long}>
+     */
+    public static Mono<Long> lPushNx(@NotNull String key, Object value) {
+        return OPERATIONS.leftPushIfPresent(key, JacksonUtil.toJson(value));
+    }
+
+    /**
+     * <p>Left pop a value</p>
+     * <p>左侧弹出一个值</p>
+     *
+     * @param key key
+     * @return {@link Mono}<{@link String}>
+     */
+    public static Mono<String> lPop(@NotNull String key) {
+        return OPERATIONS.leftPop(key);
+    }
+
+    /**
+     * <p>Left pop a value, wait until element present or timeout</p>
+     * <p>左侧弹出一个值，无值时等待（不占用线程）</p>
+     *
+     * @param key      key
+     * @param duration max wait time
+     * @return {@link Mono}<{@link String}>
+     */
+    public static Mono<String> lPop(@NotNull String key, @NotNull Duration duration) {
+        return OPERATIONS.leftPop(key, duration);
+    }
+
+    /**
+     * <p>Right push a value</p>
+     * <p>右侧推入一个值</p>
+     *
+     * @param key   key
+     * @param value value
+     * @return {@link Mono}<{@link Long}>
+     */
+    public static Mono<Long> rPush(@NotNull String key, Object value) {
+        return OPERATIONS.rightPush(key, JacksonUtil.toJson(value));
+    }
+
+    /**
+     * <p>Right push multiple value</p>
+     * <p>右侧推入多个值</p>
+     *
+     * @param key    key
+     * @param values values
+     * @return {@link Mono}<{@link Long}>
+     */
+    public static Mono<Long> rPush(@NotNull String key, @NotNull Collection<Object> values) {
+        return OPERATIONS.rightPushAll(key, JacksonUtil.toJsons(values));
+    }
+
+    /**
+     * <p>If key exist then right push a value</p>
+     * <p>如果键存在则右侧推入一个值</p>
+     *
+     * @param key   key
+     * @param value value
+     * @return {@link Mono}<{@link Long}>
+     */
+    public static Mono<Long> rPushNx(@NotNull String key, Object value) {
+        return OPERATIONS.rightPushIfPresent(key, JacksonUtil.toJson(value));
+    }
+
+    /**
+     * <p>Right pop a value</p>
+     * <p>右侧弹出一个值</p>
+     *
+     * @param key key
+     * @return {@link Mono}<{@link String}>
+     */
+    public static Mono<String> rPop(@NotNull String key) {
+        return OPERATIONS.rightPop(key);
+    }
+
+    /**
+     * <p>Right pop a value, wait until element present or timeout</p>
+     * <p>右侧弹出一个值，无值时等待（不占用线程）</p>
+     *
+     * @param key      key
+     * @param duration max wait time
+     * @return {@link Mono}<{@link String}>
+     */
+    public static Mono<String> rPop(@NotNull String key, @NotNull Duration duration) {
+        return OPERATIONS.rightPop(key, duration);
+    }
+
+    /**
+     * <p>Right pop a value from source and left push it to destination</p>
+     * <p>从源列表右侧弹出一个值并推入目标列表左侧</p>
+     *
+     * @param sourceKey      source key
+     * @param destinationKey destination key
+     * @return {@link Mono}<{@link String}>
+     */
+    public static Mono<String> rPopLeftPush(@NotNull String sourceKey, @NotNull String destinationKey) {
+        return OPERATIONS.rightPopAndLeftPush(sourceKey, destinationKey);
+    }
+
+    /**
+     * <p>Right pop a value from source and left push it to destination</p>
+     * <p>从源列表右侧弹出一个值并推入目标列表左侧</p>
+     *
+     * @param sourceKey      source key
+     * @param destinationKey destination key
+     * @param duration       max wait time
+     * @return {@link Mono}<{@link String}>
+     */
+    public static Mono<String> rPopLeftPush(@NotNull String sourceKey, @NotNull String destinationKey, @NotNull Duration duration) {
+        return OPERATIONS.rightPopAndLeftPush(sourceKey, destinationKey, duration);
+    }
+
+    private static Flux<String> page(String key, long start, int pageSize) {
+        return OPERATIONS.range(key, start, start + pageSize - 1)
+                .collectList()
+                .flatMapMany(list -> {
+                    Flux<String> current = Flux.fromIterable(list);
+                    if (list.size() < pageSize) {
+                        return current;
+                    }
+                    // next page is subscribed only after current page consumed
+                    return current.concatWith(Flux.defer(() -> page(key, start + pageSize, pageSize)));
+                });
+    }
+}
@@ -0,0 +1,364 @@
+package cn.tangshh.universal.core.util;
+
+
+import jakarta.validation.constraints.NotNull;
+import org.springframework.data.redis.core.ReactiveSetOperations;
+import org.springframework.data.redis.core.ScanOptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+/**
+ * <p>Reactive Redis Set Util</p>
+ * <p>非阻塞Redis Set类型工具</p>
+ *
+ * @author Tang
+ * @version v1.0
+ */
+public final class ReactiveRedisSetUtil extends ReactiveRedisUtil {
+    private final static ReactiveSetOperations<String, String> OPERATIONS;
+
+    static {
+        OPERATIONS = TEMPLATE.opsForSet();
+    }
+
+    private ReactiveRedisSetUtil() {
+    }
+
+    /**
+     * <p>Query set size</p>
+     * <p>查询集合元素数量</p>
+     *
+     * @param key key
+     * @return {@link Mono}<{@link Long}>
+     */
+    public static Mono<Long> size(@NotNull String key) {
+        return OPERATIONS.size(key);
+    }
+
+    /**
+     * <p>Is exist value</p>
+     * <p>是否存在值</p>
+     *
+     * @param key   key
+     * @param value value
+     * @return {@link Mono}<{@link Boolean}>
+     */
+    public static Mono<Boolean> exist(@NotNull String key, @NotNull Object value) {
+        return OPERATIONS.isMember(key, JacksonUtil.toJson(value));
+    }
+
+    /**
+     * <p>Scan key by expression (* match anything)</p>
+     * <p>通过表达式查询键（*匹配任意内容），按需拉取游标，支持背压</p>
+     * <p>example: user:*,2023*,*09</p>
+     *
+     * @param key        key
+     * @param expression expression
+     * @return {@link Flux}<{@link String}>
+     */
+    public static Flux<String> scan(@NotNull String key, @NotNull String expression) {
+        return scan(key, expression, SCAN_COUNT);
+    }
+
+    /**
+     * <p>Scan key by expression (* match anything)</p>
+     * <p>通过表达式查询键（*匹配任意内容），按需拉取游标，支持背压</p>
+     *
+     * @param key        key
+     * @param expression expression
+     * @param count      count hint of each scan
+     * @return {@link Flux}<{@link String}>
+     */
+    public static Flux<String> scan(@NotNull String key, @NotNull String expression, long count) {
+        return OPERATIONS.scan(key, ScanOptions.scanOptions().match(expression).count(count).build());
+    }
+
+    /**
+     * <p>Add multiple value</p>
+     * <p>添加多个值</p>
+     *
+     * @param key    key
+     * @param values value
+     * @return {@link Mono}<{@link Long}>
+     */
+    public static Mono<Long> add(@NotNull String key, @NotNull Object... values) {
+        return OPERATIONS.add(key, JacksonUtil.toJson(values));
+    }
+
+    /**
+     * <p>Remove multiple value</p>
+     * <p>删除多个值</p>
+     *
+     * @param key    key
+     * @param values value
+     * @return {@link Mono}<{@link Long}>
+     */
+    public static Mono<Long> remove(@NotNull String key, @NotNull Object... values) {
+        return OPERATIONS.remove(key, (Object[]) JacksonUtil.toJson(values));
+    }
+
+    /**
+     * <p>Get the difference with another set of values</p>
+     * <p>获取与另一组值的差集</p>
+     *
+     * @param key      key
+     * @param otherKey contrast key
+     * @return {@link Flux}<{@link String}>
+     */
+    public static Flux<String> difference(@NotNull String key, @NotNull String otherKey) {
+        return OPERATIONS.difference(key, otherKey);
+    }
+
+    /**
+     * <p>Get the difference with other multiple sets of values</p>
+     * <p>获取与其他多组值的差集</p>
+     *
+     * @param key       key
+     * @param otherKeys other key
+     * @return {@link Flux}<{@link String}>
+     */
+    public static Flux<String> difference(@NotNull String key, @NotNull Collection<String> otherKeys) {
+        return OPERATIONS.difference(key, otherKeys);
+    }
+
+    /**
+     * <p>Get the difference set of multiple sets of values</p>
+     * <p>获取多组值的差集</p>
+     *
+     * @param keys keys
+     * @return {@link Flux}<{@link String}>
+     */
+    public static Flux<String> difference(@NotNull Collection<String> keys) {
+        return OPERATIONS.difference(keys);
+    }
+
+    /**
+     * <p>Get the difference with another set of values and store it in a new key</p>
+     * <p>获取与另一组值的差集，并存储到新键</p>
+     *
+     * @param key      key
+     * @param otherKey other key
+     * @param storeKey new key
+     * @return {@link Mono}<{@link Long}>
+     */
+    public static Mono<Long> differenceAndStore(@NotNull String key, @NotNull String otherKey, @NotNull String storeKey) {
+        return OPERATIONS.differenceAndStore(key, otherKey, storeKey);
+    }
+
+    /**
+     * <p>Get the difference set of multiple sets of values and store it in a new key</p>
+     * <p>获取多组值的差集，并存储到新键</p>
+     *
+     * @param keys     keys
+     * @param storeKey new key
+     * @return {@link Mono}<{@link Long}>
+     */
+    public static Mono<Long> differenceAndStore(@NotNull Collection<String> keys, @NotNull String storeKey) {
+        return OPERATIONS.differenceAndStore(keys, storeKey);
+    }
+
+    /**
+     * <p>Get the intersect with another set of values</p>
+     * <p>获取与另一组值的交集</p>
+     *
+     * @param key      key
+     * @param otherKey other key
+     * @return {@link Flux}<{@link String}>
+     */
+    public static Flux<String> intersect(@NotNull String key, @NotNull String otherKey) {
+        return OPERATIONS.intersect(key, otherKey);
+    }
+
+    /**
+     * <p>Get the intersect with other multiple sets of values</p>
+     * <p>获取与其他多组值的交集</p>
+     *
+     * @param key       key
+     * @param otherKeys other key
+     * @return {@link Flux}<{@link String}>
+     */
+    public static Flux<String> intersect(@NotNull String key, @NotNull Collection<String> otherKeys) {
+        return OPERATIONS.intersect(key, otherKeys);
+    }
+
+    /**
+     * <p>Get the intersect set of multiple sets of values</p>
+     * <p>获取多组值的交集</p>
+     *
+     * @param keys keys
+     * @return {@link Flux}<{@link String}>
+     */
+    public static Flux<String> intersect(@NotNull Collection<String> keys) {
+        return OPERATIONS.intersect(keys);
+    }
+
+    /**
+     * <p>Get the intersect with another set of values and store it in a new key</p>
+     * <p>获取与另一组值的交集，并存储到新键</p>
+     *
+     * @param key      key
+     * @param otherKey other key
+     * @param storeKey new key
+     * @return {@link Mono}<{@link Long}>
+     */
+    public static Mono<Long> intersectAndStore(@NotNull String key, @NotNull String otherKey, @NotNull String storeKey) {
+        return OPERATIONS.intersectAndStore(key, otherKey, storeKey);
+    }
+
+    /**
+     * <p>Get the intersect set of multiple sets of values and store it in a new key</p>
+     * <p>获取多组值的交集，并存储到新键</p>
+     *
+     * @param keys     keys
+     * @param storeKey new key
+     * @return {@link Mono}<{@link Long}>
+     */
+    public static Mono<Long> intersectAndStore(@NotNull Collection<String> keys, @NotNull String storeKey) {
+        return OPERATIONS.intersectAndStore(keys, storeKey);
+    }
+
+    /**
+     * <p>Get the union with another set of values</p>
+     * <p>获取与另一组值的并集</p>
+     *
+     * @param key      key
+     * @param otherKey other key
+     * @return {@link Flux}<{@link String}>
+     */
+    public static Flux<String> union(@NotNull String key, @NotNull String otherKey) {
+        return OPERATIONS.union(key, otherKey);
+    }
+
+    /**
+     * <p>Get the union with other multiple sets of values</p>
+     * <p>获取与其他多组值的并集</p>
+     *
+     * @param key       key
+     * @param otherKeys other key
+     * @return {@link Flux}<{@link String}>
+     */
+    public static Flux<String> union(@NotNull String key, @NotNull Collection<String> otherKeys) {
+        return OPERATIONS.union(key, otherKeys);
+    }
+
+    /**
+     * <p>Get the union set of multiple sets of values</p>
+     * <p>获取多组值的并集</p>
+     *
+     * @param keys keys
+     * @return {@link Flux}<{@link String}>
+     */
+    public static Flux<String> union(@NotNull Collection<String> keys) {
+        return OPERATIONS.union(keys);
+    }
+
+    /**
+     * <p>Get the union with another set of values and store it in a new key</p>
+     * <p>获取与另一组值的并集，并存储到新键</p>
+     *
+     * @param key      key
+     * @param otherKey other key
+     * @param storeKey new key
+     * @return {@link Mono}<{@link Long}>
+     */
+    public static Mono<Long> unionAndStore(@NotNull String key, @NotNull String otherKey, @NotNull String storeKey) {
+        return OPERATIONS.unionAndStore(key, otherKey, storeKey);
+    }
+
+    /**
+     * <p>Get the union set of multiple sets of values and store it in a new key</p>
+     * <p>获取多组值的并集，并存储到新键</p>
+     *
+     * @param keys     key
+     * @param storeKey new key
+     * @return {@link Mono}<{@link Long}>
+     */
+    public static Mono<Long> unionAndStore(@NotNull Collection<String> keys, @NotNull String storeKey) {
+        return OPERATIONS.unionAndStore(keys, storeKey);
+    }
+
+    /**
+     * <p>Random pop a value</p>
+     * <p>随机弹出一个值</p>
+     *
+     * @param key key
+     * @return {@link Mono}<{@link String}>
+     */
+    public static Mono<String> pop(@NotNull String key) {
+        return OPERATIONS.pop(key);
+    }
+
+    /**
+     * <p>Random pop multiple value</p>
+     * <p>随机弹出多个值</p>
+     *
+     * @param key   key
+     * @param count count
+     * @return {@link Flux}<{@link String}>
+     */
+    public static Flux<String> pop(@NotNull String key, long count) {
+        return OPERATIONS.pop(key, count);
+    }
+
+    /**
+     * <p>Random get a value</p>
+     * <p>随机获取一个值</p>
+     *
+     * @param key key
+     * @return {@link Mono}<{@link String}>
+     */
+    public static Mono<String> randomMember(@NotNull String key) {
+        return OPERATIONS.randomMember(key);
+    }
+
+    /**
+     * <p>Random get multiple value</p>
+     * <p>随机获取多个值</p>
+     *
+     * @param key   key
+     * @param count count
+     * @return {@link Flux}<{@link String}>
+     */
+    public static Flux<String> randomMembers(@NotNull String key, long count) {
+        return OPERATIONS.randomMembers(key, count);
+    }
+
+    /**
+     * <p>Random get multiple different value</p>
+     * <p>随机获取多个不同的值</p>
+     *
+     * @param key   key
+     * @param count count
+     * @return {@link Flux}<{@link String}>
+     */
+    public static Flux<String> distinctRandomMembers(@NotNull String key, long count) {
+        return OPERATIONS.distinctRandomMembers(key, count);
+    }
+
+    /**
+     * <p>Get all values</p>
+     * <p>获取所有值</p>
+     * <p>ps: 大集合请使用 {@link #scan(String, String, long)} 以获得背压</p>
+     *
+     * @param key key
+     * @return {@link Flux}<{@link String}>
+     */
+    public static Flux<String> members(@NotNull String key) {
+        return OPERATIONS.members(key);
+    }
+
+    /**
+     * <p>Move value to new key</p>
+     * <p>移动值到新键</p>
+     *
+     * @param key    key
+     * @param value  value
+     * @param newKey new key
+     * @return {@link Mono}<{@link Boolean}>
+     */
+    public static Mono<Boolean> move(@NotNull String key, Object value, @NotNull String newKey) {
+        return OPERATIONS.move(key, JacksonUtil.toJson(value), newKey);
+    }
+}
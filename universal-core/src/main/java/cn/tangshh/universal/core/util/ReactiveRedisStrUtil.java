@@ -0,0 +1,265 @@
+package cn.tangshh.universal.core.util;
+
+
+import jakarta.validation.constraints.NotNull;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Reactive Redis String Util</p>
+ * <p>非阻塞Redis String类型工具</p>
+ *
+ * @author Tang
+ * @version v1.0
+ */
+public final class ReactiveRedisStrUtil extends ReactiveRedisUtil {
+    private final static ReactiveValueOperations<String, String> OPERATIONS;
+
+    static {
+        OPERATIONS = TEMPLATE.opsForValue();
+    }
+
+    private ReactiveRedisStrUtil() {
+    }
+
+    /**
+     * <p>Append value</p>
+     * <p>追加值</p>
+     *
+     * @param key   key
+     * @param value value
+     * @return {@link Mono}<{@link Long}>
+     */
+    public static Mono<Long> append(@NotNull String key, String value) {
+        return invalidate(OPERATIONS.append(key, value), key);
+    }
+
+    /**
+     * <p>Value increment</p>
+     * <p>值自增</p>
+     *
+     * @param key       key
+     * @param increment increment
+     * @return {@link Mono}<{@link Double}>
+     */
+    public static Mono<Double> incr(@NotNull String key, double increment) {
+        return invalidate(OPERATIONS.increment(key, increment), key);
+    }
+
+    /**
+     * <p>Value increment</p>
+     * <p>值自增</p>
+     *
+     * @param key       key
+     * @param increment increment
+     * @return {@link Mono}<{@link Long}>
+     */
+    public static Mono<Long> incr(@NotNull String key, long increment) {
+        return invalidate(OPERATIONS.increment(key, increment), key);
+    }
+
+    /**
+     * <p>Value increment</p>
+     * <p>值自增</p>
+     *
+     * @param key key
+     * @return {@link Mono}<{@link Long}>
+     */
+    public static Mono<Long> incr(@NotNull String key) {
+        return incr(key, 1);
+    }
+
+    /**
+     * <p>Value decrement</p>
+     * <p>值自减</p>
+     *
+     * @param key       key
+     * @param decrement decrement
+     * @return {@link Mono}<{@link Long}>
+     */
+    public static Mono<Long> decr(@NotNull String key, long decrement) {
+        return invalidate(OPERATIONS.decrement(key, decrement), key);
+    }
+
+    /**
+     * <p>Value decrement</p>
+     * <p>值自减</p>
+     *
+     * @param key key
+     * @return {@link Mono}<{@link Long}>
+     */
+    public static Mono<Long> decr(@NotNull String key) {
+        return decr(key, 1);
+    }
+
+    /**
+     * Set value
+     *
+     * @param key   key
+     * @param value value
+     * @return {@link Mono}<{@link Boolean}>
+     */
+    public static Mono<Boolean> set(@NotNull String key, Object value) {
+        return invalidate(OPERATIONS.set(key, JacksonUtil.toJson(value)), key);
+    }
+
+    /**
+     * Set value and valid time
+     *
+     * @param key       key
+     * @param value     value
+     * @param validTime valid time (sec)
+     * @return {@link Mono}<{@link Boolean}>
+     */
+    public static Mono<Boolean> setEx(@NotNull String key, Object value, long validTime) {
+        return setEx(key, value, validTime, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Set value and valid time
+     *
+     * @param key       key
+     * @param value     value
+     * @param validTime valid time
+     * @param unit      unit
+     * @return {@link Mono}<{@link Boolean}>
+     */
+    public static Mono<Boolean> setEx(@NotNull String key, Object value, long validTime, @NotNull TimeUnit unit) {
+        if (validTime > 0) {
+            return setEx(key, value, Duration.ofMillis(unit.toMillis(validTime)));
+        }
+        return Mono.just(false);
+    }
+
+    /**
+     * Set value and valid time
+     *
+     * @param key     key
+     * @param value   value
+     * @param timeout valid time
+     * @return {@link Mono}<{@link Boolean}>
+     */
+    public static Mono<Boolean> setEx(@NotNull String key, Object value, @NotNull Duration timeout) {
+        return invalidate(OPERATIONS.set(key, JacksonUtil.toJson(value), timeout), key);
+    }
+
+    /**
+     * Set value if not exist key
+     *
+     * @param key   key
+     * @param value value
+     * @return {@link Mono}<{@link Boolean}>
+     */
+    public static Mono<Boolean> setNx(@NotNull String key, Object value) {
+        return invalidate(OPERATIONS.setIfAbsent(key, JacksonUtil.toJson(value)), key);
+    }
+
+    /**
+     * Set value and valid time if not exist key
+     *
+     * @param key       key
+     * @param value     value
+     * @param validTime valid time (sec)
+     * @return {@link Mono}<{@link Boolean}>
+     */
+    public static Mono<Boolean> setNx(@NotNull String key, Object value, long validTime) {
+        return setNx(key, value, validTime, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Set value and valid time if not exist key
+     *
+     * @param key       key
+     * @param value     value
+     * @param validTime valid time
+     * @param unit      unit
+     * @return {@link Mono}<{@link Boolean}>
+     */
+    public static Mono<Boolean> setNx(@NotNull String key, Object value, long validTime, @NotNull TimeUnit unit) {
+        return invalidate(OPERATIONS.setIfAbsent(key, JacksonUtil.toJson(value),
+                Duration.ofMillis(unit.toMillis(validTime))), key);
+    }
+
+    /**
+     * Set multiple key-value
+     *
+     * @param map {key:value,key:value,...}
+     * @return {@link Mono}<{@link Boolean}>
+     */
+    public static Mono<Boolean> batchSet(@NotNull Map<String, Object> map) {
+        HashMap<String, String> hashMap = new HashMap<>();
+        map.forEach((k, v) -> hashMap.put(k, JacksonUtil.toJson(v)));
+        return invalidate(OPERATIONS.multiSet(hashMap), map.keySet());
+    }
+
+    /**
+     * Set multiple key-value if all not exist
+     *
+     * @param map {key:value,key:value,...}
+     * @return {@link Mono}<{@link Boolean}>
+     */
+    public static Mono<Boolean> batchSetNx(@NotNull Map<String, Object> map) {
+        return invalidate(OPERATIONS.multiSetIfAbsent(JacksonUtil.toJsons(map)), map.keySet());
+    }
+
+    /**
+     * Get value
+     *
+     * @param key key
+     * @return {@link Mono}<{@link String}>
+     */
+    public static Mono<String> get(@NotNull String key) {
+        return OPERATIONS.get(key);
+    }
+
+    /**
+     * Get value and deserialize json
+     *
+     * @param key    key
+     * @param tClass target type class
+     * @return {@link Mono}<{@link T}>
+     */
+    public static <T> Mono<T> get(@NotNull String key, @NotNull Class<T> tClass) {
+        return OPERATIONS.get(key).mapNotNull(e -> JacksonUtil.parseJson(e, tClass));
+    }
+
+    /**
+     * Get multiple value
+     *
+     * @param keys keys
+     * @return {@link Mono}<{@link List}<{@link String}>>
+     */
+    public static Mono<List<String>> batchGet(@NotNull Collection<String> keys) {
+        return OPERATIONS.multiGet(keys);
+    }
+
+    /**
+     * Get value and set new value
+     *
+     * @param key      key
+     * @param newValue new value
+     * @return {@link Mono}<{@link T}>
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Mono<T> getAndSet(@NotNull String key, @NotNull T newValue) {
+        return invalidate(OPERATIONS.getAndSet(key, JacksonUtil.toJson(newValue)), key)
+                .mapNotNull(e -> JacksonUtil.parseJson(e, (Class<T>) newValue.getClass()));
+    }
+
+    /**
+     * Get value and delete
+     *
+     * @param key key
+     * @return {@link Mono}<{@link String}>
+     */
+    public static Mono<String> getAndDel(@NotNull String key) {
+        return invalidate(OPERATIONS.getAndDelete(key), key);
+    }
+}
@@ -0,0 +1,199 @@
+package cn.tangshh.universal.core.util;
+
+import cn.hutool.extra.spring.SpringUtil;
+import jakarta.validation.constraints.NotNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.DataType;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Reactive Redis Common Util</p>
+ * <p>非阻塞Redis通用工具</p>
+ * <p>ps: String/Hash写操作完成后同样清除 {@link RedisNearCache} 本地缓存并通知其他节点（在弹性线程池执行，不阻塞事件循环）</p>
+ *
+ * @author Tang
+ * @version v1.0
+ */
+@Slf4j
+public class ReactiveRedisUtil {
+    /** default scan count hint */
+    protected final static long SCAN_COUNT = 100;
+    protected final static ReactiveStringRedisTemplate TEMPLATE;
+
+    static {
+        TEMPLATE = SpringUtil.getBean(ReactiveStringRedisTemplate.class);
+    }
+
+    protected ReactiveRedisUtil() {
+    }
+
+    /**
+     * Query key is exist
+     *
+     * @param key key
+     * @return {@link Mono}<{@link Boolean}>
+     */
+    public static Mono<Boolean> exists(@NotNull String key) {
+        return TEMPLATE.hasKey(key);
+    }
+
+    /**
+     * Delete key
+     *
+     * @param key key
+     * @return {@link Mono}<{@link Boolean}>
+     */
+    public static Mono<Boolean> del(@NotNull String key) {
+        return invalidate(TEMPLATE.delete(key), List.of(key)).map(e -> e > 0);
+    }
+
+    /**
+     * Delete key
+     *
+     * @param keys keys
+     * @return {@link Mono}<{@link Long}>
+     */
+    public static Mono<Long> del(@NotNull Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return Mono.just(0L);
+        }
+        return invalidate(TEMPLATE.delete(keys.toArray(new String[0])), keys);
+    }
+
+    /**
+     * Set key valid time
+     *
+     * @param key    key
+     * @param expire valid time
+     * @param unit   unit
+     * @return {@link Mono}<{@link Boolean}>
+     */
+    public static Mono<Boolean> expire(@NotNull String key, long expire, @NotNull TimeUnit unit) {
+        if (expire > -1) {
+            return TEMPLATE.expire(key, Duration.ofMillis(unit.toMillis(expire)));
+        }
+        return Mono.just(false);
+    }
+
+    /**
+     * Set key valid time
+     *
+     * @param key    key
+     * @param expire valid time (sec)
+     * @return {@link Mono}<{@link Boolean}>
+     */
+    public static Mono<Boolean> expire(@NotNull String key, long expire) {
+        return expire(key, expire, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Set key valid time
+     *
+     * @param key  key
+     * @param date valid time
+     * @return {@link Mono}<{@link Boolean}>
+     */
+    public static Mono<Boolean> expire(@NotNull String key, @NotNull Date date) {
+        return TEMPLATE.expireAt(key, date.toInstant());
+    }
+
+    /**
+     * Rename key
+     *
+     * @param oldKey old key
+     * @param newKey new key
+     * @return {@link Mono}<{@link Boolean}>
+     */
+    public static Mono<Boolean> rename(@NotNull String oldKey, @NotNull String newKey) {
+        return invalidate(TEMPLATE.rename(oldKey, newKey), List.of(oldKey, newKey));
+    }
+
+    /**
+     * <p>Scan key by expression (SCAN, not KEYS)</p>
+     * <p>通过表达式扫描键，按需拉取游标，支持背压</p>
+     *
+     * @param keyExpr key expression
+     * @return {@link Flux}<{@link String}>
+     */
+    public static Flux<String> keys(@NotNull String keyExpr) {
+        return keys(keyExpr, SCAN_COUNT);
+    }
+
+    /**
+     * <p>Scan key by expression (SCAN, not KEYS)</p>
+     * <p>通过表达式扫描键，按需拉取游标，支持背压</p>
+     *
+     * @param keyExpr key expression
+     * @param count   count hint of each scan
+     * @return {@link Flux}<{@link String}>
+     */
+    public static Flux<String> keys(@NotNull String keyExpr, long count) {
+        return TEMPLATE.scan(ScanOptions.scanOptions().match(keyExpr).count(count).build());
+    }
+
+    /**
+     * Query key valid time
+     *
+     * @param key key
+     * @return {@link Mono}<{@link Long}> seconds
+     */
+    public static Mono<Long> ttl(@NotNull String key) {
+        return ttl(key, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Query key valid time
+     *
+     * @param key  key
+     * @param unit unit
+     * @return {@link Mono}<{@link Long}>
+     */
+    public static Mono<Long> ttl(@NotNull String key, @NotNull TimeUnit unit) {
+        return TEMPLATE.getExpire(key).map(e -> unit.convert(e));
+    }
+
+    /**
+     * Query key data type
+     *
+     * @param key key
+     * @return {@link Mono}<{@link DataType}>
+     */
+    public static Mono<DataType> type(@NotNull String key) {
+        return TEMPLATE.type(key);
+    }
+
+    /**
+     * <p>Invalidate near cache after the write completed with a value</p>
+     * <p>写操作完成后清除近端缓存，通知发布为阻塞调用，在弹性线程池执行</p>
+     *
+     * @param write write command
+     * @param keys  written keys
+     * @return {@link Mono}<{@link T}>
+     */
+    protected static <T> Mono<T> invalidate(Mono<T> write, Collection<String> keys) {
+        return write.delayUntil(result -> Mono.fromRunnable(() -> RedisNearCache.invalidate(keys))
+                .subscribeOn(Schedulers.boundedElastic()));
+    }
+
+    /**
+     * <p>Invalidate near cache after the write completed with a value</p>
+     * <p>写操作完成后清除近端缓存</p>
+     *
+     * @param write write command
+     * @param key   written key
+     * @return {@link Mono}<{@link T}>
+     */
+    protected static <T> Mono<T> invalidate(Mono<T> write, String key) {
+        return invalidate(write, List.of(key));
+    }
+}
@@ -0,0 +1,183 @@
+package cn.tangshh.universal.core.util;
+
+
+import jakarta.validation.constraints.NotNull;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.core.ReactiveZSetOperations;
+import org.springframework.data.redis.core.ZSetOperations;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * <p>Reactive Redis ZSet Util</p>
+ * <p>非阻塞Redis ZSet类型工具</p>
+ *
+ * @author Tang
+ * @version v1.0
+ */
+public final class ReactiveRedisZSetUtil extends ReactiveRedisUtil {
+    /** default page size of paged range */
+    private final static int PAGE_SIZE = 500;
+    private final static ReactiveZSetOperations<String, String> OPERATIONS;
+
+    static {
+        OPERATIONS = TEMPLATE.opsForZSet();
+    }
+
+    private ReactiveRedisZSetUtil() {
+    }
+
+    /**
+     * Query set size
+     *
+     * @param key key
+     * @return {@link Mono}<{@link Long}>
+     */
+    public static Mono<Long> size(@NotNull String key) {
+        return OPERATIONS.size(key);
+    }
+
+    /**
+     * Remove values
+     *
+     * @param key    key
+     * @param values value
+     * @return {@link Mono}<{@link Long}>
+     */
+    public static Mono<Long> remove(@NotNull String key, @NotNull Object... values) {
+        return OPERATIONS.remove(key, (Object[]) JacksonUtil.toJson(values));
+    }
+
+    /**
+     * Range statistics
+     *
+     * @param key      key
+     * @param minScore min score
+     * @param maxScore max score
+     * @return {@link Mono}<{@link Long}>
+     */
+    public static Mono<Long> count(@NotNull String key, double minScore, double maxScore) {
+        return OPERATIONS.count(key, Range.closed(minScore, maxScore));
+    }
+
+    /**
+     * Range statistics
+     *
+     * @param key   key
+     * @param range range
+     * @return {@link Mono}<{@link Long}>
+     */
+    public static Mono<Long> lexCount(@NotNull String key, @NotNull Range<String> range) {
+        return OPERATIONS.lexCount(key, range);
+    }
+
+    /**
+     * Range query
+     *
+     * @param key   key
+     * @param start start index
+     * @param end   end index
+     * @return {@link Flux}<{@link String}>
+     */
+    public static Flux<String> range(@NotNull String key, long start, long end) {
+        return OPERATIONS.range(key, Range.closed(start, end));
+    }
+
+    /**
+     * <p>Range query all value page by page</p>
+     * <p>分页拉取全部值，下游请求时才读取下一页（背压）</p>
+     *
+     * @param key      key
+     * @param pageSize page size of each ZRANGE
+     * @return {@link Flux}<{@link String}>
+     */
+    public static Flux<String> rangeAll(@NotNull String key, int pageSize) {
+        return page(key, 0, pageSize);
+    }
+
+    /**
+     * <p>Range query all value page by page</p>
+     * <p>分页拉取全部值，下游请求时才读取下一页（背压）</p>
+     *
+     * @param key key
+     * @return {@link Flux}<{@link String}>
+     */
+    public static Flux<String> rangeAll(@NotNull String key) {
+        return rangeAll(key, PAGE_SIZE);
+    }
+
+    /**
+     * Get ranking
+     *
+     * @param key   key
+     * @param value value
+     * @return {@link Mono}<{@link Long}>
+     */
+    public static Mono<Long> rank(@NotNull String key, Object value) {
+        return OPERATIONS.rank(key, JacksonUtil.toJson(value));
+    }
+
+    /**
+     * Get reverse ranking
+     *
+     * @param key   key
+     * @param value value
+     * @return {@link Mono}<{@link Long}>
+     */
+    public static Mono<Long> reverseRank(@NotNull String key, Object value) {
+        return OPERATIONS.reverseRank(key, JacksonUtil.toJson(value));
+    }
+
+    /**
+     * Add value
+     *
+     * @param key   key
+     * @param value value
+     * @return {@link Mono}<{@link Boolean}>
+     */
+    public static Mono<Boolean> add(@NotNull String key, Object value) {
+        return add(key, value, 0);
+    }
+
+    /**
+     * Add value and set score
+     *
+     * @param key   key
+     * @param value value
+     * @param score score
+     * @return {@link Mono}<{@link Boolean}>
+     */
+    public static Mono<Boolean> add(@NotNull String key, Object value, double score) {
+        return OPERATIONS.add(key, JacksonUtil.toJson(value), score);
+    }
+
+    /**
+     * Batch add value and set score
+     *
+     * @param key    key
+     * @param values value
+     * @return {@link Mono}<{@link Long}>
+     */
+    public static Mono<Long> add(@NotNull String key, @NotNull Collection<ZSetOperations.TypedTuple<Object>> values) {
+        List<ZSetOperations.TypedTuple<String>> tuples = values.stream()
+                .map(e -> ZSetOperations.TypedTuple.of(JacksonUtil.toJson(e.getValue()), e.getScore()))
+                .toList();
+        return OPERATIONS.addAll(key, tuples);
+    }
+
+    private static Flux<String> page(String key, long start, int pageSize) {
+        return OPERATIONS.range(key, Range.closed(start, start + pageSize - 1))
+                .collectList()
+                .flatMapMany(list -> {
+                    Flux<String> current = Flux.fromIterable(list);
+                    if (list.size() < pageSize) {
+                        return current;
+                    }
+                    // next page is subscribed only after current page consumed
+                    return current.concatWith(Flux.defer(() -> page(key, start + pageSize, pageSize)));
+                });
+    }
+}
@@ -0,0 +1,371 @@
+package cn.tangshh.universal.core.util;
+
+import cn.hutool.core.lang.hash.MurmurHash;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.data.redis.connection.BitFieldSubCommands;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.*;
+
+/**
+ * <p>Redis Bloom Filter</p>
+ * <p>基于Redis位图的布隆过滤器，用于“是否出现过”判断，内存约为 -n·ln(p)/ln²2 位（100万元素、1%误判率约1.2MB），
+ * 不存在误判为不存在（无假阴性），存在时有 fpp 概率误判；值经 {@link JacksonUtil#toJson(Object)} 转换（字符串保持原样）</p>
+ * <p>固定模式：单个位图键 name，每个值的 k 个位读写合并为一条BITFIELD命令，批量操作通过单次管道发送；
+ * 超出容量后误判率会上升</p>
+ * <p>可扩展模式：位图分层 name:0, name:1 ...（元数据 name:meta），当前层写满后自动新增一层，
+ * 新层容量按 {@link #GROWTH} 倍增长、误判率按 {@link #TIGHTENING} 收紧，总误判率收敛于约 2·fpp；
+ * 读写由脚本在服务端原子完成，单值或批量均为一次网络往返</p>
+ * <p>ps: 可扩展模式的层数由脚本在服务端决定，层键名在脚本内由名称拼接（未在KEYS中声明），
+ * 因此名称必须包含哈希标签以保证全部层键与元数据键位于同一集群槽：未包含时自动以 {name} 作为名称</p>
+ * <pre>
+ * RedisBloomFilter filter = RedisBloomFilter.create("{bf:order}", 1_000_000, 0.01);
+ * filter.add("order:1");
+ * filter.mightContain("order:1");
+ * RedisBloomFilter scalable = RedisBloomFilter.scalable("{bf:visitor}", 100_000, 0.01);
+ * </pre>
+ *
+ * @author Tang
+ * @version v1.0
+ */
+public final class RedisBloomFilter {
+    /** capacity growth factor of each new layer (scalable mode) */
+    public final static int GROWTH = 2;
+    /** false positive rate tightening ratio of each new layer (scalable mode) */
+    public final static double TIGHTENING = 0.5;
+    /** max bits of a redis string (512MB) */
+    private final static long MAX_BITS = 1L << 32;
+    /** layer params computed on server, hashes h1 h2 are unsigned 32 bits to keep (h1 + i * h2) exact in lua number */
+    private final static String LAYER_FUNCTIONS = """
+            local capacity, fpp, growth, tightening = tonumber(ARGV[2]), tonumber(ARGV[3]), tonumber(ARGV[4]), tonumber(ARGV[5])
+            local cache = {}
+            local function layer(j)
+                if not cache[j] then
+                    local cap = math.max(1, math.floor(capacity * growth ^ j))
+                    local m = math.min(4294967296, math.ceil(-cap * math.log(fpp * tightening ^ j) / (math.log(2) ^ 2)))
+                    local k = math.max(1, math.floor(m / cap * math.log(2) + 0.5))
+                    cache[j] = {cap, m, k}
+                end
+                return cache[j]
+            end
+            local function contains(j, h1, h2)
+                local p = layer(j)
+                for i = 0, p[3] - 1 do
+                    if redis.call('getbit', ARGV[1] .. ':' .. j, (h1 + i * h2) % p[2]) == 0 then
+                        return false
+                    end
+                end
+                return true
+            end
+            local layers = tonumber(redis.call('hget', KEYS[1], 'layers') or '1')
+            """;
+    /** return 1 of each newly added value, 0 of each might exist value */
+    private final static RedisScript<List> SCALABLE_ADD_SCRIPT = new DefaultRedisScript<>(LAYER_FUNCTIONS + """
+            local count = tonumber(redis.call('hget', KEYS[1], 'count') or '0')
+            local result = {}
+            for n = 6, #ARGV, 2 do
+                local h1, h2 = tonumber(ARGV[n]), tonumber(ARGV[n + 1])
+                local exist = false
+                for j = layers - 1, 0, -1 do
+                    if contains(j, h1, h2) then
+                        exist = true
+                        break
+                    end
+                end
+                if exist then
+                    table.insert(result, 0)
+                else
+                    local p = layer(layers - 1)
+                    for i = 0, p[3] - 1 do
+                        redis.call('setbit', ARGV[1] .. ':' .. (layers - 1), (h1 + i * h2) % p[2], 1)
+                    end
+                    count = count + 1
+                    if count >= p[1] then
+                        layers = layers + 1
+                        count = 0
+                    end
+                    redis.call('hincrby', KEYS[1], 'size', 1)
+                    table.insert(result, 1)
+                end
+            end
+            redis.call('hset', KEYS[1], 'layers', layers, 'count', count)
+            return result
+            """, List.class);
+    /** return 1 of each might exist value, 0 of each not exist value */
+    private final static RedisScript<List> SCALABLE_CONTAINS_SCRIPT = new DefaultRedisScript<>(LAYER_FUNCTIONS + """
+            local result = {}
+            for n = 6, #ARGV, 2 do
+                local h1, h2 = tonumber(ARGV[n]), tonumber(ARGV[n + 1])
+                local exist = 0
+                for j = layers - 1, 0, -1 do
+                    if contains(j, h1, h2) then
+                        exist = 1
+                        break
+                    end
+                end
+                table.insert(result, exist)
+            end
+            return result
+            """, List.class);
+
+    private final String name;
+    private final long capacity;
+    private final double fpp;
+    private final boolean scalable;
+    /** bit size of fixed mode */
+    private final long bits;
+    /** hash function count of fixed mode */
+    private final int hashes;
+
+    private RedisBloomFilter(String name, long capacity, double fpp, boolean scalable) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("bloom filter capacity must be positive");
+        }
+        if (fpp <= 0 || fpp >= 1) {
+            throw new IllegalArgumentException("bloom filter false positive rate must be in (0, 1)");
+        }
+        this.name = name;
+        this.capacity = capacity;
+        this.fpp = fpp;
+        this.scalable = scalable;
+        this.bits = optimalBits(capacity, fpp);
+        this.hashes = optimalHashes(capacity, bits);
+    }
+
+    /**
+     * <p>Create fixed capacity bloom filter</p>
+     * <p>创建固定容量的布隆过滤器</p>
+     *
+     * @param name     bitmap key
+     * @param capacity expected insertions
+     * @param fpp      false positive rate, e.g. 0.01
+     * @return {@link RedisBloomFilter}
+     */
+    public static RedisBloomFilter create(@NotNull String name, long capacity, double fpp) {
+        return new RedisBloomFilter(name, capacity, fpp, false);
+    }
+
+    /**
+     * <p>Create scalable bloom filter, new layer added when current layer is full</p>
+     * <p>创建可扩展的布隆过滤器，当前层写满时自动新增一层，名称不含哈希标签时使用 {name}</p>
+     *
+     * @param name            filter name (key prefix), hash tagged to keep all layers in one cluster slot
+     * @param initialCapacity expected insertions of first layer
+     * @param fpp             false positive rate of first layer, e.g. 0.01
+     * @return {@link RedisBloomFilter}
+     */
+    public static RedisBloomFilter scalable(@NotNull String name, long initialCapacity, double fpp) {
+        return new RedisBloomFilter(hashTagged(name), initialCapacity, fpp, true);
+    }
+
+    /**
+     * <p>Add value</p>
+     * <p>添加值</p>
+     *
+     * @param value value
+     * @return boolean true is newly added, false is might exist before
+     */
+    public boolean add(@NotNull Object value) {
+        return addAll(List.of(value)).get(0);
+    }
+
+    /**
+     * <p>Add values in one round trip</p>
+     * <p>批量添加值（单次网络往返）</p>
+     *
+     * @param values values
+     * @return {@link List}<{@link Boolean}> true is newly added, in order of values
+     */
+    public List<Boolean> addAll(@NotNull Collection<?> values) {
+        if (values.isEmpty()) {
+            return Collections.emptyList();
+        }
+        if (scalable) {
+            return execute(SCALABLE_ADD_SCRIPT, values);
+        }
+        RedisPipeline pipeline = RedisPipeline.create();
+        List<RedisPipeline.Response<List<Long>>> responses = new ArrayList<>(values.size());
+        for (Object value : values) {
+            BitFieldSubCommands commands = BitFieldSubCommands.create();
+            for (long offset : offsets(value)) {
+                commands = commands.set(BitFieldSubCommands.BitFieldType.unsigned(1)).valueAt(offset).to(1);
+            }
+            responses.add(pipeline.bitField(name, commands));
+        }
+        pipeline.sync();
+        // newly added when any original bit is 0
+        return responses.stream().map(response -> !allSet(response.get())).toList();
+    }
+
+    /**
+     * <p>Query value might exist</p>
+     * <p>查询值是否可能存在，false 表示一定不存在</p>
+     *
+     * @param value value
+     * @return boolean
+     */
+    public boolean mightContain(@NotNull Object value) {
+        return mightContainAll(List.of(value)).get(0);
+    }
+
+    /**
+     * <p>Query values might exist in one round trip</p>
+     * <p>批量查询值是否可能存在（单次网络往返）</p>
+     *
+     * @param values values
+     * @return {@link List}<{@link Boolean}> in order of values
+     */
+    public List<Boolean> mightContainAll(@NotNull Collection<?> values) {
+        if (values.isEmpty()) {
+            return Collections.emptyList();
+        }
+        if (scalable) {
+            return execute(SCALABLE_CONTAINS_SCRIPT, values);
+        }
+        RedisPipeline pipeline = RedisPipeline.create();
+        List<RedisPipeline.Response<List<Long>>> responses = new ArrayList<>(values.size());
+        for (Object value : values) {
+            BitFieldSubCommands commands = BitFieldSubCommands.create();
+            for (long offset : offsets(value)) {
+                commands = commands.get(BitFieldSubCommands.BitFieldType.unsigned(1)).valueAt(offset);
+            }
+            responses.add(pipeline.bitField(name, commands));
+        }
+        pipeline.sync();
+        return responses.stream().map(response -> allSet(response.get())).toList();
+    }
+
+    /**
+     * <p>Approximate inserted count</p>
+     * <p>近似已插入数量，固定模式由位图中1的数量估算，可扩展模式为累计新增数量</p>
+     *
+     * @return long
+     */
+    public long approximateSize() {
+        if (scalable) {
+            // raw read, the near cache / hot key / read batch layers may serve a stale value
+            Object size = RedisUtil.TEMPLATE.opsForHash().get(metaKey(), "size");
+            return size == null ? 0 : Long.parseLong(size.toString());
+        }
+        long setBits = RedisStrUtil.bitCount(name);
+        if (setBits >= bits) {
+            return capacity;
+        }
+        return Math.round(-(double) bits / hashes * Math.log(1 - (double) setBits / bits));
+    }
+
+    /**
+     * <p>Delete filter data</p>
+     * <p>删除过滤器数据</p>
+     */
+    public void delete() {
+        if (!scalable) {
+            RedisUtil.del(name);
+            return;
+        }
+        Object layers = RedisUtil.TEMPLATE.opsForHash().get(metaKey(), "layers");
+        int count = layers == null ? 1 : Integer.parseInt(layers.toString());
+        List<String> keys = new ArrayList<>(count + 1);
+        keys.add(metaKey());
+        for (int i = 0; i < count; i++) {
+            keys.add(name + ":" + i);
+        }
+        RedisUtil.del(keys);
+    }
+
+    /**
+     * <p>Bit size of fixed mode (or first layer of scalable mode)</p>
+     * <p>固定模式位图大小（可扩展模式为首层大小）</p>
+     *
+     * @return long
+     */
+    public long bits() {
+        return bits;
+    }
+
+    /**
+     * <p>Hash function count of fixed mode (or first layer of scalable mode)</p>
+     * <p>固定模式哈希函数数量（可扩展模式为首层数量）</p>
+     *
+     * @return int
+     */
+    public int hashes() {
+        return hashes;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Boolean> execute(RedisScript<List> script, Collection<?> values) {
+        List<String> args = new ArrayList<>(5 + values.size() * 2);
+        args.add(name);
+        args.add(String.valueOf(capacity));
+        args.add(String.valueOf(fpp));
+        args.add(String.valueOf(GROWTH));
+        args.add(String.valueOf(TIGHTENING));
+        for (Object value : values) {
+            long[] hash = hash(value);
+            args.add(String.valueOf(hash[0]));
+            args.add(String.valueOf(hash[1]));
+        }
+        List<Object> reply = RedisUtil.TEMPLATE.execute(script, List.of(metaKey()), args.toArray());
+        List<Boolean> result = new ArrayList<>(values.size());
+        for (int i = 0; i < values.size(); i++) {
+            result.add(reply != null && i < reply.size() && "1".equals(String.valueOf(reply.get(i))));
+        }
+        return result;
+    }
+
+    /**
+     * <p>Keep name if it has a non-empty hash tag, else use {name}</p>
+     */
+    private static String hashTagged(String name) {
+        int start = name.indexOf('{');
+        int end = start < 0 ? -1 : name.indexOf('}', start + 1);
+        return end > start + 1 ? name : "{" + name + "}";
+    }
+
+    private String metaKey() {
+        return name + ":meta";
+    }
+
+    /**
+     * <p>Bit offsets by double hashing: (h1 + i * h2) mod m, same as the server side script</p>
+     */
+    private long[] offsets(Object value) {
+        long[] hash = hash(value);
+        long[] offsets = new long[hashes];
+        for (int i = 0; i < hashes; i++) {
+            offsets[i] = (hash[0] + i * hash[1]) % bits;
+        }
+        return offsets;
+    }
+
+    /**
+     * <p>Two unsigned 32 bits hashes from murmur3 128</p>
+     */
+    private static long[] hash(Object value) {
+        long[] hash = MurmurHash.hash128(JacksonUtil.toJsonBytes(value));
+        return new long[]{hash[0] & 0xFFFFFFFFL, hash[1] & 0xFFFFFFFFL};
+    }
+
+    private static boolean allSet(List<Long> bitValues) {
+        if (bitValues == null || bitValues.isEmpty()) {
+            return false;
+        }
+        for (Long bit : bitValues) {
+            if (bit == null || bit == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long optimalBits(long capacity, double fpp) {
+        long bits = (long) Math.ceil(-capacity * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+        return Math.min(MAX_BITS, Math.max(1, bits));
+    }
+
+    private static int optimalHashes(long capacity, long bits) {
+        return Math.max(1, (int) Math.round((double) bits / capacity * Math.log(2)));
+    }
+}
@@ -0,0 +1,194 @@
+package cn.tangshh.universal.core.util;
+
+import cn.hutool.core.thread.ThreadFactoryBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.ClusterSlotHashUtil;
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.connection.RedisClusterNode;
+import org.springframework.data.redis.core.RedisCallback;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * <p>Redis cluster multi-key support</p>
+ * <p>集群模式多键命令支持：按哈希槽分组（同槽的键可合并为一条多键命令），再按槽所在主节点分组，
+ * 各节点的子批次并行执行（调用线程执行其中一个节点），结果按调用方原始键顺序合并；非集群或同槽时直接执行</p>
+ *
+ * @author Tang
+ * @version v1.0
+ */
+@Slf4j
+final class RedisClusterSupport {
+    private final static ExecutorService EXECUTOR = Executors.newFixedThreadPool(
+            Math.max(4, Runtime.getRuntime().availableProcessors() * 2),
+            ThreadFactoryBuilder.create().setNamePrefix("redis-cluster-fan-out-").setDaemon(true).build());
+    private static volatile Boolean cluster;
+
+    private RedisClusterSupport() {
+    }
+
+    /**
+     * <p>Is cluster connection</p>
+     * <p>是否为集群连接</p>
+     *
+     * @return boolean
+     */
+    static boolean isCluster() {
+        Boolean isCluster = cluster;
+        if (isCluster == null) {
+            isCluster = Boolean.TRUE.equals(RedisUtil.TEMPLATE.execute(
+                    (RedisCallback<Boolean>) connection -> connection instanceof RedisClusterConnection));
+            cluster = isCluster;
+        }
+        return isCluster;
+    }
+
+    /**
+     * <p>Keys span multiple slots in cluster mode</p>
+     * <p>集群模式下键是否跨槽</p>
+     *
+     * @param keys keys
+     * @return boolean
+     */
+    static boolean crossSlot(Collection<String> keys) {
+        if (keys.size() < 2 || !isCluster()) {
+            return false;
+        }
+        Iterator<String> iterator = keys.iterator();
+        int slot = ClusterSlotHashUtil.calculateSlot(iterator.next());
+        while (iterator.hasNext()) {
+            if (ClusterSlotHashUtil.calculateSlot(iterator.next()) != slot) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * <p>Execute multi-key command by slot, results merged in original key order</p>
+     * <p>按槽分批执行多键命令（命令返回与子批次键顺序一致的结果），结果按原始键顺序合并</p>
+     *
+     * @param keys    keys
+     * @param command multi-key command of same slot keys
+     * @return {@link List}<{@link T}>
+     */
+    @SuppressWarnings("unchecked")
+    static <T> List<T> fanOut(List<String> keys, Function<List<String>, List<T>> command) {
+        if (!crossSlot(keys)) {
+            return command.apply(keys);
+        }
+        Object[] results = new Object[keys.size()];
+        run(nodeBatches(keys), group -> {
+            List<T> result = command.apply(group.stream().map(keys::get).toList());
+            for (int i = 0; i < group.size(); i++) {
+                results[group.get(i)] = result != null && i < result.size() ? result.get(i) : null;
+            }
+        });
+        return (List<T>) Arrays.asList(results);
+    }
+
+    /**
+     * <p>Execute multi-key command by slot, counts summed</p>
+     * <p>按槽分批执行多键命令，返回各批次计数之和</p>
+     *
+     * @param keys    keys
+     * @param command multi-key command of same slot keys
+     * @return long
+     */
+    static long fanOutCount(Collection<String> keys, ToLongFunction<List<String>> command) {
+        List<String> list = keys instanceof List ? (List<String>) keys : new ArrayList<>(keys);
+        if (!crossSlot(list)) {
+            return command.applyAsLong(list);
+        }
+        LongAdder total = new LongAdder();
+        run(nodeBatches(list), group -> total.add(command.applyAsLong(group.stream().map(list::get).toList())));
+        return total.sum();
+    }
+
+    /**
+     * <p>Execute single-key command of each key in parallel by node, results in original key order</p>
+     * <p>按节点并行执行每个键的单键命令（如SMEMBERS），结果按原始键顺序返回</p>
+     *
+     * @param keys    keys
+     * @param command single-key command
+     * @return {@link List}<{@link T}>
+     */
+    @SuppressWarnings("unchecked")
+    static <T> List<T> forEachKey(List<String> keys, Function<String, T> command) {
+        Object[] results = new Object[keys.size()];
+        if (keys.size() < 2 || !isCluster()) {
+            for (int i = 0; i < keys.size(); i++) {
+                results[i] = command.apply(keys.get(i));
+            }
+        } else {
+            run(nodeBatches(keys), group -> group.forEach(i -> results[i] = command.apply(keys.get(i))));
+        }
+        return (List<T>) Arrays.asList(results);
+    }
+
+    /**
+     * <p>Key indexes grouped by slot, then slot groups grouped by serving master node</p>
+     */
+    private static Collection<List<List<Integer>>> nodeBatches(List<String> keys) {
+        Map<Integer, List<Integer>> slots = new LinkedHashMap<>();
+        for (int i = 0; i < keys.size(); i++) {
+            slots.computeIfAbsent(ClusterSlotHashUtil.calculateSlot(keys.get(i)), k -> new ArrayList<>()).add(i);
+        }
+        Map<Integer, String> slotNodes = slotNodes(slots.keySet());
+        Map<String, List<List<Integer>>> nodes = new LinkedHashMap<>();
+        slots.forEach((slot, group) -> nodes.computeIfAbsent(slotNodes.getOrDefault(slot, "slot:" + slot),
+                k -> new ArrayList<>()).add(group));
+        return nodes.values();
+    }
+
+    /**
+     * <p>Slot -> serving master node, from the client cached topology</p>
+     */
+    private static Map<Integer, String> slotNodes(Set<Integer> slots) {
+        try {
+            Map<Integer, String> nodes = RedisUtil.TEMPLATE.execute((RedisCallback<Map<Integer, String>>) connection -> {
+                RedisClusterConnection clusterConnection = (RedisClusterConnection) connection;
+                Map<Integer, String> result = new HashMap<>(slots.size());
+                for (Integer slot : slots) {
+                    RedisClusterNode node = clusterConnection.clusterGetNodeForSlot(slot);
+                    if (node != null) {
+                        result.put(slot, node.asString());
+                    }
+                }
+                return result;
+            });
+            return nodes == null ? Collections.emptyMap() : nodes;
+        } catch (Exception e) {
+            // fall back to one batch per slot
+            log.debug("redis cluster topology lookup failed", e);
+            return Collections.emptyMap();
+        }
+    }
+
+    private static void run(Collection<List<List<Integer>>> nodeBatches, Consumer<List<Integer>> action) {
+        Iterator<List<List<Integer>>> iterator = nodeBatches.iterator();
+        List<List<Integer>> local = iterator.next();
+        List<CompletableFuture<Void>> futures = new ArrayList<>(nodeBatches.size() - 1);
+        while (iterator.hasNext()) {
+            List<List<Integer>> batches = iterator.next();
+            futures.add(CompletableFuture.runAsync(() -> batches.forEach(action), EXECUTOR));
+        }
+        local.forEach(action);
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
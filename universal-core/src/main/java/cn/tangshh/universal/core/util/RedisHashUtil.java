@@ -8,6 +8,9 @@ import org.springframework.data.redis.core.HashOperations;
 import org.springframework.data.redis.core.ScanOptions;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 /**
  * <p>Redis Hash Util</p>
@@ -69,6 +72,54 @@ public final class RedisHashUtil extends RedisUtil {
         return strMap;
     }
 
+    /**
+     * <p>Lazy scan key-value by expression</p>
+     * <p>通过表达式惰性扫描键值对，不会一次性加载全部数据，需在使用后关闭流（try-with-resources）</p>
+     *
+     * @param key        key
+     * @param expression scan expression
+     * @param count      count hint of each scan
+     * @return {@link Stream}<{@link Map.Entry}<{@link String}, {@link String}>>
+     */
+    public static Stream<Map.Entry<String, String>> scanStream(@NotNull String key, @NotNull String expression, long count) {
+        return OPERATIONS.scan(key, ScanOptions.scanOptions().match(expression).count(count).build()).stream();
+    }
+
+    /**
+     * <p>Scan key-value by expression page by page</p>
+     * <p>通过表达式分页扫描键值对，consumer返回false时停止扫描</p>
+     *
+     * @param key        key
+     * @param expression scan expression
+     * @param count      count hint of each scan
+     * @param pageSize   page size of each callback
+     * @param consumer   page consumer, return false to stop
+     * @return long scanned count
+     */
+    public static long scan(@NotNull String key, @NotNull String expression, long count, int pageSize,
+                            @NotNull Predicate<Map<String, String>> consumer) {
+        long total = 0;
+        Map<String, String> page = new LinkedHashMap<>();
+        try (Cursor<Map.Entry<String, String>> cursor = OPERATIONS.scan(key, ScanOptions.scanOptions().match(expression).count(count).build())) {
+            while (cursor.hasNext()) {
+                Map.Entry<String, String> next = cursor.next();
+                page.put(next.getKey(), next.getValue());
+                if (page.size() >= pageSize) {
+                    total += page.size();
+                    if (!consumer.test(page)) {
+                        return total;
+                    }
+                    page = new LinkedHashMap<>();
+                }
+            }
+        }
+        if (!page.isEmpty()) {
+            total += page.size();
+            consumer.test(page);
+        }
+        return total;
+    }
+
     /**
      * <p>Get all hash key</p>
      * <p>获取全部Hash键</p>
@@ -83,6 +134,7 @@ public final class RedisHashUtil extends RedisUtil {
     /**
      * <p>Get hash value</p>
      * <p>获取Hash值</p>
+     * <p>ps: 启用 {@link RedisNearCache} 时优先读取本地缓存，启用 {@link RedisReadBatcher} 时与并发读取合并发送</p>
      *
      * @param key     key
      * @param hashKey hash key
@@ -90,7 +142,23 @@ public final class RedisHashUtil extends RedisUtil {
      */
     @Nullable
     public static String get(@NotNull String key, @NotNull Object hashKey) {
-        return OPERATIONS.get(key, JacksonUtil.toJson(hashKey));
+        String field = JacksonUtil.toJson(hashKey);
+        return RedisHotKeyDetector.getHashValue(key, field, () -> RedisNearCache.getHashValue(key, field,
+                () -> RedisReadBatcher.getHashValue(key, field, () -> OPERATIONS.get(key, field))));
+    }
+
+    /**
+     * <p>Get hash value asynchronously</p>
+     * <p>异步获取Hash值，启用 {@link RedisReadBatcher} 时与其他线程对同一键的并发读取合并为HMGET（不读取近端缓存），未启用时同步读取</p>
+     *
+     * @param key     key
+     * @param hashKey hash key
+     * @return {@link CompletableFuture}<{@link String}>
+     */
+    public static CompletableFuture<String> getAsync(@NotNull String key, @NotNull Object hashKey) {
+        RedisReadBatcher batcher = RedisReadBatcher.current();
+        return batcher == null ? CompletableFuture.completedFuture(get(key, hashKey))
+                : batcher.hGet(key, JacksonUtil.toJson(hashKey));
     }
 
     /**
@@ -102,18 +170,21 @@ public final class RedisHashUtil extends RedisUtil {
      * @return {@link List}<{@link String}>
      */
     public static List<String> multiGet(@NotNull String key, @NotNull Collection<Object> hashKeys) {
+        RedisHotKeyDetector.record(key);
         return OPERATIONS.multiGet(key, JacksonUtil.toJsons(hashKeys));
     }
 
     /**
      * <p>Get all key-value</p>
      * <p>获取全部键值对</p>
+     * <p>ps: 启用 {@link RedisNearCache} 时优先读取本地缓存（返回不可变Map）</p>
      *
      * @param key key
      * @return {@link Map}<{@link String}, {@link String}>
      */
     public static Map<String, String> entries(@NotNull String key) {
-        return OPERATIONS.entries(key);
+        RedisHotKeyDetector.record(key);
+        return RedisNearCache.getEntries(key, () -> OPERATIONS.entries(key));
     }
 
     /**
@@ -137,6 +208,7 @@ public final class RedisHashUtil extends RedisUtil {
      */
     public static void put(@NotNull String key, @NotNull Object hashKey, Object hashValue) {
         OPERATIONS.put(key, JacksonUtil.toJson(hashKey), JacksonUtil.toJson(hashValue));
+        RedisNearCache.invalidate(key);
     }
 
     /**
@@ -148,6 +220,7 @@ public final class RedisHashUtil extends RedisUtil {
      */
     public static void put(@NotNull String key, @NotNull Map<Object, Object> map) {
         OPERATIONS.putAll(key, JacksonUtil.toJsons(map));
+        RedisNearCache.invalidate(key);
     }
 
     /**
@@ -160,7 +233,11 @@ public final class RedisHashUtil extends RedisUtil {
      * @return boolean
      */
     public static boolean putNx(@NotNull String key, @NotNull Object hashKey, Object hashValue) {
-        return OPERATIONS.putIfAbsent(key, JacksonUtil.toJson(hashKey), JacksonUtil.toJson(hashValue));
+        boolean success = OPERATIONS.putIfAbsent(key, JacksonUtil.toJson(hashKey), JacksonUtil.toJson(hashValue));
+        if (success) {
+            RedisNearCache.invalidate(key);
+        }
+        return success;
     }
 
     /**
@@ -186,7 +263,9 @@ public final class RedisHashUtil extends RedisUtil {
      * @return {@link Double}
      */
     public static Long increment(@NotNull String key, @NotNull Object hashKey, long increment) {
-        return OPERATIONS.increment(key, JacksonUtil.toJson(hashKey), increment);
+        Long value = OPERATIONS.increment(key, JacksonUtil.toJson(hashKey), increment);
+        RedisNearCache.invalidate(key);
+        return value;
     }
 
 
@@ -200,7 +279,9 @@ public final class RedisHashUtil extends RedisUtil {
      * @return {@link Double}
      */
     public static Double increment(@NotNull String key, @NotNull Object hashKey, double increment) {
-        return OPERATIONS.increment(key, JacksonUtil.toJson(hashKey), increment);
+        Double value = OPERATIONS.increment(key, JacksonUtil.toJson(hashKey), increment);
+        RedisNearCache.invalidate(key);
+        return value;
     }
 
     /**
@@ -259,7 +340,9 @@ public final class RedisHashUtil extends RedisUtil {
      * @return {@link Long}
      */
     public static Long delete(@NotNull String key, Object... hashKeys) {
-        return OPERATIONS.delete(key, (Object[]) JacksonUtil.toJson(hashKeys));
+        Long delNum = OPERATIONS.delete(key, (Object[]) JacksonUtil.toJson(hashKeys));
+        RedisNearCache.invalidate(key);
+        return delNum;
     }
 
 }
@@ -0,0 +1,355 @@
+package cn.tangshh.universal.core.util;
+
+import cn.hutool.cache.impl.LRUCache;
+import cn.hutool.core.lang.hash.MurmurHash;
+import cn.hutool.core.thread.ThreadFactoryBuilder;
+import jakarta.annotation.Nullable;
+import jakarta.validation.constraints.NotNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * <p>Redis hot key detector</p>
+ * <p>Redis热键探测，按采样率记录 {@link RedisStrUtil} / {@link RedisHashUtil} 读取的键，
+ * 以Count-Min Sketch估算访问次数并维护Top-K候选，每个统计窗口结束时发布热键（估算QPS达到阈值）并重置计数</p>
+ * <p>启用自动提升时，估算QPS达到提升阈值的键在下个窗口内读取短TTL本地缓存，降低单个分片压力；
+ * 本节点的写操作会清除本地缓存，其他节点的写入由短TTL兜底</p>
+ * <p>ps: 热键列表可通过 actuator 端点 redishotkeys 查看</p>
+ *
+ * @author Tang
+ * @version v1.0
+ */
+@Slf4j
+public final class RedisHotKeyDetector implements InitializingBean, DisposableBean {
+    private final static int DEPTH = 4;
+    private static volatile RedisHotKeyDetector instance;
+
+    private final double sampleRate;
+    private final int width;
+    private final int topK;
+    private final long windowMillis;
+    private final double threshold;
+    private final double promoteThreshold;
+    private final AtomicLongArray sketch;
+    /** key -> estimated sampled count of current window */
+    private final Map<String, Long> candidates = new ConcurrentHashMap<>();
+    private final int candidateCapacity;
+    private volatile long candidateFloor;
+    @Nullable
+    private final LRUCache<String, Holder> localCache;
+    private final ScheduledExecutorService scheduler;
+    private volatile List<HotKey> hotKeys = Collections.emptyList();
+    private volatile Set<String> promoted = Collections.emptySet();
+
+    private final LongAdder sampledCount = new LongAdder();
+    private final LongAdder localHitCount = new LongAdder();
+    private final LongAdder localMissCount = new LongAdder();
+
+    /**
+     * @param sampleRate       sample rate of access, (0, 1]
+     * @param width            count-min sketch width of each row
+     * @param topK             maximum reported hot key
+     * @param window           statistics window
+     * @param threshold        estimated qps to be reported hot
+     * @param promoteThreshold estimated qps to be promoted to local cache, non-positive is disabled
+     * @param promoteTtl       local cache valid time
+     * @param promoteMaxSize   maximum local cached key
+     */
+    public RedisHotKeyDetector(double sampleRate, int width, int topK, @NotNull Duration window, double threshold,
+                               double promoteThreshold, @NotNull Duration promoteTtl, int promoteMaxSize) {
+        if (sampleRate <= 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("hot key sample rate must be in (0, 1]");
+        }
+        this.sampleRate = sampleRate;
+        this.width = Math.max(64, width);
+        this.topK = Math.max(1, topK);
+        this.windowMillis = Math.max(100, window.toMillis());
+        this.threshold = threshold;
+        this.promoteThreshold = promoteThreshold;
+        this.sketch = new AtomicLongArray(DEPTH * this.width);
+        this.candidateCapacity = this.topK * 4;
+        this.localCache = promoteThreshold > 0 ? new LRUCache<>(Math.max(1, promoteMaxSize), promoteTtl.toMillis())
+                : null;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(ThreadFactoryBuilder.create()
+                .setNamePrefix("redis-hot-key-").setDaemon(true).build());
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        scheduler.scheduleAtFixedRate(this::rotate, windowMillis, windowMillis, TimeUnit.MILLISECONDS);
+        instance = this;
+    }
+
+    @Override
+    public void destroy() {
+        instance = null;
+        scheduler.shutdownNow();
+        if (localCache != null) {
+            localCache.clear();
+        }
+    }
+
+    /**
+     * <p>Get current detector</p>
+     * <p>获取当前热键探测器，未启用时返回null</p>
+     *
+     * @return {@link RedisHotKeyDetector}
+     */
+    @Nullable
+    public static RedisHotKeyDetector current() {
+        return instance;
+    }
+
+    /**
+     * <p>Record key access</p>
+     * <p>记录键访问（按采样率），未启用时忽略</p>
+     *
+     * @param key key
+     */
+    public static void record(@NotNull String key) {
+        RedisHotKeyDetector detector = instance;
+        if (detector != null) {
+            detector.sample(key);
+        }
+    }
+
+    /**
+     * <p>Record access and read promoted string value from local cache</p>
+     * <p>记录访问，已提升的热键优先读取本地缓存，未启用时直接读取</p>
+     *
+     * @param key    key
+     * @param loader redis loader
+     * @return {@link String}
+     */
+    static String getValue(String key, Supplier<String> loader) {
+        RedisHotKeyDetector detector = instance;
+        if (detector == null) {
+            return loader.get();
+        }
+        detector.sample(key);
+        Holder holder = detector.promotedHolder(key);
+        if (holder == null) {
+            return loader.get();
+        }
+        String value = holder.value;
+        if (value != null) {
+            detector.localHitCount.increment();
+            return value;
+        }
+        detector.localMissCount.increment();
+        value = loader.get();
+        holder.value = value;
+        return value;
+    }
+
+    /**
+     * <p>Record access and read promoted hash value from local cache</p>
+     * <p>记录访问，已提升的热键优先读取本地缓存，未启用时直接读取</p>
+     *
+     * @param key     key
+     * @param hashKey hash key
+     * @param loader  redis loader
+     * @return {@link String}
+     */
+    static String getHashValue(String key, String hashKey, Supplier<String> loader) {
+        RedisHotKeyDetector detector = instance;
+        if (detector == null) {
+            return loader.get();
+        }
+        detector.sample(key);
+        Holder holder = detector.promotedHolder(key);
+        if (holder == null) {
+            return loader.get();
+        }
+        String value = holder.fields.get(hashKey);
+        if (value != null) {
+            detector.localHitCount.increment();
+            return value;
+        }
+        detector.localMissCount.increment();
+        value = loader.get();
+        if (value != null) {
+            holder.fields.put(hashKey, value);
+        }
+        return value;
+    }
+
+    /**
+     * <p>Invalidate local cache of promoted keys</p>
+     * <p>清除已提升热键的本地缓存，未启用时忽略</p>
+     *
+     * @param keys keys
+     */
+    static void invalidate(Collection<String> keys) {
+        RedisHotKeyDetector detector = instance;
+        if (detector == null || detector.localCache == null) {
+            return;
+        }
+        keys.forEach(detector.localCache::remove);
+    }
+
+    /**
+     * <p>Hot keys of last window, order by estimated qps desc</p>
+     * <p>上个窗口的热键，按估算QPS降序</p>
+     *
+     * @return {@link List}<{@link HotKey}>
+     */
+    public List<HotKey> hotKeys() {
+        return hotKeys;
+    }
+
+    /**
+     * <p>Statistics snapshot</p>
+     * <p>统计快照</p>
+     *
+     * @return {@link Stats}
+     */
+    public Stats stats() {
+        return new Stats(sampledCount.sum(), localHitCount.sum(), localMissCount.sum(), promoted.size(),
+                localCache == null ? 0 : localCache.size());
+    }
+
+    private void sample(String key) {
+        if (sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        sampledCount.increment();
+        // rows from both halves of murmur3 128 (double hashing), colliding String#hashCode no longer shares every row
+        long[] hash = MurmurHash.hash128(key);
+        long estimate = Long.MAX_VALUE;
+        for (int i = 0; i < DEPTH; i++) {
+            estimate = Math.min(estimate, sketch.incrementAndGet(i * width + index(hash, i)));
+        }
+        offer(key, estimate);
+    }
+
+    private int index(long[] hash, int row) {
+        long h = hash[0] + row * (hash[1] | 1);
+        return (int) ((h & Long.MAX_VALUE) % width);
+    }
+
+    /**
+     * <p>Keep the top candidates, evict the smallest when full</p>
+     */
+    private void offer(String key, long estimate) {
+        if (candidates.size() < candidateCapacity || candidates.containsKey(key)) {
+            candidates.put(key, estimate);
+            return;
+        }
+        if (estimate <= candidateFloor) {
+            return;
+        }
+        synchronized (candidates) {
+            candidates.put(key, estimate);
+            String minKey = null;
+            long min = Long.MAX_VALUE;
+            for (Map.Entry<String, Long> entry : candidates.entrySet()) {
+                if (entry.getValue() < min) {
+                    min = entry.getValue();
+                    minKey = entry.getKey();
+                }
+            }
+            if (minKey != null && candidates.size() > candidateCapacity) {
+                candidates.remove(minKey);
+            }
+            candidateFloor = min;
+        }
+    }
+
+    @Nullable
+    private Holder promotedHolder(String key) {
+        if (localCache == null || !promoted.contains(key)) {
+            return null;
+        }
+        return localCache.get(key, false, Holder::new);
+    }
+
+    /**
+     * <p>Publish hot keys of the finished window and reset counters</p>
+     */
+    private void rotate() {
+        try {
+            double scale = 1000.0 / windowMillis / sampleRate;
+            List<HotKey> hot = new ArrayList<>();
+            Set<String> promote = new HashSet<>();
+            candidates.entrySet().stream()
+                    .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                    .limit(topK)
+                    .forEach(entry -> {
+                        double qps = entry.getValue() * scale;
+                        boolean promotable = localCache != null && qps >= promoteThreshold;
+                        if (promotable) {
+                            promote.add(entry.getKey());
+                        }
+                        if (qps >= threshold || promotable) {
+                            hot.add(new HotKey(entry.getKey(), qps, promotable));
+                        }
+                    });
+            if (localCache != null) {
+                for (String key : promoted) {
+                    if (!promote.contains(key)) {
+                        localCache.remove(key);
+                    }
+                }
+            }
+            if (!hot.isEmpty()) {
+                log.info("redis hot keys detected: {}", hot);
+            }
+            hotKeys = Collections.unmodifiableList(hot);
+            promoted = Collections.unmodifiableSet(promote);
+            synchronized (candidates) {
+                candidates.clear();
+                candidateFloor = 0;
+            }
+            for (int i = 0; i < sketch.length(); i++) {
+                sketch.set(i, 0);
+            }
+        } catch (Exception e) {
+            log.warn("redis hot key rotate failed", e);
+        }
+    }
+
+    /**
+     * <p>Local value holder of promoted key, a write removes the whole holder</p>
+     */
+    private static final class Holder {
+        private final Map<String, String> fields = new ConcurrentHashMap<>();
+        private volatile String value;
+    }
+
+    /**
+     * <p>Hot key</p>
+     * <p>热键</p>
+     *
+     * @param key      key
+     * @param qps      estimated qps of last window
+     * @param promoted promoted to local cache
+     */
+    public record HotKey(String key, double qps, boolean promoted) {
+    }
+
+    /**
+     * <p>Hot key statistics</p>
+     * <p>热键统计</p>
+     *
+     * @param sampledCount   sampled access count
+     * @param localHitCount  local cache hit count of promoted keys
+     * @param localMissCount local cache miss count of promoted keys
+     * @param promotedSize   promoted key size
+     * @param localSize      local cached key size
+     */
+    public record Stats(long sampledCount, long localHitCount, long localMissCount, int promotedSize, int localSize) {
+    }
+}
@@ -0,0 +1,295 @@
+package cn.tangshh.universal.core.util;
+
+import jakarta.annotation.Nullable;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+/**
+ * <p>Redis Leaderboard</p>
+ * <p>基于ZSet的排行榜，分数从高到低排名（排名从1开始），每次查询仅一次网络往返</p>
+ * <p>keys: name（总榜）, name:d:yyyyMMdd（日榜，保留retention天）, name:rolling:N:decay（近N天滚动榜，不存在时加权合并生成，有效期内各分页查询复用）；
+ * 集群模式下名称应包含哈希标签，如 {rank:game}</p>
+ * <pre>
+ * RedisLeaderboard board = new RedisLeaderboard("{rank:game}", Duration.ofDays(8));
+ * board.increment("user:1", 10);
+ * List&lt;RedisLeaderboard.Entry&gt; top = board.top(1, 20);
+ * List&lt;RedisLeaderboard.Entry&gt; weekly = board.rollingTop(7, 1, 1, 20);
+ * </pre>
+ *
+ * @author Tang
+ * @version v1.0
+ */
+public final class RedisLeaderboard {
+    private final static DateTimeFormatter DAY_FORMAT = DateTimeFormatter.BASIC_ISO_DATE;
+    /** return [start rank index, member, score, ...], empty when member not exist */
+    private final static RedisScript<List> AROUND_SCRIPT = new DefaultRedisScript<>("""
+            local rank = redis.call('zrevrank', KEYS[1], ARGV[1])
+            if not rank then
+                return {}
+            end
+            local n = tonumber(ARGV[2])
+            local start = math.max(0, rank - n)
+            local items = redis.call('zrevrange', KEYS[1], start, rank + n, 'WITHSCORES')
+            table.insert(items, 1, tostring(start))
+            return items
+            """, List.class);
+    /** rebuild rolling board only when missing, return [member, score, ...] of the page */
+    private final static RedisScript<List> ROLLING_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('exists', KEYS[1]) == 0 then
+                local args = {'zunionstore', KEYS[1], #KEYS - 1}
+                for i = 2, #KEYS do
+                    args[#args + 1] = KEYS[i]
+                end
+                args[#args + 1] = 'weights'
+                for i = 4, #ARGV do
+                    args[#args + 1] = ARGV[i]
+                end
+                redis.call(unpack(args))
+                redis.call('pexpire', KEYS[1], ARGV[1])
+            end
+            return redis.call('zrevrange', KEYS[1], ARGV[2], ARGV[3], 'WITHSCORES')
+            """, List.class);
+    /** rolling board valid time, day board changes are visible after it expires */
+    private final static Duration ROLLING_TTL = Duration.ofMinutes(1);
+
+    private final String name;
+    private final Duration retention;
+    private final ZoneId zone;
+
+    /**
+     * @param name      board name (total board key)
+     * @param retention daily board valid time
+     */
+    public RedisLeaderboard(@NotNull String name, @NotNull Duration retention) {
+        this(name, retention, ZoneId.systemDefault());
+    }
+
+    /**
+     * @param name      board name (total board key)
+     * @param retention daily board valid time
+     * @param zone      time zone of daily board
+     */
+    public RedisLeaderboard(@NotNull String name, @NotNull Duration retention, @NotNull ZoneId zone) {
+        this.name = name;
+        this.retention = retention;
+        this.zone = zone;
+    }
+
+    /**
+     * <p>Increment score of total and today board</p>
+     * <p>增加总榜与今日榜分数</p>
+     *
+     * @param member member
+     * @param delta  increment
+     * @return double total score
+     */
+    public double increment(@NotNull String member, double delta) {
+        return increment(Map.of(member, delta)).get(member);
+    }
+
+    /**
+     * <p>Bulk increment score of total and today board in one pipeline</p>
+     * <p>批量增加总榜与今日榜分数（单次管道）</p>
+     *
+     * @param deltas member -> increment
+     * @return {@link Map}<{@link String}, {@link Double}> member -> total score
+     */
+    public Map<String, Double> increment(@NotNull Map<String, ? extends Number> deltas) {
+        if (deltas.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        String dayKey = dayKey(LocalDate.now(zone));
+        RedisPipeline pipeline = RedisPipeline.create();
+        Map<String, RedisPipeline.Response<Double>> responses = new LinkedHashMap<>(deltas.size());
+        deltas.forEach((member, delta) -> {
+            responses.put(member, pipeline.zIncr(name, member, delta.doubleValue()));
+            pipeline.zIncr(dayKey, member, delta.doubleValue());
+        });
+        pipeline.expire(dayKey, retention);
+        pipeline.sync();
+        Map<String, Double> scores = new LinkedHashMap<>(responses.size());
+        responses.forEach((member, response) -> scores.put(member, response.get()));
+        return scores;
+    }
+
+    /**
+     * <p>Top members of total board with score</p>
+     * <p>总榜分页查询（含分数）</p>
+     *
+     * @param page page number, start from 1
+     * @param size page size
+     * @return {@link List}<{@link Entry}>
+     */
+    public List<Entry> top(int page, int size) {
+        return top(name, page, size);
+    }
+
+    /**
+     * <p>Top members of a day board with score</p>
+     * <p>日榜分页查询（含分数）</p>
+     *
+     * @param day  day
+     * @param page page number, start from 1
+     * @param size page size
+     * @return {@link List}<{@link Entry}>
+     */
+    public List<Entry> dayTop(@NotNull LocalDate day, int page, int size) {
+        return top(dayKey(day), page, size);
+    }
+
+    /**
+     * <p>Top members of rolling board (last N days, today included), day boards merged by weighted union</p>
+     * <p>近N天滚动榜分页查询，按权重合并日榜（第i天前的权重为 decay^i，1为不衰减）；
+     * 合并结果不存在时才重新合并，有效期内的分页查询直接读取已合并的结果，合并与查询在同一脚本中完成</p>
+     *
+     * @param days  days
+     * @param decay weight decay of each older day, 1 is no decay
+     * @param page  page number, start from 1
+     * @param size  page size
+     * @return {@link List}<{@link Entry}>
+     */
+    @SuppressWarnings("unchecked")
+    public List<Entry> rollingTop(int days, double decay, int page, int size) {
+        if (days <= 0) {
+            throw new IllegalArgumentException("rolling days must be positive");
+        }
+        long start = (long) (Math.max(1, page) - 1) * size;
+        LocalDate today = LocalDate.now(zone);
+        // decay is part of the key, boards of different weights are not shared
+        List<String> keys = new ArrayList<>(days + 1);
+        keys.add(name + ":rolling:" + days + ":" + decay);
+        String[] args = new String[days + 3];
+        args[0] = String.valueOf(ROLLING_TTL.toMillis());
+        args[1] = String.valueOf(start);
+        args[2] = String.valueOf(start + size - 1);
+        for (int i = 0; i < days; i++) {
+            keys.add(dayKey(today.minusDays(i)));
+            args[i + 3] = String.valueOf(Math.pow(decay, i));
+        }
+        List<String> reply = RedisUtil.TEMPLATE.execute(ROLLING_SCRIPT, keys, (Object[]) args);
+        if (reply == null || reply.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Entry> entries = new ArrayList<>(reply.size() / 2);
+        for (int i = 0; i + 1 < reply.size(); i += 2) {
+            entries.add(new Entry(reply.get(i), Double.parseDouble(reply.get(i + 1)), start + entries.size() + 1));
+        }
+        return entries;
+    }
+
+    /**
+     * <p>Rank and score of member in total board</p>
+     * <p>查询成员在总榜的排名与分数（单次管道）</p>
+     *
+     * @param member member
+     * @return {@link Entry}, null is not in board
+     */
+    @Nullable
+    public Entry rank(@NotNull String member) {
+        RedisPipeline pipeline = RedisPipeline.create();
+        RedisPipeline.Response<Long> rank = pipeline.zRevRank(name, member);
+        RedisPipeline.Response<Double> score = pipeline.zScore(name, member);
+        pipeline.sync();
+        if (rank.get() == null || score.get() == null) {
+            return null;
+        }
+        return new Entry(member, score.get(), rank.get() + 1);
+    }
+
+    /**
+     * <p>Member with neighbors in total board</p>
+     * <p>查询成员及其前后各N名（单次脚本调用）</p>
+     *
+     * @param member    member
+     * @param neighbors neighbor count of each side
+     * @return {@link List}<{@link Entry}>, empty is not in board
+     */
+    @SuppressWarnings("unchecked")
+    public List<Entry> around(@NotNull String member, int neighbors) {
+        List<String> reply = RedisUtil.TEMPLATE.execute(AROUND_SCRIPT, List.of(name), member,
+                String.valueOf(Math.max(0, neighbors)));
+        if (reply == null || reply.isEmpty()) {
+            return Collections.emptyList();
+        }
+        long start = Long.parseLong(reply.get(0));
+        List<Entry> entries = new ArrayList<>(reply.size() / 2);
+        for (int i = 1; i + 1 < reply.size(); i += 2) {
+            entries.add(new Entry(reply.get(i), Double.parseDouble(reply.get(i + 1)), start + entries.size() + 1));
+        }
+        return entries;
+    }
+
+    /**
+     * <p>Remove and return top members of total board (ZPOPMAX)</p>
+     * <p>弹出总榜前N名</p>
+     *
+     * @param count count
+     * @return {@link List}<{@link Entry}>
+     */
+    public List<Entry> popTop(long count) {
+        return entries(RedisZSetUtil.popMax(name, count), 0);
+    }
+
+    /**
+     * <p>Remove member from total board</p>
+     * <p>从总榜删除成员</p>
+     *
+     * @param member member
+     * @return boolean
+     */
+    public boolean remove(@NotNull String member) {
+        Long removed = RedisZSetUtil.remove(name, member);
+        return removed != null && removed > 0;
+    }
+
+    /**
+     * <p>Member count of total board</p>
+     * <p>总榜成员数量</p>
+     *
+     * @return long
+     */
+    public long size() {
+        Long size = RedisZSetUtil.zCard(name);
+        return size == null ? 0 : size;
+    }
+
+    private List<Entry> top(String key, int page, int size) {
+        long start = (long) (Math.max(1, page) - 1) * size;
+        return entries(RedisZSetUtil.reverseRangeWithScores(key, start, start + size - 1), start);
+    }
+
+    private String dayKey(LocalDate day) {
+        return name + ":d:" + day.format(DAY_FORMAT);
+    }
+
+    private static List<Entry> entries(@Nullable Set<ZSetOperations.TypedTuple<String>> tuples, long start) {
+        if (tuples == null || tuples.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Entry> entries = new ArrayList<>(tuples.size());
+        for (ZSetOperations.TypedTuple<String> tuple : tuples) {
+            Double score = tuple.getScore();
+            entries.add(new Entry(tuple.getValue(), score == null ? 0 : score, start + entries.size() + 1));
+        }
+        return entries;
+    }
+
+    /**
+     * <p>Leaderboard entry</p>
+     * <p>排行榜条目</p>
+     *
+     * @param member member
+     * @param score  score
+     * @param rank   rank, start from 1
+     */
+    public record Entry(String member, double score, long rank) {
+    }
+}
@@ -0,0 +1,292 @@
+package cn.tangshh.universal.core.util;
+
+import cn.hutool.cache.impl.LRUCache;
+import com.fasterxml.jackson.core.type.TypeReference;
+import jakarta.annotation.Nullable;
+import jakarta.validation.constraints.NotNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * <p>Redis near cache (L1 in-process cache)</p>
+ * <p>Redis本地近端缓存，为 {@link RedisStrUtil} / {@link RedisHashUtil} 的读操作提供进程内缓存</p>
+ * <p>ps: 写操作（set/put/del等）会清除本地缓存并通过 pub/sub 通知其他节点；
+ * 键在Redis中自然过期不会通知，由本地TTL兜底</p>
+ *
+ * @author Tang
+ * @version v1.0
+ */
+@Slf4j
+public final class RedisNearCache implements MessageListener, InitializingBean, DisposableBean {
+    private final static TypeReference<List<String>> KEYS_TYPE = new TypeReference<>() {
+    };
+    private static volatile RedisNearCache instance;
+
+    private final LRUCache<String, Holder> cache;
+    private final StringRedisTemplate template;
+    private final String channel;
+    private final List<String> keyPrefixes;
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder invalidateCount = new LongAdder();
+
+    /**
+     * @param template     redis template
+     * @param maximumSize  maximum cached redis key
+     * @param ttl          local valid time
+     * @param channel      invalidate channel
+     * @param keyPrefixes  cached key prefixes (empty is all key)
+     */
+    public RedisNearCache(@NotNull StringRedisTemplate template, int maximumSize, @NotNull Duration ttl,
+                          @NotNull String channel, @NotNull Collection<String> keyPrefixes) {
+        this.cache = new LRUCache<>(maximumSize, ttl.toMillis());
+        this.template = template;
+        this.channel = channel;
+        this.keyPrefixes = List.copyOf(keyPrefixes);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        instance = this;
+    }
+
+    @Override
+    public void destroy() {
+        instance = null;
+        cache.clear();
+    }
+
+    /**
+     * <p>Get current near cache</p>
+     * <p>获取当前近端缓存，未启用时返回null</p>
+     *
+     * @return {@link RedisNearCache}
+     */
+    @Nullable
+    public static RedisNearCache current() {
+        return instance;
+    }
+
+    /**
+     * <p>Cached string value read</p>
+     * <p>读取String值，未启用或不匹配前缀时直接读取Redis</p>
+     *
+     * @param key    key
+     * @param loader redis loader
+     * @return {@link String}
+     */
+    static String getValue(String key, Supplier<String> loader) {
+        RedisNearCache nearCache = instance;
+        if (nearCache == null || !nearCache.matches(key)) {
+            return loader.get();
+        }
+        Holder holder = nearCache.holder(key);
+        String value = holder.value;
+        if (value != null) {
+            nearCache.hitCount.increment();
+            return value;
+        }
+        nearCache.missCount.increment();
+        value = loader.get();
+        holder.value = value;
+        return value;
+    }
+
+    /**
+     * <p>Cached hash value read</p>
+     * <p>读取Hash值，未启用或不匹配前缀时直接读取Redis</p>
+     *
+     * @param key     key
+     * @param hashKey hash key
+     * @param loader  redis loader
+     * @return {@link String}
+     */
+    static String getHashValue(String key, String hashKey, Supplier<String> loader) {
+        RedisNearCache nearCache = instance;
+        if (nearCache == null || !nearCache.matches(key)) {
+            return loader.get();
+        }
+        Holder holder = nearCache.holder(key);
+        Map<String, String> entries = holder.entries;
+        String value = entries != null ? entries.get(hashKey) : holder.fields.get(hashKey);
+        if (value != null) {
+            nearCache.hitCount.increment();
+            return value;
+        }
+        nearCache.missCount.increment();
+        value = loader.get();
+        if (value != null) {
+            holder.fields.put(hashKey, value);
+        }
+        return value;
+    }
+
+    /**
+     * <p>Cached hash entries read</p>
+     * <p>读取Hash全部键值对，未启用或不匹配前缀时直接读取Redis</p>
+     *
+     * @param key    key
+     * @param loader redis loader
+     * @return {@link Map}<{@link String}, {@link String}>
+     */
+    static Map<String, String> getEntries(String key, Supplier<Map<String, String>> loader) {
+        RedisNearCache nearCache = instance;
+        if (nearCache == null || !nearCache.matches(key)) {
+            return loader.get();
+        }
+        Holder holder = nearCache.holder(key);
+        Map<String, String> entries = holder.entries;
+        if (entries != null) {
+            nearCache.hitCount.increment();
+            return entries;
+        }
+        nearCache.missCount.increment();
+        entries = loader.get();
+        if (entries != null && !entries.isEmpty()) {
+            entries = Collections.unmodifiableMap(entries);
+            holder.entries = entries;
+        }
+        return entries;
+    }
+
+    /**
+     * <p>Invalidate local cache and notify other nodes</p>
+     * <p>清除本地缓存并通知其他节点，未启用时忽略</p>
+     *
+     * @param keys keys
+     */
+    static void invalidate(String... keys) {
+        invalidate(Arrays.asList(keys));
+    }
+
+    /**
+     * <p>Invalidate local cache and notify other nodes</p>
+     * <p>清除本地缓存（含 {@link RedisHotKeyDetector} 热键本地缓存）并通知其他节点，未启用时忽略</p>
+     *
+     * @param keys keys
+     */
+    static void invalidate(Collection<String> keys) {
+        RedisHotKeyDetector.invalidate(keys);
+        RedisNearCache nearCache = instance;
+        if (nearCache == null || keys.isEmpty()) {
+            return;
+        }
+        List<String> matched = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            if (nearCache.matches(key)) {
+                matched.add(key);
+            }
+        }
+        if (matched.isEmpty()) {
+            return;
+        }
+        nearCache.evict(matched);
+        try {
+            nearCache.template.convertAndSend(nearCache.channel, JacksonUtil.toJson(matched));
+        } catch (Exception e) {
+            log.warn("near cache invalidate publish failed, keys: {}", matched, e);
+        }
+    }
+
+    @Override
+    public void onMessage(@NotNull Message message, @Nullable byte[] pattern) {
+        List<String> keys = JacksonUtil.parseJson(message.getBody(), KEYS_TYPE);
+        if (keys != null) {
+            evict(keys);
+        }
+    }
+
+    /**
+     * <p>Clear all local cache</p>
+     * <p>清空本地缓存</p>
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    /**
+     * <p>Cache statistics</p>
+     * <p>缓存命中统计</p>
+     *
+     * @return {@link Stats}
+     */
+    public Stats stats() {
+        return new Stats(hitCount.sum(), missCount.sum(), invalidateCount.sum(), cache.size(), cache.capacity());
+    }
+
+    /**
+     * <p>Invalidate channel</p>
+     * <p>失效通知频道</p>
+     *
+     * @return {@link String}
+     */
+    public String channel() {
+        return channel;
+    }
+
+    private void evict(Collection<String> keys) {
+        for (String key : keys) {
+            cache.remove(key);
+            invalidateCount.increment();
+        }
+    }
+
+    private Holder holder(String key) {
+        return cache.get(key, false, Holder::new);
+    }
+
+    private boolean matches(String key) {
+        if (keyPrefixes.isEmpty()) {
+            return true;
+        }
+        for (String prefix : keyPrefixes) {
+            if (key.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * <p>Per redis key holder, a write removes the whole holder,
+     * so a concurrent load can only fill a detached holder</p>
+     */
+    private static final class Holder {
+        private final Map<String, String> fields = new ConcurrentHashMap<>();
+        private volatile String value;
+        private volatile Map<String, String> entries;
+    }
+
+    /**
+     * <p>Near cache statistics</p>
+     * <p>近端缓存统计</p>
+     *
+     * @param hitCount        hit count
+     * @param missCount       miss count
+     * @param invalidateCount invalidate count
+     * @param size            cached key size
+     * @param capacity        maximum size
+     */
+    public record Stats(long hitCount, long missCount, long invalidateCount, int size, int capacity) {
+        /**
+         * <p>Hit rate</p>
+         * <p>命中率</p>
+         *
+         * @return double
+         */
+        public double hitRate() {
+            long total = hitCount + missCount;
+            return total == 0 ? 0 : (double) hitCount / total;
+        }
+    }
+}
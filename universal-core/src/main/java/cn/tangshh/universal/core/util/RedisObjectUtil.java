@@ -0,0 +1,264 @@
+package cn.tangshh.universal.core.util;
+
+import cn.hutool.extra.spring.SpringUtil;
+import cn.tangshh.universal.core.codec.RedisCodecRegistry;
+import com.fasterxml.jackson.core.type.TypeReference;
+import jakarta.annotation.Nullable;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.ListOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * <p>Redis Object Util</p>
+ * <p>Redis对象存取工具，值经 {@link RedisCodecRegistry} 按键前缀选择的编码器（JSON/Smile/CBOR/自定义）读写</p>
+ * <p>ps: 读取时按值头部自动识别编码格式，可读取 {@link RedisStrUtil} 写入的JSON数据</p>
+ *
+ * @author Tang
+ * @version v1.0
+ */
+public final class RedisObjectUtil extends RedisUtil {
+    private final static RedisTemplate<String, byte[]> BYTE_TEMPLATE;
+    private final static ValueOperations<String, byte[]> VALUE_OPERATIONS;
+    private final static HashOperations<String, String, byte[]> HASH_OPERATIONS;
+    private final static ListOperations<String, byte[]> LIST_OPERATIONS;
+
+    static {
+        BYTE_TEMPLATE = SpringUtil.getBean("byteRedisTemplate");
+        VALUE_OPERATIONS = BYTE_TEMPLATE.opsForValue();
+        HASH_OPERATIONS = BYTE_TEMPLATE.opsForHash();
+        LIST_OPERATIONS = BYTE_TEMPLATE.opsForList();
+    }
+
+    private RedisObjectUtil() {
+    }
+
+    /**
+     * <p>Set value</p>
+     * <p>设置值</p>
+     *
+     * @param key   key
+     * @param value value
+     */
+    public static void set(@NotNull String key, @NotNull Object value) {
+        VALUE_OPERATIONS.set(key, encode(key, value));
+        RedisNearCache.invalidate(key);
+    }
+
+    /**
+     * <p>Set value and valid time</p>
+     * <p>设置值与有效期</p>
+     *
+     * @param key     key
+     * @param value   value
+     * @param timeout valid time
+     */
+    public static void setEx(@NotNull String key, @NotNull Object value, @NotNull Duration timeout) {
+        VALUE_OPERATIONS.set(key, encode(key, value), timeout);
+        RedisNearCache.invalidate(key);
+    }
+
+    /**
+     * <p>Set value and valid time if not exist key</p>
+     * <p>键不存在时设置值与有效期</p>
+     *
+     * @param key     key
+     * @param value   value
+     * @param timeout valid time
+     * @return boolean
+     */
+    public static boolean setNx(@NotNull String key, @NotNull Object value, @NotNull Duration timeout) {
+        boolean success = Boolean.TRUE.equals(VALUE_OPERATIONS.setIfAbsent(key, encode(key, value), timeout));
+        if (success) {
+            RedisNearCache.invalidate(key);
+        }
+        return success;
+    }
+
+    /**
+     * <p>Set multiple key-value</p>
+     * <p>批量设置值</p>
+     *
+     * @param map {key:value,key:value,...}
+     */
+    public static void batchSet(@NotNull Map<String, ?> map) {
+        Map<String, byte[]> bytesMap = new HashMap<>(map.size());
+        map.forEach((k, v) -> bytesMap.put(k, encode(k, v)));
+        VALUE_OPERATIONS.multiSet(bytesMap);
+        RedisNearCache.invalidate(map.keySet());
+    }
+
+    /**
+     * <p>Get value</p>
+     * <p>获取值</p>
+     *
+     * @param key    key
+     * @param tClass target type class
+     * @return {@link T}
+     */
+    @Nullable
+    public static <T> T get(@NotNull String key, @NotNull Class<T> tClass) {
+        return decode(VALUE_OPERATIONS.get(key), tClass);
+    }
+
+    /**
+     * <p>Get value</p>
+     * <p>获取值</p>
+     *
+     * @param key       key
+     * @param reference reference
+     * @return {@link T}
+     */
+    @Nullable
+    public static <T> T get(@NotNull String key, @NotNull TypeReference<T> reference) {
+        return RedisCodecRegistry.current().decode(VALUE_OPERATIONS.get(key), reference);
+    }
+
+    /**
+     * <p>Get multiple value</p>
+     * <p>获取多个值，不存在的键对应null</p>
+     *
+     * @param keys   keys
+     * @param tClass target type class
+     * @return {@link List}<{@link T}>
+     */
+    public static <T> List<T> batchGet(@NotNull Collection<String> keys, @NotNull Class<T> tClass) {
+        List<byte[]> values = VALUE_OPERATIONS.multiGet(keys);
+        if (values == null) {
+            return Collections.emptyList();
+        }
+        List<T> result = new ArrayList<>(values.size());
+        for (byte[] value : values) {
+            result.add(decode(value, tClass));
+        }
+        return result;
+    }
+
+    /**
+     * <p>Add hash value</p>
+     * <p>添加Hash值</p>
+     *
+     * @param key       key
+     * @param hashKey   hash key
+     * @param hashValue hash value
+     */
+    public static void hPut(@NotNull String key, @NotNull Object hashKey, @NotNull Object hashValue) {
+        HASH_OPERATIONS.put(key, JacksonUtil.toJson(hashKey), encode(key, hashValue));
+        RedisNearCache.invalidate(key);
+    }
+
+    /**
+     * <p>Get hash value</p>
+     * <p>获取Hash值</p>
+     *
+     * @param key     key
+     * @param hashKey hash key
+     * @param tClass  target type class
+     * @return {@link T}
+     */
+    @Nullable
+    public static <T> T hGet(@NotNull String key, @NotNull Object hashKey, @NotNull Class<T> tClass) {
+        return decode(HASH_OPERATIONS.get(key, JacksonUtil.toJson(hashKey)), tClass);
+    }
+
+    /**
+     * <p>Get all key-value</p>
+     * <p>获取全部键值对</p>
+     *
+     * @param key    key
+     * @param tClass value type class
+     * @return {@link Map}<{@link String}, {@link T}>
+     */
+    public static <T> Map<String, T> hEntries(@NotNull String key, @NotNull Class<T> tClass) {
+        Map<String, byte[]> entries = HASH_OPERATIONS.entries(key);
+        Map<String, T> result = new HashMap<>(entries.size());
+        entries.forEach((k, v) -> result.put(k, decode(v, tClass)));
+        return result;
+    }
+
+    /**
+     * <p>Left push a value</p>
+     * <p>左侧推入一个值</p>
+     *
+     * @param key   key
+     * @param value value
+     * @return {@link Long}
+     */
+    @Nullable
+    public static Long lPush(@NotNull String key, @NotNull Object value) {
+        return LIST_OPERATIONS.leftPush(key, encode(key, value));
+    }
+
+    /**
+     * <p>Right push a value</p>
+     * <p>右侧推入一个值</p>
+     *
+     * @param key   key
+     * @param value value
+     * @return {@link Long}
+     */
+    @Nullable
+    public static Long rPush(@NotNull String key, @NotNull Object value) {
+        return LIST_OPERATIONS.rightPush(key, encode(key, value));
+    }
+
+    /**
+     * <p>Left pop a value</p>
+     * <p>左侧弹出一个值</p>
+     *
+     * @param key    key
+     * @param tClass target type class
+     * @return {@link T}
+     */
+    @Nullable
+    public static <T> T lPop(@NotNull String key, @NotNull Class<T> tClass) {
+        return decode(LIST_OPERATIONS.leftPop(key), tClass);
+    }
+
+    /**
+     * <p>Right pop a value</p>
+     * <p>右侧弹出一个值</p>
+     *
+     * @param key    key
+     * @param tClass target type class
+     * @return {@link T}
+     */
+    @Nullable
+    public static <T> T rPop(@NotNull String key, @NotNull Class<T> tClass) {
+        return decode(LIST_OPERATIONS.rightPop(key), tClass);
+    }
+
+    /**
+     * <p>Query values within range</p>
+     * <p>查询范围内的值</p>
+     *
+     * @param key    key
+     * @param start  start index
+     * @param end    end index
+     * @param tClass target type class
+     * @return {@link List}<{@link T}>
+     */
+    public static <T> List<T> lRange(@NotNull String key, long start, long end, @NotNull Class<T> tClass) {
+        List<byte[]> values = LIST_OPERATIONS.range(key, start, end);
+        if (values == null) {
+            return Collections.emptyList();
+        }
+        List<T> result = new ArrayList<>(values.size());
+        for (byte[] value : values) {
+            result.add(decode(value, tClass));
+        }
+        return result;
+    }
+
+    private static byte[] encode(String key, Object value) {
+        return RedisCodecRegistry.current().encode(key, value);
+    }
+
+    private static <T> T decode(byte[] value, Class<T> tClass) {
+        return RedisCodecRegistry.current().decode(value, tClass);
+    }
+}
@@ -0,0 +1,745 @@
+package cn.tangshh.universal.core.util;
+
+import jakarta.annotation.Nullable;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.BitFieldSubCommands;
+import org.springframework.data.redis.connection.zset.Aggregate;
+import org.springframework.data.redis.connection.zset.Weights;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ZSetOperations;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * <p>Redis Pipeline</p>
+ * <p>Redis管道批量命令构建器，将多条命令合并为一次网络往返</p>
+ * <p>example:</p>
+ * <pre>
+ * RedisPipeline pipeline = RedisPipeline.create();
+ * RedisPipeline.Response&lt;User&gt; user = pipeline.get("user:1", User.class);
+ * RedisPipeline.Response&lt;Long&gt; size = pipeline.lSize("queue");
+ * pipeline.sync();
+ * user.get();
+ * </pre>
+ * <p>ps: 实例非线程安全，单次使用；String/Hash写命令的键在发送后清除 {@link RedisNearCache} 本地缓存并通知其他节点</p>
+ *
+ * @author Tang
+ * @version v1.0
+ */
+public final class RedisPipeline {
+    private final List<Command<?>> commands = new ArrayList<>();
+    /** string / hash keys written, near cache invalidated after sync */
+    private final Set<String> writtenKeys = new LinkedHashSet<>();
+    private boolean executed;
+
+    private RedisPipeline() {
+    }
+
+    /**
+     * <p>Create a new pipeline</p>
+     * <p>创建管道</p>
+     *
+     * @return {@link RedisPipeline}
+     */
+    public static RedisPipeline create() {
+        return new RedisPipeline();
+    }
+
+    /**
+     * <p>Queued command size</p>
+     * <p>已入队的命令数量</p>
+     *
+     * @return int
+     */
+    public int size() {
+        return commands.size();
+    }
+
+    // ---------------------------------------------------------------- key
+
+    /**
+     * <p>Query key is exist</p>
+     * <p>查询键是否存在</p>
+     *
+     * @param key key
+     * @return {@link Response}<{@link Boolean}>
+     */
+    public Response<Boolean> exists(@NotNull String key) {
+        return queue(ops -> ops.hasKey(key), RedisPipeline::toBoolean);
+    }
+
+    /**
+     * <p>Delete key</p>
+     * <p>删除键</p>
+     *
+     * @param key key
+     * @return {@link Response}<{@link Boolean}>
+     */
+    public Response<Boolean> del(@NotNull String key) {
+        writtenKeys.add(key);
+        return queue(ops -> ops.delete(key), RedisPipeline::toBoolean);
+    }
+
+    /**
+     * <p>Set key valid time</p>
+     * <p>设置键有效期</p>
+     *
+     * @param key     key
+     * @param timeout valid time
+     * @return {@link Response}<{@link Boolean}>
+     */
+    public Response<Boolean> expire(@NotNull String key, @NotNull Duration timeout) {
+        return queue(ops -> ops.expire(key, timeout), RedisPipeline::toBoolean);
+    }
+
+    // ---------------------------------------------------------------- string
+
+    /**
+     * <p>Get value</p>
+     * <p>获取值</p>
+     *
+     * @param key key
+     * @return {@link Response}<{@link String}>
+     */
+    public Response<String> get(@NotNull String key) {
+        return queue(ops -> ops.opsForValue().get(key), String.class::cast);
+    }
+
+    /**
+     * <p>Get value and deserialize json</p>
+     * <p>获取值并反序列化</p>
+     *
+     * @param key    key
+     * @param tClass target type class
+     * @return {@link Response}<{@link T}>
+     */
+    public <T> Response<T> get(@NotNull String key, @NotNull Class<T> tClass) {
+        return queue(ops -> ops.opsForValue().get(key), e -> JacksonUtil.parseJson((String) e, tClass));
+    }
+
+    /**
+     * <p>Get multiple value</p>
+     * <p>获取多个值</p>
+     *
+     * @param keys keys
+     * @return {@link Response}<{@link List}<{@link String}>>
+     */
+    @SuppressWarnings("unchecked")
+    public Response<List<String>> batchGet(@NotNull Collection<String> keys) {
+        return queue(ops -> ops.opsForValue().multiGet(keys), e -> (List<String>) e);
+    }
+
+    /**
+     * <p>Set value</p>
+     * <p>设置值</p>
+     *
+     * @param key   key
+     * @param value value
+     * @return {@link Response}<{@link Boolean}>
+     */
+    public Response<Boolean> set(@NotNull String key, Object value) {
+        String json = JacksonUtil.toJson(value);
+        writtenKeys.add(key);
+        return queue(ops -> ops.opsForValue().set(key, json), RedisPipeline::toBoolean);
+    }
+
+    /**
+     * <p>Set value and valid time</p>
+     * <p>设置值与有效期</p>
+     *
+     * @param key     key
+     * @param value   value
+     * @param timeout valid time
+     * @return {@link Response}<{@link Boolean}>
+     */
+    public Response<Boolean> setEx(@NotNull String key, Object value, @NotNull Duration timeout) {
+        String json = JacksonUtil.toJson(value);
+        writtenKeys.add(key);
+        return queue(ops -> ops.opsForValue().set(key, json, timeout), RedisPipeline::toBoolean);
+    }
+
+    /**
+     * <p>Value increment</p>
+     * <p>值自增</p>
+     *
+     * @param key       key
+     * @param increment increment
+     * @return {@link Response}<{@link Long}>
+     */
+    public Response<Long> incr(@NotNull String key, long increment) {
+        writtenKeys.add(key);
+        return queue(ops -> ops.opsForValue().increment(key, increment), Long.class::cast);
+    }
+
+    // ---------------------------------------------------------------- bitmap
+
+    /**
+     * <p>Set bit value at offset</p>
+     * <p>设置位图指定偏移的值（SETBIT）</p>
+     *
+     * @param key    key
+     * @param offset bit offset
+     * @param value  bit value
+     * @return {@link Response}<{@link Boolean}> original bit value
+     */
+    public Response<Boolean> setBit(@NotNull String key, long offset, boolean value) {
+        writtenKeys.add(key);
+        return queue(ops -> ops.opsForValue().setBit(key, offset, value), RedisPipeline::toBoolean);
+    }
+
+    /**
+     * <p>Get bit value at offset</p>
+     * <p>获取位图指定偏移的值（GETBIT）</p>
+     *
+     * @param key    key
+     * @param offset bit offset
+     * @return {@link Response}<{@link Boolean}>
+     */
+    public Response<Boolean> getBit(@NotNull String key, long offset) {
+        return queue(ops -> ops.opsForValue().getBit(key, offset), RedisPipeline::toBoolean);
+    }
+
+    /**
+     * <p>Execute multiple bit field sub commands in one command</p>
+     * <p>单条命令执行多个位域子命令（BITFIELD）</p>
+     *
+     * @param key         key
+     * @param subCommands sub commands
+     * @return {@link Response}<{@link List}<{@link Long}>> result of each sub command
+     */
+    @SuppressWarnings("unchecked")
+    public Response<List<Long>> bitField(@NotNull String key, @NotNull BitFieldSubCommands subCommands) {
+        writtenKeys.add(key);
+        return queue(ops -> ops.opsForValue().bitField(key, subCommands), e -> (List<Long>) e);
+    }
+
+    // ---------------------------------------------------------------- hash
+
+    /**
+     * <p>Get hash value</p>
+     * <p>获取Hash值</p>
+     *
+     * @param key     key
+     * @param hashKey hash key
+     * @return {@link Response}<{@link String}>
+     */
+    public Response<String> hGet(@NotNull String key, @NotNull Object hashKey) {
+        String field = JacksonUtil.toJson(hashKey);
+        return queue(ops -> ops.opsForHash().get(key, field), String.class::cast);
+    }
+
+    /**
+     * <p>Get hash value and deserialize json</p>
+     * <p>获取Hash值并反序列化</p>
+     *
+     * @param key     key
+     * @param hashKey hash key
+     * @param tClass  target type class
+     * @return {@link Response}<{@link T}>
+     */
+    public <T> Response<T> hGet(@NotNull String key, @NotNull Object hashKey, @NotNull Class<T> tClass) {
+        String field = JacksonUtil.toJson(hashKey);
+        return queue(ops -> ops.opsForHash().get(key, field), e -> JacksonUtil.parseJson((String) e, tClass));
+    }
+
+    /**
+     * <p>Get multiple hash value</p>
+     * <p>获取多个Hash值（HMGET）</p>
+     *
+     * @param key      key
+     * @param hashKeys hash keys
+     * @return {@link Response}<{@link List}<{@link String}>>
+     */
+    @SuppressWarnings("unchecked")
+    public Response<List<String>> hMultiGet(@NotNull String key, @NotNull Collection<?> hashKeys) {
+        List<Object> fields = new ArrayList<>(hashKeys.size());
+        hashKeys.forEach(hashKey -> fields.add(JacksonUtil.toJson(hashKey)));
+        return queue(ops -> ops.opsForHash().multiGet(key, fields), e -> (List<String>) e);
+    }
+
+    /**
+     * <p>Get all key-value</p>
+     * <p>获取全部键值对</p>
+     *
+     * @param key key
+     * @return {@link Response}<{@link Map}<{@link String}, {@link String}>>
+     */
+    @SuppressWarnings("unchecked")
+    public Response<Map<String, String>> hEntries(@NotNull String key) {
+        return queue(ops -> ops.opsForHash().entries(key), e -> (Map<String, String>) e);
+    }
+
+    /**
+     * <p>Add hash value</p>
+     * <p>添加Hash值</p>
+     *
+     * @param key       key
+     * @param hashKey   hash key
+     * @param hashValue hash value
+     * @return {@link Response}<{@link Boolean}> true if new field
+     */
+    public Response<Boolean> hPut(@NotNull String key, @NotNull Object hashKey, Object hashValue) {
+        String field = JacksonUtil.toJson(hashKey);
+        String json = JacksonUtil.toJson(hashValue);
+        writtenKeys.add(key);
+        return queue(ops -> ops.opsForHash().put(key, field, json), RedisPipeline::toBoolean);
+    }
+
+    /**
+     * <p>Batch add key-value</p>
+     * <p>批量添加键值对</p>
+     * <p>ps: HMSET为状态回复，管道中无返回值</p>
+     *
+     * @param key key
+     * @param map key-value
+     */
+    public void hPutAll(@NotNull String key, @NotNull Map<?, ?> map) {
+        Map<String, String> jsonMap = JacksonUtil.toJsons(map);
+        writtenKeys.add(key);
+        queueStatus(ops -> ops.opsForHash().putAll(key, jsonMap));
+    }
+
+    /**
+     * <p>Hash value increment</p>
+     * <p>Hash值自增</p>
+     *
+     * @param key       key
+     * @param hashKey   hash key
+     * @param increment increment
+     * @return {@link Response}<{@link Long}>
+     */
+    public Response<Long> hIncr(@NotNull String key, @NotNull Object hashKey, long increment) {
+        String field = JacksonUtil.toJson(hashKey);
+        writtenKeys.add(key);
+        return queue(ops -> ops.opsForHash().increment(key, field, increment), Long.class::cast);
+    }
+
+    /**
+     * <p>Delete multiple hash value</p>
+     * <p>删除多个Hash值</p>
+     *
+     * @param key      key
+     * @param hashKeys hash key
+     * @return {@link Response}<{@link Long}>
+     */
+    public Response<Long> hDel(@NotNull String key, @NotNull Object... hashKeys) {
+        Object[] fields = JacksonUtil.toJson(hashKeys);
+        writtenKeys.add(key);
+        return queue(ops -> ops.opsForHash().delete(key, fields), Long.class::cast);
+    }
+
+    // ---------------------------------------------------------------- list
+
+    /**
+     * <p>Query list size</p>
+     * <p>查询列表元素数量</p>
+     *
+     * @param key key
+     * @return {@link Response}<{@link Long}>
+     */
+    public Response<Long> lSize(@NotNull String key) {
+        return queue(ops -> ops.opsForList().size(key), Long.class::cast);
+    }
+
+    /**
+     * <p>Left push a value</p>
+     * <p>左侧推入一个值</p>
+     *
+     * @param key   key
+     * @param value value
+     * @return {@link Response}<{@link Long}>
+     */
+    public Response<Long> lPush(@NotNull String key, Object value) {
+        String json = JacksonUtil.toJson(value);
+        return queue(ops -> ops.opsForList().leftPush(key, json), Long.class::cast);
+    }
+
+    /**
+     * <p>Right push a value</p>
+     * <p>右侧推入一个值</p>
+     *
+     * @param key   key
+     * @param value value
+     * @return {@link Response}<{@link Long}>
+     */
+    public Response<Long> rPush(@NotNull String key, Object value) {
+        String json = JacksonUtil.toJson(value);
+        return queue(ops -> ops.opsForList().rightPush(key, json), Long.class::cast);
+    }
+
+    /**
+     * <p>Left pop a value</p>
+     * <p>左侧弹出一个值</p>
+     *
+     * @param key key
+     * @return {@link Response}<{@link String}>
+     */
+    public Response<String> lPop(@NotNull String key) {
+        return queue(ops -> ops.opsForList().leftPop(key), String.class::cast);
+    }
+
+    /**
+     * <p>Right pop a value</p>
+     * <p>右侧弹出一个值</p>
+     *
+     * @param key key
+     * @return {@link Response}<{@link String}>
+     */
+    public Response<String> rPop(@NotNull String key) {
+        return queue(ops -> ops.opsForList().rightPop(key), String.class::cast);
+    }
+
+    /**
+     * <p>Query values within range</p>
+     * <p>查询范围内的值</p>
+     *
+     * @param key   key
+     * @param start start index
+     * @param end   end index
+     * @return {@link Response}<{@link List}<{@link String}>>
+     */
+    @SuppressWarnings("unchecked")
+    public Response<List<String>> lRange(@NotNull String key, long start, long end) {
+        return queue(ops -> ops.opsForList().range(key, start, end), e -> (List<String>) e);
+    }
+
+    /**
+     * <p>Query values within range and deserialize json</p>
+     * <p>查询范围内的值并反序列化</p>
+     *
+     * @param key    key
+     * @param start  start index
+     * @param end    end index
+     * @param tClass target type class
+     * @return {@link Response}<{@link List}<{@link T}>>
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Response<List<T>> lRange(@NotNull String key, long start, long end, @NotNull Class<T> tClass) {
+        return queue(ops -> ops.opsForList().range(key, start, end), e -> JacksonUtil.parseJson((List<String>) e, tClass));
+    }
+
+    // ---------------------------------------------------------------- set
+
+    /**
+     * <p>Add multiple value</p>
+     * <p>添加多个值</p>
+     *
+     * @param key    key
+     * @param values value
+     * @return {@link Response}<{@link Long}>
+     */
+    public Response<Long> sAdd(@NotNull String key, @NotNull Object... values) {
+        String[] jsons = JacksonUtil.toJson(values);
+        return queue(ops -> ops.opsForSet().add(key, jsons), Long.class::cast);
+    }
+
+    /**
+     * <p>Remove multiple value</p>
+     * <p>删除多个值</p>
+     *
+     * @param key    key
+     * @param values value
+     * @return {@link Response}<{@link Long}>
+     */
+    public Response<Long> sRemove(@NotNull String key, @NotNull Object... values) {
+        Object[] jsons = JacksonUtil.toJson(values);
+        return queue(ops -> ops.opsForSet().remove(key, jsons), Long.class::cast);
+    }
+
+    /**
+     * <p>Is exist value</p>
+     * <p>是否存在值</p>
+     *
+     * @param key   key
+     * @param value value
+     * @return {@link Response}<{@link Boolean}>
+     */
+    public Response<Boolean> sExist(@NotNull String key, @NotNull Object value) {
+        String json = JacksonUtil.toJson(value);
+        return queue(ops -> ops.opsForSet().isMember(key, json), RedisPipeline::toBoolean);
+    }
+
+    /**
+     * <p>Get all values</p>
+     * <p>获取所有值</p>
+     *
+     * @param key key
+     * @return {@link Response}<{@link Set}<{@link String}>>
+     */
+    @SuppressWarnings("unchecked")
+    public Response<Set<String>> sMembers(@NotNull String key) {
+        return queue(ops -> ops.opsForSet().members(key), e -> (Set<String>) e);
+    }
+
+    // ---------------------------------------------------------------- zset
+
+    /**
+     * <p>Add value and set score</p>
+     * <p>添加值并设置分数</p>
+     *
+     * @param key   key
+     * @param value value
+     * @param score score
+     * @return {@link Response}<{@link Boolean}>
+     */
+    public Response<Boolean> zAdd(@NotNull String key, Object value, double score) {
+        String json = JacksonUtil.toJson(value);
+        return queue(ops -> ops.opsForZSet().add(key, json, score), RedisPipeline::toBoolean);
+    }
+
+    /**
+     * <p>Score increment</p>
+     * <p>分数自增</p>
+     *
+     * @param key   key
+     * @param value value
+     * @param delta increment
+     * @return {@link Response}<{@link Double}>
+     */
+    public Response<Double> zIncr(@NotNull String key, Object value, double delta) {
+        String json = JacksonUtil.toJson(value);
+        return queue(ops -> ops.opsForZSet().incrementScore(key, json, delta), Double.class::cast);
+    }
+
+    /**
+     * <p>Remove values</p>
+     * <p>删除多个值</p>
+     *
+     * @param key    key
+     * @param values value
+     * @return {@link Response}<{@link Long}>
+     */
+    public Response<Long> zRemove(@NotNull String key, @NotNull Object... values) {
+        Object[] jsons = JacksonUtil.toJson(values);
+        return queue(ops -> ops.opsForZSet().remove(key, jsons), Long.class::cast);
+    }
+
+    /**
+     * <p>Get score</p>
+     * <p>获取分数</p>
+     *
+     * @param key   key
+     * @param value value
+     * @return {@link Response}<{@link Double}>
+     */
+    public Response<Double> zScore(@NotNull String key, Object value) {
+        String json = JacksonUtil.toJson(value);
+        return queue(ops -> ops.opsForZSet().score(key, json), Double.class::cast);
+    }
+
+    /**
+     * <p>Get ranking</p>
+     * <p>获取排名</p>
+     *
+     * @param key   key
+     * @param value value
+     * @return {@link Response}<{@link Long}>
+     */
+    public Response<Long> zRank(@NotNull String key, Object value) {
+        String json = JacksonUtil.toJson(value);
+        return queue(ops -> ops.opsForZSet().rank(key, json), Long.class::cast);
+    }
+
+    /**
+     * <p>Range query</p>
+     * <p>范围查询</p>
+     *
+     * @param key   key
+     * @param start start index
+     * @param end   end index
+     * @return {@link Response}<{@link Set}<{@link String}>>
+     */
+    @SuppressWarnings("unchecked")
+    public Response<Set<String>> zRange(@NotNull String key, long start, long end) {
+        return queue(ops -> ops.opsForZSet().range(key, start, end), e -> (Set<String>) e);
+    }
+
+    /**
+     * <p>Range query with score</p>
+     * <p>范围查询（含分数）</p>
+     *
+     * @param key   key
+     * @param start start index
+     * @param end   end index
+     * @return {@link Response}<{@link Set}<{@link ZSetOperations.TypedTuple}<{@link String}>>>
+     */
+    @SuppressWarnings("unchecked")
+    public Response<Set<ZSetOperations.TypedTuple<String>>> zRangeWithScores(@NotNull String key, long start, long end) {
+        return queue(ops -> ops.opsForZSet().rangeWithScores(key, start, end), e -> (Set<ZSetOperations.TypedTuple<String>>) e);
+    }
+
+    /**
+     * <p>Get reverse ranking (descending score)</p>
+     * <p>获取倒序排名（分数从高到低）</p>
+     *
+     * @param key   key
+     * @param value value
+     * @return {@link Response}<{@link Long}>
+     */
+    public Response<Long> zRevRank(@NotNull String key, Object value) {
+        String json = JacksonUtil.toJson(value);
+        return queue(ops -> ops.opsForZSet().reverseRank(key, json), Long.class::cast);
+    }
+
+    /**
+     * <p>Reverse range query with score (descending score)</p>
+     * <p>倒序范围查询（含分数，分数从高到低）</p>
+     *
+     * @param key   key
+     * @param start start index
+     * @param end   end index
+     * @return {@link Response}<{@link Set}<{@link ZSetOperations.TypedTuple}<{@link String}>>>
+     */
+    @SuppressWarnings("unchecked")
+    public Response<Set<ZSetOperations.TypedTuple<String>>> zRevRangeWithScores(@NotNull String key, long start, long end) {
+        return queue(ops -> ops.opsForZSet().reverseRangeWithScores(key, start, end), e -> (Set<ZSetOperations.TypedTuple<String>>) e);
+    }
+
+    /**
+     * <p>Weighted union of sets and store to destination (ZUNIONSTORE)</p>
+     * <p>加权合并多个集合并存储到目标键，分数为各集合分数乘以权重之和</p>
+     *
+     * @param destKey destination key
+     * @param keys    source keys
+     * @param weights weight of each source key
+     * @return {@link Response}<{@link Long}> destination size
+     */
+    public Response<Long> zUnionStore(@NotNull String destKey, @NotNull List<String> keys, double... weights) {
+        if (keys.isEmpty()) {
+            throw new IllegalArgumentException("union keys must not be empty");
+        }
+        Weights w = weights.length == 0 ? Weights.fromSetCount(keys.size()) : Weights.of(weights);
+        return queue(ops -> ops.opsForZSet().unionAndStore(keys.get(0), keys.subList(1, keys.size()), destKey,
+                Aggregate.SUM, w), Long.class::cast);
+    }
+
+    // ---------------------------------------------------------------- execute
+
+    /**
+     * <p>Send all queued commands in one round trip</p>
+     * <p>一次网络往返发送全部命令，并回填各命令的结果</p>
+     *
+     * @return {@link List}<{@link Object}> raw results (status command excluded)
+     */
+    public List<Object> sync() {
+        if (executed) {
+            throw new IllegalStateException("pipeline already executed");
+        }
+        executed = true;
+        if (commands.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Object> results;
+        try {
+            results = RedisUtil.TEMPLATE.executePipelined(new SessionCallback<>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(@NotNull RedisOperations<K, V> operations) throws DataAccessException {
+                    RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                    for (Command<?> command : commands) {
+                        command.action.accept(ops);
+                    }
+                    return null;
+                }
+            });
+        } finally {
+            // part of the commands may be applied even if the pipeline failed
+            if (!writtenKeys.isEmpty()) {
+                RedisNearCache.invalidate(writtenKeys);
+            }
+        }
+        // status reply (HMSET etc.) are not collected by the pipeline, skip them when mapping
+        int index = 0;
+        for (Command<?> command : commands) {
+            if (command.response == null) {
+                continue;
+            }
+            command.complete(index < results.size() ? results.get(index) : null);
+            index++;
+        }
+        return results;
+    }
+
+    private <T> Response<T> queue(Consumer<RedisOperations<String, String>> action, Function<Object, T> converter) {
+        checkState();
+        Response<T> response = new Response<>(converter);
+        commands.add(new Command<>(action, response));
+        return response;
+    }
+
+    private void queueStatus(Consumer<RedisOperations<String, String>> action) {
+        checkState();
+        commands.add(new Command<>(action, null));
+    }
+
+    private void checkState() {
+        if (executed) {
+            throw new IllegalStateException("pipeline already executed");
+        }
+    }
+
+    private static Boolean toBoolean(Object value) {
+        if (value instanceof Boolean) {
+            return (Boolean) value;
+        }
+        if (value instanceof Number) {
+            return ((Number) value).longValue() > 0;
+        }
+        return value != null;
+    }
+
+    private record Command<T>(Consumer<RedisOperations<String, String>> action, @Nullable Response<T> response) {
+        void complete(Object raw) {
+            if (response != null) {
+                response.complete(raw);
+            }
+        }
+    }
+
+    /**
+     * <p>Pipeline command response</p>
+     * <p>管道命令的结果，调用 {@link RedisPipeline#sync()} 后可用</p>
+     *
+     * @author Tang
+     * @version v1.0
+     */
+    public static final class Response<T> {
+        private final Function<Object, T> converter;
+        private Object raw;
+        private boolean done;
+        private T value;
+        private boolean converted;
+
+        private Response(Function<Object, T> converter) {
+            this.converter = converter;
+        }
+
+        private void complete(Object raw) {
+            this.raw = raw;
+            this.done = true;
+        }
+
+        /**
+         * <p>Get command result</p>
+         * <p>获取命令结果</p>
+         *
+         * @return {@link T}
+         */
+        @Nullable
+        public T get() {
+            if (!done) {
+                throw new IllegalStateException("pipeline not executed, please call sync() first");
+            }
+            if (!converted) {
+                value = raw == null ? null : converter.apply(raw);
+                converted = true;
+            }
+            return value;
+        }
+    }
+}
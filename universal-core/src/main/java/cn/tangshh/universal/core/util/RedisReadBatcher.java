@@ -0,0 +1,278 @@
+package cn.tangshh.universal.core.util;
+
+import cn.hutool.core.thread.ThreadFactoryBuilder;
+import jakarta.annotation.Nullable;
+import jakarta.validation.constraints.NotNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.data.redis.connection.ClusterSlotHashUtil;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * <p>Redis read batcher (request coalescing)</p>
+ * <p>Redis读请求合并器，将短时间窗口内（或达到批量上限前）各线程提交的单键读取合并为一次管道发送：
+ * String读取合并为一条MGET（集群模式下按哈希槽拆分为多条MGET），同一Hash键的字段读取合并为一条HMGET，同键重复请求只读取一次，每个调用方各自的Future单独完成</p>
+ * <p>启用后 {@link RedisStrUtil#get(String)} / {@link RedisHashUtil#get(String, Object)} 的Redis读取自动经过合并
+ * （近端缓存命中时不经过），也可通过 {@link RedisStrUtil#getAsync(String)} / {@link RedisHashUtil#getAsync(String, Object)} 异步读取</p>
+ * <p>ps: 窗口越大合并率越高，但单次读取的延迟最多增加一个窗口；低并发时首个请求仅等待窗口时间，不会等待凑满批次</p>
+ *
+ * @author Tang
+ * @version v1.0
+ */
+@Slf4j
+public final class RedisReadBatcher implements InitializingBean, DisposableBean {
+    private static volatile RedisReadBatcher instance;
+
+    private final long windowNanos;
+    private final int maxBatch;
+    private final BlockingQueue<Request> queue = new LinkedBlockingQueue<>();
+    private final ExecutorService flusher;
+    private final Thread dispatcher;
+    private volatile boolean running;
+
+    private final LongAdder requestCount = new LongAdder();
+    private final LongAdder batchCount = new LongAdder();
+    private final LongAdder commandCount = new LongAdder();
+    private final LongAccumulator maxBatchSize = new LongAccumulator(Math::max, 0);
+
+    /**
+     * @param window       collect window after first request, zero is only batch the already queued requests
+     * @param maxBatch     maximum request of each batch, sent immediately when reached
+     * @param flushThreads threads sending batches, limit in-flight batches
+     */
+    public RedisReadBatcher(@NotNull Duration window, int maxBatch, int flushThreads) {
+        this.windowNanos = Math.max(0, window.toNanos());
+        this.maxBatch = Math.max(1, maxBatch);
+        this.flusher = Executors.newFixedThreadPool(Math.max(1, flushThreads), ThreadFactoryBuilder.create()
+                .setNamePrefix("redis-read-batch-").setDaemon(true).build());
+        this.dispatcher = ThreadFactoryBuilder.create().setNamePrefix("redis-read-batch-dispatcher-")
+                .setDaemon(true).build().newThread(this::dispatch);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        running = true;
+        dispatcher.start();
+        instance = this;
+    }
+
+    @Override
+    public void destroy() {
+        instance = null;
+        running = false;
+        dispatcher.interrupt();
+        flusher.shutdown();
+        List<Request> pending = new ArrayList<>();
+        queue.drainTo(pending);
+        fail(pending);
+    }
+
+    /**
+     * <p>Get current batcher</p>
+     * <p>获取当前读请求合并器，未启用时返回null</p>
+     *
+     * @return {@link RedisReadBatcher}
+     */
+    @Nullable
+    public static RedisReadBatcher current() {
+        return instance;
+    }
+
+    /**
+     * <p>Batched string value read</p>
+     * <p>合并读取String值，未启用时直接读取Redis</p>
+     *
+     * @param key    key
+     * @param loader redis loader
+     * @return {@link String}
+     */
+    static String getValue(String key, Supplier<String> loader) {
+        RedisReadBatcher batcher = instance;
+        return batcher == null ? loader.get() : join(batcher.get(key));
+    }
+
+    /**
+     * <p>Batched hash value read</p>
+     * <p>合并读取Hash值，未启用时直接读取Redis</p>
+     *
+     * @param key     key
+     * @param hashKey hash key
+     * @param loader  redis loader
+     * @return {@link String}
+     */
+    static String getHashValue(String key, String hashKey, Supplier<String> loader) {
+        RedisReadBatcher batcher = instance;
+        return batcher == null ? loader.get() : join(batcher.hGet(key, hashKey));
+    }
+
+    /**
+     * <p>Submit string value read</p>
+     * <p>提交String值读取，与窗口内其他读取合并为MGET</p>
+     *
+     * @param key key
+     * @return {@link CompletableFuture}<{@link String}>
+     */
+    public CompletableFuture<String> get(@NotNull String key) {
+        return submit(new Request(key, null, new CompletableFuture<>()));
+    }
+
+    /**
+     * <p>Submit hash value read</p>
+     * <p>提交Hash值读取，与窗口内同一Hash键的其他读取合并为HMGET</p>
+     *
+     * @param key     key
+     * @param hashKey hash key (serialized field)
+     * @return {@link CompletableFuture}<{@link String}>
+     */
+    public CompletableFuture<String> hGet(@NotNull String key, @NotNull String hashKey) {
+        return submit(new Request(key, hashKey, new CompletableFuture<>()));
+    }
+
+    /**
+     * <p>Statistics snapshot</p>
+     * <p>统计快照</p>
+     *
+     * @return {@link Stats}
+     */
+    public Stats stats() {
+        return new Stats(requestCount.sum(), batchCount.sum(), commandCount.sum(), maxBatchSize.get(), queue.size());
+    }
+
+    private CompletableFuture<String> submit(Request request) {
+        if (!running) {
+            request.future.completeExceptionally(new IllegalStateException("redis read batcher closed"));
+            return request.future;
+        }
+        requestCount.increment();
+        queue.add(request);
+        // closed concurrently after the running check, the request will never be dispatched
+        if (!running && queue.remove(request)) {
+            request.future.completeExceptionally(new IllegalStateException("redis read batcher closed"));
+        }
+        return request.future;
+    }
+
+    private void dispatch() {
+        while (running) {
+            List<Request> batch = new ArrayList<>(Math.min(maxBatch, 64));
+            try {
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + windowNanos;
+                while (batch.size() < maxBatch) {
+                    queue.drainTo(batch, maxBatch - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= maxBatch || remaining <= 0) {
+                        break;
+                    }
+                    Request next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                try {
+                    flusher.execute(() -> flush(batch));
+                } catch (RejectedExecutionException e) {
+                    batch.forEach(request -> request.future.completeExceptionally(e));
+                    return;
+                }
+            } catch (InterruptedException e) {
+                // closed while collecting, requests already taken from the queue are not drained by destroy
+                Thread.currentThread().interrupt();
+                fail(batch);
+                return;
+            }
+        }
+    }
+
+    private void flush(List<Request> batch) {
+        batchCount.increment();
+        maxBatchSize.accumulate(batch.size());
+        // slot -> key -> requests, hash key -> field -> requests, duplicated reads share one result
+        boolean cluster = RedisClusterSupport.isCluster();
+        Map<Integer, Map<String, List<Request>>> values = new LinkedHashMap<>();
+        Map<String, Map<String, List<Request>>> hashes = new LinkedHashMap<>();
+        for (Request request : batch) {
+            if (request.field == null) {
+                // MGET of keys in different slots is rejected by cluster
+                int slot = cluster ? ClusterSlotHashUtil.calculateSlot(request.key) : 0;
+                values.computeIfAbsent(slot, k -> new LinkedHashMap<>())
+                        .computeIfAbsent(request.key, k -> new ArrayList<>(1)).add(request);
+            } else {
+                hashes.computeIfAbsent(request.key, k -> new LinkedHashMap<>())
+                        .computeIfAbsent(request.field, k -> new ArrayList<>(1)).add(request);
+            }
+        }
+        try {
+            RedisPipeline pipeline = RedisPipeline.create();
+            Map<Integer, RedisPipeline.Response<List<String>>> valueResponses = new LinkedHashMap<>(values.size());
+            values.forEach((slot, keys) -> valueResponses.put(slot, pipeline.batchGet(keys.keySet())));
+            Map<String, RedisPipeline.Response<List<String>>> hashResponses = new LinkedHashMap<>(hashes.size());
+            hashes.forEach((key, fields) -> hashResponses.put(key, pipeline.hMultiGet(key, fields.keySet())));
+            commandCount.add(pipeline.size());
+            pipeline.sync();
+            valueResponses.forEach((slot, response) -> complete(values.get(slot), response.get()));
+            hashResponses.forEach((key, response) -> complete(hashes.get(key), response.get()));
+        } catch (Exception e) {
+            log.warn("redis batched read failed, size: {}", batch.size(), e);
+            batch.forEach(request -> request.future.completeExceptionally(e));
+        }
+    }
+
+    private static void fail(List<Request> requests) {
+        IllegalStateException closed = new IllegalStateException("redis read batcher closed");
+        requests.forEach(request -> request.future.completeExceptionally(closed));
+    }
+
+    private static void complete(Map<String, List<Request>> requests, @Nullable List<String> results) {
+        int index = 0;
+        for (List<Request> group : requests.values()) {
+            String value = results != null && index < results.size() ? results.get(index) : null;
+            group.forEach(request -> request.future.complete(value));
+            index++;
+        }
+    }
+
+    private static String join(CompletableFuture<String> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private record Request(String key, @Nullable String field, CompletableFuture<String> future) {
+    }
+
+    /**
+     * <p>Read batcher statistics</p>
+     * <p>读请求合并统计</p>
+     *
+     * @param requestCount  submitted read count
+     * @param batchCount    sent batch (round trip) count
+     * @param commandCount  sent MGET/HMGET command count
+     * @param maxBatchSize  maximum request of one batch
+     * @param queuedCount   request waiting to be batched
+     */
+    public record Stats(long requestCount, long batchCount, long commandCount, long maxBatchSize, int queuedCount) {
+        /**
+         * <p>Average request of each batch</p>
+         * <p>平均每批合并的请求数</p>
+         *
+         * @return double
+         */
+        public double averageBatchSize() {
+            return batchCount == 0 ? 0 : (double) requestCount / batchCount;
+        }
+    }
+}
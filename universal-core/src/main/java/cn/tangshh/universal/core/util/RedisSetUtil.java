@@ -6,11 +6,17 @@ import jakarta.validation.constraints.NotNull;
 import org.springframework.data.redis.core.Cursor;
 import org.springframework.data.redis.core.ScanOptions;
 import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 /**
  * <p>Redis Set Util</p>
@@ -20,6 +26,14 @@ import java.util.Set;
  * @version v1.0
  */
 public final class RedisSetUtil extends RedisUtil {
+    /** replace key with ARGV members, SADD chunked below the lua unpack limit */
+    private final static RedisScript<Long> STORE_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('del', KEYS[1])
+            for i = 1, #ARGV, 5000 do
+                redis.call('sadd', KEYS[1], unpack(ARGV, i, math.min(i + 4999, #ARGV)))
+            end
+            return redis.call('scard', KEYS[1])
+            """, Long.class);
     private final static SetOperations<String, String> OPERATIONS;
 
     static {
@@ -72,6 +86,53 @@ public final class RedisSetUtil extends RedisUtil {
         return result;
     }
 
+    /**
+     * <p>Lazy scan value by expression</p>
+     * <p>通过表达式惰性扫描值，不会一次性加载全部数据，需在使用后关闭流（try-with-resources）</p>
+     *
+     * @param key        key
+     * @param expression expression
+     * @param count      count hint of each scan
+     * @return {@link Stream}<{@link String}>
+     */
+    public static Stream<String> scanStream(@NotNull String key, @NotNull String expression, long count) {
+        return OPERATIONS.scan(key, ScanOptions.scanOptions().match(expression).count(count).build()).stream();
+    }
+
+    /**
+     * <p>Scan value by expression page by page</p>
+     * <p>通过表达式分页扫描值，consumer返回false时停止扫描</p>
+     *
+     * @param key        key
+     * @param expression expression
+     * @param count      count hint of each scan
+     * @param pageSize   page size of each callback
+     * @param consumer   page consumer, return false to stop
+     * @return long scanned count
+     */
+    public static long scan(@NotNull String key, @NotNull String expression, long count, int pageSize,
+                            @NotNull Predicate<List<String>> consumer) {
+        long total = 0;
+        List<String> page = new ArrayList<>(pageSize);
+        try (Cursor<String> cursor = OPERATIONS.scan(key, ScanOptions.scanOptions().match(expression).count(count).build())) {
+            while (cursor.hasNext()) {
+                page.add(cursor.next());
+                if (page.size() >= pageSize) {
+                    total += page.size();
+                    if (!consumer.test(page)) {
+                        return total;
+                    }
+                    page = new ArrayList<>(pageSize);
+                }
+            }
+        }
+        if (!page.isEmpty()) {
+            total += page.size();
+            consumer.test(page);
+        }
+        return total;
+    }
+
     /**
      * <p>Add multiple value</p>
      * <p>添加多个值</p>
@@ -108,7 +169,7 @@ public final class RedisSetUtil extends RedisUtil {
      */
     @Nullable
     public static Set<String> difference(@NotNull String key, @NotNull String otherKey) {
-        return OPERATIONS.difference(key, otherKey);
+        return difference(List.of(key, otherKey));
     }
 
     /**
@@ -121,7 +182,7 @@ public final class RedisSetUtil extends RedisUtil {
      */
     @Nullable
     public static Set<String> difference(@NotNull String key, @NotNull Collection<String> otherKeys) {
-        return OPERATIONS.difference(key, otherKeys);
+        return difference(concat(key, otherKeys));
     }
 
     /**
@@ -133,7 +194,11 @@ public final class RedisSetUtil extends RedisUtil {
      */
     @Nullable
     public static Set<String> difference(@NotNull Collection<String> keys) {
-        return OPERATIONS.difference(keys);
+        List<String> list = List.copyOf(keys);
+        if (!RedisClusterSupport.crossSlot(list)) {
+            return OPERATIONS.difference(list);
+        }
+        return compute(list, SetAlgebra.DIFFERENCE);
     }
 
     /**
@@ -146,7 +211,7 @@ public final class RedisSetUtil extends RedisUtil {
      */
     @Nullable
     public static Long differenceAndStore(@NotNull String key, @NotNull String otherKey, @NotNull String storeKey) {
-        return OPERATIONS.differenceAndStore(key, otherKey, storeKey);
+        return differenceAndStore(List.of(key, otherKey), storeKey);
     }
 
     /**
@@ -160,7 +225,7 @@ public final class RedisSetUtil extends RedisUtil {
      */
     @Nullable
     public static Long differenceAndStore(@NotNull String key, @NotNull Collection<String> otherKeys, @NotNull String storeKey) {
-        return OPERATIONS.differenceAndStore(key, otherKeys, storeKey);
+        return differenceAndStore(concat(key, otherKeys), storeKey);
     }
 
     /**
@@ -173,7 +238,11 @@ public final class RedisSetUtil extends RedisUtil {
      */
     @Nullable
     public static Long differenceAndStore(@NotNull Collection<String> keys, @NotNull String storeKey) {
-        return OPERATIONS.differenceAndStore(keys, storeKey);
+        List<String> list = List.copyOf(keys);
+        if (!RedisClusterSupport.crossSlot(concat(storeKey, list))) {
+            return OPERATIONS.differenceAndStore(list, storeKey);
+        }
+        return store(storeKey, compute(list, SetAlgebra.DIFFERENCE));
     }
 
     /**
@@ -186,7 +255,7 @@ public final class RedisSetUtil extends RedisUtil {
      */
     @Nullable
     public static Set<String> intersect(@NotNull String key, @NotNull String otherKey) {
-        return OPERATIONS.intersect(key, otherKey);
+        return intersect(List.of(key, otherKey));
     }
 
     /**
@@ -199,7 +268,7 @@ public final class RedisSetUtil extends RedisUtil {
      */
     @Nullable
     public static Set<String> intersect(@NotNull String key, @NotNull Collection<String> otherKeys) {
-        return OPERATIONS.intersect(key, otherKeys);
+        return intersect(concat(key, otherKeys));
     }
 
     /**
@@ -211,7 +280,11 @@ public final class RedisSetUtil extends RedisUtil {
      */
     @Nullable
     public static Set<String> intersect(@NotNull Collection<String> keys) {
-        return OPERATIONS.intersect(keys);
+        List<String> list = List.copyOf(keys);
+        if (!RedisClusterSupport.crossSlot(list)) {
+            return OPERATIONS.intersect(list);
+        }
+        return compute(list, SetAlgebra.INTERSECT);
     }
 
     /**
@@ -224,7 +297,7 @@ public final class RedisSetUtil extends RedisUtil {
      */
     @Nullable
     public static Long intersectAndStore(@NotNull String key, @NotNull String otherKey, @NotNull String storeKey) {
-        return OPERATIONS.intersectAndStore(key, otherKey, storeKey);
+        return intersectAndStore(List.of(key, otherKey), storeKey);
     }
 
     /**
@@ -238,7 +311,7 @@ public final class RedisSetUtil extends RedisUtil {
      */
     @Nullable
     public static Long intersectAndStore(@NotNull String key, @NotNull Collection<String> otherKeys, @NotNull String storeKey) {
-        return OPERATIONS.intersectAndStore(key, otherKeys, storeKey);
+        return intersectAndStore(concat(key, otherKeys), storeKey);
     }
 
     /**
@@ -251,7 +324,11 @@ public final class RedisSetUtil extends RedisUtil {
      */
     @Nullable
     public static Long intersectAndStore(@NotNull Collection<String> keys, @NotNull String storeKey) {
-        return OPERATIONS.intersectAndStore(keys, storeKey);
+        List<String> list = List.copyOf(keys);
+        if (!RedisClusterSupport.crossSlot(concat(storeKey, list))) {
+            return OPERATIONS.intersectAndStore(list, storeKey);
+        }
+        return store(storeKey, compute(list, SetAlgebra.INTERSECT));
     }
 
     /**
@@ -264,7 +341,7 @@ public final class RedisSetUtil extends RedisUtil {
      */
     @Nullable
     public static Set<String> union(@NotNull String key, @NotNull String otherKey) {
-        return OPERATIONS.union(key, otherKey);
+        return union(List.of(key, otherKey));
     }
 
     /**
@@ -277,7 +354,7 @@ public final class RedisSetUtil extends RedisUtil {
      */
     @Nullable
     public static Set<String> union(@NotNull String key, @NotNull Collection<String> otherKeys) {
-        return OPERATIONS.union(key, otherKeys);
+        return union(concat(key, otherKeys));
     }
 
     /**
@@ -289,7 +366,11 @@ public final class RedisSetUtil extends RedisUtil {
      */
     @Nullable
     public static Set<String> union(@NotNull Collection<String> otherKeys) {
-        return OPERATIONS.union(otherKeys);
+        List<String> list = List.copyOf(otherKeys);
+        if (!RedisClusterSupport.crossSlot(list)) {
+            return OPERATIONS.union(list);
+        }
+        return compute(list, SetAlgebra.UNION);
     }
 
     /**
@@ -303,7 +384,7 @@ public final class RedisSetUtil extends RedisUtil {
      */
     @Nullable
     public static Long unionAndStore(@NotNull String key, @NotNull String otherKey, @NotNull String storeKey) {
-        return OPERATIONS.unionAndStore(key, otherKey, storeKey);
+        return unionAndStore(List.of(key, otherKey), storeKey);
     }
 
     /**
@@ -317,7 +398,7 @@ public final class RedisSetUtil extends RedisUtil {
      */
     @Nullable
     public static Long unionAndStore(@NotNull String key, @NotNull Collection<String> otherKeys, @NotNull String storeKey) {
-        return OPERATIONS.unionAndStore(key, otherKeys, storeKey);
+        return unionAndStore(concat(key, otherKeys), storeKey);
     }
 
     /**
@@ -330,7 +411,11 @@ public final class RedisSetUtil extends RedisUtil {
      */
     @Nullable
     public static Long unionAndStore(@NotNull Collection<String> keys, @NotNull String storeKey) {
-        return OPERATIONS.unionAndStore(keys, storeKey);
+        List<String> list = List.copyOf(keys);
+        if (!RedisClusterSupport.crossSlot(concat(storeKey, list))) {
+            return OPERATIONS.unionAndStore(list, storeKey);
+        }
+        return store(storeKey, compute(list, SetAlgebra.UNION));
     }
 
     /**
@@ -419,4 +504,41 @@ public final class RedisSetUtil extends RedisUtil {
     public static boolean move(@NotNull String key, Object value, @NotNull String newKey) {
         return Boolean.TRUE.equals(OPERATIONS.move(key, JacksonUtil.toJson(value), newKey));
     }
+
+    private static List<String> concat(String key, Collection<String> otherKeys) {
+        List<String> keys = new ArrayList<>(otherKeys.size() + 1);
+        keys.add(key);
+        keys.addAll(otherKeys);
+        return keys;
+    }
+
+    /**
+     * <p>Cross slot set algebra computed client-side, members of each key read in parallel by node</p>
+     */
+    private static Set<String> compute(List<String> keys, SetAlgebra algebra) {
+        List<Set<String>> sets = RedisClusterSupport.forEachKey(keys, OPERATIONS::members);
+        Set<String> result = new HashSet<>(sets.get(0) == null ? Collections.emptySet() : sets.get(0));
+        for (int i = 1; i < sets.size(); i++) {
+            Set<String> other = sets.get(i) == null ? Collections.emptySet() : sets.get(i);
+            switch (algebra) {
+                case DIFFERENCE -> result.removeAll(other);
+                case INTERSECT -> result.retainAll(other);
+                case UNION -> result.addAll(other);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * <p>Replace store key with members atomically by script, MULTI is not supported by cluster connection
+     * (store key is a single slot)</p>
+     */
+    private static Long store(String storeKey, Set<String> members) {
+        Long size = TEMPLATE.execute(STORE_SCRIPT, List.of(storeKey), members.toArray());
+        return size == null ? (long) members.size() : size;
+    }
+
+    private enum SetAlgebra {
+        DIFFERENCE, INTERSECT, UNION
+    }
 }
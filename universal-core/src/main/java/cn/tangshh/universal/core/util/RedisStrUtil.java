@@ -1,15 +1,22 @@
 package cn.tangshh.universal.core.util;
 
 
+import com.fasterxml.jackson.databind.JsonNode;
 import jakarta.annotation.Nullable;
 import jakarta.validation.constraints.NotNull;
+import org.springframework.data.redis.connection.BitFieldSubCommands;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.serializer.RedisSerializer;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -39,7 +46,9 @@ public final class RedisStrUtil extends RedisUtil {
      */
     @Nullable
     public static Integer append(@NotNull String key, String value) {
-        return OPERATIONS.append(key, value);
+        Integer length = OPERATIONS.append(key, value);
+        RedisNearCache.invalidate(key);
+        return length;
     }
 
     /**
@@ -53,7 +62,9 @@ public final class RedisStrUtil extends RedisUtil {
      */
     @Nullable
     public static Double incr(@NotNull String key, double increment) {
-        return OPERATIONS.increment(key, increment);
+        Double value = OPERATIONS.increment(key, increment);
+        RedisNearCache.invalidate(key);
+        return value;
     }
 
     /**
@@ -65,7 +76,9 @@ public final class RedisStrUtil extends RedisUtil {
      */
     @Nullable
     public static Long incr(@NotNull String key, long increment) {
-        return OPERATIONS.increment(key, increment);
+        Long value = OPERATIONS.increment(key, increment);
+        RedisNearCache.invalidate(key);
+        return value;
     }
 
     /**
@@ -88,7 +101,9 @@ public final class RedisStrUtil extends RedisUtil {
      */
     @Nullable
     public static Long decr(@NotNull String key, long decrement) {
-        return OPERATIONS.decrement(key, decrement);
+        Long value = OPERATIONS.decrement(key, decrement);
+        RedisNearCache.invalidate(key);
+        return value;
     }
 
     /**
@@ -109,6 +124,7 @@ public final class RedisStrUtil extends RedisUtil {
      */
     public static void set(@NotNull String key, Object value) {
         OPERATIONS.set(key, JacksonUtil.toJson(value));
+        RedisNearCache.invalidate(key);
     }
 
     /**
@@ -120,6 +136,7 @@ public final class RedisStrUtil extends RedisUtil {
      */
     public static void setEx(@NotNull String key, Object value, long validTime) {
         OPERATIONS.set(key, JacksonUtil.toJson(value), validTime);
+        RedisNearCache.invalidate(key);
     }
 
     /**
@@ -133,6 +150,7 @@ public final class RedisStrUtil extends RedisUtil {
     public static void setEx(@NotNull String key, Object value, long validTime, @NotNull TimeUnit unit) {
         if (validTime > 0) {
             OPERATIONS.set(key, JacksonUtil.toJson(value), validTime, unit);
+            RedisNearCache.invalidate(key);
         }
     }
 
@@ -145,6 +163,7 @@ public final class RedisStrUtil extends RedisUtil {
      */
     public static void setEx(@NotNull String key, Object value, @NotNull Duration timeout) {
         OPERATIONS.set(key, JacksonUtil.toJson(value), timeout);
+        RedisNearCache.invalidate(key);
     }
 
     /**
@@ -155,7 +174,11 @@ public final class RedisStrUtil extends RedisUtil {
      * @return boolean
      */
     public static boolean setNx(@NotNull String key, Object value) {
-        return Boolean.TRUE.equals(OPERATIONS.setIfAbsent(key, JacksonUtil.toJson(value)));
+        boolean success = Boolean.TRUE.equals(OPERATIONS.setIfAbsent(key, JacksonUtil.toJson(value)));
+        if (success) {
+            RedisNearCache.invalidate(key);
+        }
+        return success;
     }
 
     /**
@@ -180,7 +203,11 @@ public final class RedisStrUtil extends RedisUtil {
      * @return boolean 是否设置成功
      */
     public static boolean setNx(@NotNull String key, Object value, long validTime, @NotNull TimeUnit unit) {
-        return Boolean.TRUE.equals(OPERATIONS.setIfAbsent(key, JacksonUtil.toJson(value), validTime, unit));
+        boolean success = Boolean.TRUE.equals(OPERATIONS.setIfAbsent(key, JacksonUtil.toJson(value), validTime, unit));
+        if (success) {
+            RedisNearCache.invalidate(key);
+        }
+        return success;
     }
 
     /**
@@ -191,7 +218,13 @@ public final class RedisStrUtil extends RedisUtil {
     public static void batchSet(@NotNull Map<String, Object> map) {
         HashMap<String, String> hashMap = new HashMap<>();
         map.forEach((k, v) -> hashMap.put(k, JacksonUtil.toJson(v)));
-        OPERATIONS.multiSet(hashMap);
+        RedisClusterSupport.fanOutCount(hashMap.keySet(), group -> {
+            Map<String, String> slotMap = new HashMap<>(group.size());
+            group.forEach(key -> slotMap.put(key, hashMap.get(key)));
+            OPERATIONS.multiSet(slotMap);
+            return group.size();
+        });
+        RedisNearCache.invalidate(map.keySet());
     }
 
     /**
@@ -201,18 +234,61 @@ public final class RedisStrUtil extends RedisUtil {
      * @return boolean
      */
     public static boolean batchSetNx(@NotNull Map<String, Object> map) {
-        return Boolean.TRUE.equals(OPERATIONS.multiSetIfAbsent(JacksonUtil.toJsons(map)));
+        boolean success = Boolean.TRUE.equals(OPERATIONS.multiSetIfAbsent(JacksonUtil.toJsons(map)));
+        if (success) {
+            RedisNearCache.invalidate(map.keySet());
+        }
+        return success;
     }
 
     /**
      * Get value
+     * <p>ps: 启用 {@link RedisNearCache} 时优先读取本地缓存，启用 {@link RedisReadBatcher} 时与并发读取合并发送</p>
      *
      * @param key key
      * @return {@link String}
      */
     @Nullable
     public static String get(@NotNull String key) {
-        return OPERATIONS.get(key);
+        return RedisHotKeyDetector.getValue(key, () -> RedisNearCache.getValue(key,
+                () -> RedisReadBatcher.getValue(key, () -> OPERATIONS.get(key))));
+    }
+
+    /**
+     * Get value at json pointer path (e.g. /a/b/0), only the path subtree is bound
+     *
+     * @param key    key
+     * @param path   json pointer path
+     * @param tClass target type class
+     * @return {@link T}
+     */
+    @Nullable
+    public static <T> T getPath(@NotNull String key, @NotNull String path, @NotNull Class<T> tClass) {
+        return JacksonUtil.readPath(get(key), path, tClass);
+    }
+
+    /**
+     * Get values at multiple json pointer paths in one pass
+     *
+     * @param key   key
+     * @param paths json pointer paths
+     * @return path -> {@link JsonNode}, not found path is absent
+     */
+    public static Map<String, JsonNode> getPaths(@NotNull String key, @NotNull Collection<String> paths) {
+        String json = get(key);
+        return json == null ? Collections.emptyMap() : JacksonUtil.readPaths(json, paths);
+    }
+
+    /**
+     * <p>Get value asynchronously</p>
+     * <p>异步获取值，启用 {@link RedisReadBatcher} 时与其他线程的并发读取合并为MGET（不读取近端缓存），未启用时同步读取</p>
+     *
+     * @param key key
+     * @return {@link CompletableFuture}<{@link String}>
+     */
+    public static CompletableFuture<String> getAsync(@NotNull String key) {
+        RedisReadBatcher batcher = RedisReadBatcher.current();
+        return batcher == null ? CompletableFuture.completedFuture(get(key)) : batcher.get(key);
     }
 
     /**
@@ -223,7 +299,9 @@ public final class RedisStrUtil extends RedisUtil {
      */
     @Nullable
     public static List<String> batchGet(@NotNull Collection<String> keys) {
-        return OPERATIONS.multiGet(keys);
+        keys.forEach(RedisHotKeyDetector::record);
+        return RedisClusterSupport.fanOut(keys instanceof List ? (List<String>) keys : new ArrayList<>(keys),
+                OPERATIONS::multiGet);
     }
 
     /**
@@ -237,6 +315,7 @@ public final class RedisStrUtil extends RedisUtil {
     @SuppressWarnings("unchecked")
     public static <T> T getAndSet(@NotNull String key, @NotNull T newValue) {
         String oldValue = OPERATIONS.getAndSet(key, JacksonUtil.toJson(newValue));
+        RedisNearCache.invalidate(key);
         return JacksonUtil.parseJson(oldValue, (Class<T>) newValue.getClass());
     }
 
@@ -248,6 +327,63 @@ public final class RedisStrUtil extends RedisUtil {
      */
     @Nullable
     public static String getAndDel(@NotNull String key) {
-        return OPERATIONS.getAndDelete(key);
+        String value = OPERATIONS.getAndDelete(key);
+        RedisNearCache.invalidate(key);
+        return value;
+    }
+
+    /**
+     * <p>Set bit value at offset</p>
+     * <p>设置位图指定偏移的值（SETBIT）</p>
+     *
+     * @param key    key
+     * @param offset bit offset
+     * @param value  bit value
+     * @return boolean original bit value
+     */
+    public static boolean setBit(@NotNull String key, long offset, boolean value) {
+        boolean original = Boolean.TRUE.equals(OPERATIONS.setBit(key, offset, value));
+        RedisNearCache.invalidate(key);
+        return original;
+    }
+
+    /**
+     * <p>Get bit value at offset</p>
+     * <p>获取位图指定偏移的值（GETBIT）</p>
+     *
+     * @param key    key
+     * @param offset bit offset
+     * @return boolean
+     */
+    public static boolean getBit(@NotNull String key, long offset) {
+        return Boolean.TRUE.equals(OPERATIONS.getBit(key, offset));
+    }
+
+    /**
+     * <p>Count set bits</p>
+     * <p>统计位图中值为1的位数（BITCOUNT）</p>
+     *
+     * @param key key
+     * @return long
+     */
+    public static long bitCount(@NotNull String key) {
+        Long count = TEMPLATE.execute((RedisCallback<Long>) connection ->
+                connection.stringCommands().bitCount(RedisSerializer.string().serialize(key)));
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * <p>Execute multiple bit field sub commands in one command</p>
+     * <p>单条命令执行多个位域子命令（BITFIELD），如批量读写多个位</p>
+     *
+     * @param key         key
+     * @param subCommands sub commands
+     * @return {@link List}<{@link Long}> result of each sub command
+     */
+    public static List<Long> bitField(@NotNull String key, @NotNull BitFieldSubCommands subCommands) {
+        List<Long> result = OPERATIONS.bitField(key, subCommands);
+        // SET/INCRBY sub commands write the value
+        RedisNearCache.invalidate(key);
+        return result == null ? Collections.emptyList() : result;
     }
 }
@@ -0,0 +1,299 @@
+package cn.tangshh.universal.core.util;
+
+import jakarta.annotation.Nullable;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.RedisStreamCommands;
+import org.springframework.data.redis.connection.stream.*;
+import org.springframework.data.redis.connection.stream.Record;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * <p>Redis Stream Util</p>
+ * <p>Redis Stream类型工具，字段名与字段值经 {@link JacksonUtil#toJson(Object)} 转换（字符串保持原样）</p>
+ *
+ * @author Tang
+ * @version v1.0
+ */
+public final class RedisStreamUtil extends RedisUtil {
+    private final static StreamOperations<String, String, String> OPERATIONS;
+    /** XAUTOCLAIM through script, the reply is nested array that the driver commands do not expose */
+    private final static RedisScript<List> AUTO_CLAIM_SCRIPT = new DefaultRedisScript<>("""
+            return redis.call('xautoclaim', KEYS[1], ARGV[1], ARGV[2], ARGV[3], ARGV[4], 'COUNT', ARGV[5])
+            """, List.class);
+
+    static {
+        OPERATIONS = TEMPLATE.opsForStream();
+    }
+
+    private RedisStreamUtil() {
+    }
+
+    /**
+     * <p>Query stream length</p>
+     * <p>查询Stream长度</p>
+     *
+     * @param key key
+     * @return long
+     */
+    public static long size(@NotNull String key) {
+        Long size = OPERATIONS.size(key);
+        return size == null ? 0 : size;
+    }
+
+    /**
+     * <p>Add record</p>
+     * <p>添加记录（XADD）</p>
+     *
+     * @param key    key
+     * @param fields fields
+     * @return {@link String} record id
+     */
+    @Nullable
+    public static String add(@NotNull String key, @NotNull Map<?, ?> fields) {
+        return add(key, fields, 0);
+    }
+
+    /**
+     * <p>Add record and trim stream to max length approximately</p>
+     * <p>添加记录并近似裁剪到最大长度（XADD MAXLEN ~），裁剪以宏节点为单位，开销远低于精确裁剪</p>
+     *
+     * @param key    key
+     * @param fields fields
+     * @param maxLen max length, non-positive is not trim
+     * @return {@link String} record id
+     */
+    @Nullable
+    public static String add(@NotNull String key, @NotNull Map<?, ?> fields, long maxLen) {
+        return add(key, fields, maxLen, true);
+    }
+
+    /**
+     * <p>Add record and trim stream to max length</p>
+     * <p>添加记录并裁剪到最大长度（XADD MAXLEN）</p>
+     *
+     * @param key         key
+     * @param fields      fields
+     * @param maxLen      max length, non-positive is not trim
+     * @param approximate approximate trimming (~)
+     * @return {@link String} record id
+     */
+    @Nullable
+    public static String add(@NotNull String key, @NotNull Map<?, ?> fields, long maxLen, boolean approximate) {
+        RedisSerializer<String> serializer = RedisSerializer.string();
+        Map<byte[], byte[]> raw = new LinkedHashMap<>(fields.size());
+        JacksonUtil.toJsons(fields).forEach((k, v) -> raw.put(serializer.serialize(k), serializer.serialize(v)));
+        RedisStreamCommands.XAddOptions options = maxLen > 0
+                ? RedisStreamCommands.XAddOptions.maxlen(maxLen).approximateTrimming(approximate)
+                : RedisStreamCommands.XAddOptions.none();
+        RecordId id = TEMPLATE.execute((RedisCallback<RecordId>) connection -> connection.streamCommands()
+                .xAdd(StreamRecords.rawBytes(raw).withStreamKey(serializer.serialize(key)), options));
+        return id == null ? null : id.getValue();
+    }
+
+    /**
+     * <p>Trim stream to max length</p>
+     * <p>裁剪Stream到最大长度</p>
+     *
+     * @param key         key
+     * @param maxLen      max length
+     * @param approximate approximate trimming (~)
+     * @return long removed count
+     */
+    public static long trim(@NotNull String key, long maxLen, boolean approximate) {
+        Long removed = OPERATIONS.trim(key, maxLen, approximate);
+        return removed == null ? 0 : removed;
+    }
+
+    /**
+     * <p>Query records within id range</p>
+     * <p>查询ID范围内的记录，可用于回放</p>
+     *
+     * @param key     key
+     * @param startId start id (inclusive), "-" is first
+     * @param endId   end id (inclusive), "+" is last
+     * @param count   maximum count
+     * @return {@link List}<{@link MapRecord}>
+     */
+    public static List<MapRecord<String, String, String>> range(@NotNull String key, @NotNull String startId,
+                                                                @NotNull String endId, int count) {
+        List<MapRecord<String, String, String>> records = OPERATIONS.range(key,
+                Range.closed(startId, endId), Limit.limit().count(count));
+        return records == null ? Collections.emptyList() : records;
+    }
+
+    /**
+     * <p>Create consumer group from the latest record, create stream if not exist</p>
+     * <p>从最新记录创建消费组（Stream不存在时自动创建），消费组已存在时忽略</p>
+     *
+     * @param key   key
+     * @param group group name
+     * @return boolean created
+     */
+    public static boolean createGroup(@NotNull String key, @NotNull String group) {
+        return createGroup(key, group, ReadOffset.latest());
+    }
+
+    /**
+     * <p>Create consumer group, create stream if not exist</p>
+     * <p>从指定位置创建消费组（Stream不存在时自动创建），消费组已存在时忽略</p>
+     *
+     * @param key    key
+     * @param group  group name
+     * @param offset start offset, {@link ReadOffset#from(String)} "0" is replay all
+     * @return boolean created
+     */
+    public static boolean createGroup(@NotNull String key, @NotNull String group, @NotNull ReadOffset offset) {
+        try {
+            OPERATIONS.createGroup(key, offset, group);
+            return true;
+        } catch (RedisSystemException e) {
+            for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+                if (cause.getMessage() != null && cause.getMessage().contains("BUSYGROUP")) {
+                    return false;
+                }
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * <p>Read new records as group consumer</p>
+     * <p>以消费组成员身份读取新记录（XREADGROUP COUNT BLOCK ... &gt;），读取的记录进入待确认列表</p>
+     *
+     * @param key      key
+     * @param group    group name
+     * @param consumer consumer name
+     * @param count    maximum count
+     * @param block    block time when no record, null is not block
+     * @return {@link List}<{@link MapRecord}>
+     */
+    public static List<MapRecord<String, String, String>> readGroup(@NotNull String key, @NotNull String group,
+                                                                    @NotNull String consumer, int count,
+                                                                    @Nullable Duration block) {
+        StreamReadOptions options = StreamReadOptions.empty().count(count);
+        if (block != null) {
+            options = options.block(block);
+        }
+        List<MapRecord<String, String, String>> records = OPERATIONS.read(Consumer.from(group, consumer), options,
+                StreamOffset.create(key, ReadOffset.lastConsumed()));
+        return records == null ? Collections.emptyList() : records;
+    }
+
+    /**
+     * <p>Read pending records of consumer</p>
+     * <p>读取消费者自己未确认的记录（XREADGROUP ... 0），用于重启后恢复</p>
+     *
+     * @param key      key
+     * @param group    group name
+     * @param consumer consumer name
+     * @param count    maximum count
+     * @return {@link List}<{@link MapRecord}>
+     */
+    public static List<MapRecord<String, String, String>> readPending(@NotNull String key, @NotNull String group,
+                                                                      @NotNull String consumer, int count) {
+        List<MapRecord<String, String, String>> records = OPERATIONS.read(Consumer.from(group, consumer),
+                StreamReadOptions.empty().count(count), StreamOffset.create(key, ReadOffset.from("0")));
+        return records == null ? Collections.emptyList() : records;
+    }
+
+    /**
+     * <p>Ack records</p>
+     * <p>确认记录（XACK）</p>
+     *
+     * @param key   key
+     * @param group group name
+     * @param ids   record ids
+     * @return long acked count
+     */
+    public static long ack(@NotNull String key, @NotNull String group, @NotNull String... ids) {
+        if (ids.length == 0) {
+            return 0;
+        }
+        Long acked = OPERATIONS.acknowledge(key, group, ids);
+        return acked == null ? 0 : acked;
+    }
+
+    /**
+     * <p>Ack records</p>
+     * <p>确认记录（XACK）</p>
+     *
+     * @param key     key
+     * @param group   group name
+     * @param records records
+     * @return long acked count
+     */
+    public static long ack(@NotNull String key, @NotNull String group,
+                           @NotNull Collection<? extends Record<String, ?>> records) {
+        return ack(key, group, records.stream().map(record -> record.getId().getValue()).toArray(String[]::new));
+    }
+
+    /**
+     * <p>Pending summary of group</p>
+     * <p>消费组待确认记录概要</p>
+     *
+     * @param key   key
+     * @param group group name
+     * @return {@link PendingMessagesSummary}
+     */
+    @Nullable
+    public static PendingMessagesSummary pending(@NotNull String key, @NotNull String group) {
+        return OPERATIONS.pending(key, group);
+    }
+
+    /**
+     * <p>Transfer pending records idle over min idle time to consumer</p>
+     * <p>将空闲超过指定时间的待确认记录转移给消费者（XAUTOCLAIM），用于恢复崩溃消费者的记录</p>
+     *
+     * @param key      key
+     * @param group    group name
+     * @param consumer consumer name
+     * @param minIdle  min idle time
+     * @param startId  scan start id, "0-0" is first
+     * @param count    maximum count
+     * @return {@link AutoClaimResult}
+     */
+    @SuppressWarnings("unchecked")
+    public static AutoClaimResult autoClaim(@NotNull String key, @NotNull String group, @NotNull String consumer,
+                                            @NotNull Duration minIdle, @NotNull String startId, int count) {
+        List<Object> reply = TEMPLATE.execute(AUTO_CLAIM_SCRIPT, List.of(key), group, consumer,
+                String.valueOf(minIdle.toMillis()), startId, String.valueOf(count));
+        if (reply == null || reply.isEmpty()) {
+            return new AutoClaimResult("0-0", Collections.emptyList());
+        }
+        List<MapRecord<String, String, String>> records = new ArrayList<>();
+        for (Object entry : (List<Object>) reply.get(1)) {
+            List<Object> pair = (List<Object>) entry;
+            // entry deleted from stream but still in pending list has no fields
+            if (pair.size() < 2 || pair.get(1) == null) {
+                continue;
+            }
+            List<Object> values = (List<Object>) pair.get(1);
+            Map<String, String> fields = new LinkedHashMap<>(values.size() / 2);
+            for (int i = 0; i + 1 < values.size(); i += 2) {
+                fields.put((String) values.get(i), (String) values.get(i + 1));
+            }
+            records.add(StreamRecords.newRecord().in(key).withId((String) pair.get(0)).ofMap(fields));
+        }
+        return new AutoClaimResult((String) reply.get(0), records);
+    }
+
+    /**
+     * <p>Result of XAUTOCLAIM</p>
+     * <p>XAUTOCLAIM结果</p>
+     *
+     * @param nextStartId start id of next scan, "0-0" is scan completed
+     * @param records     claimed records
+     */
+    public record AutoClaimResult(String nextStartId, List<MapRecord<String, String, String>> records) {
+    }
+}
@@ -5,12 +5,17 @@ import jakarta.annotation.Nullable;
 import jakarta.validation.constraints.NotNull;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.connection.DataType;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
 
-import java.util.Collection;
-import java.util.Date;
-import java.util.Set;
+import java.time.Duration;
+import java.util.*;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Redis Common Util
@@ -20,6 +25,10 @@ import java.util.concurrent.TimeUnit;
  */
 @Slf4j
 public class RedisUtil {
+    /** default scan count hint */
+    protected final static long SCAN_COUNT = 1000;
+    /** default key size of each delete batch */
+    protected final static int DELETE_BATCH = 500;
     protected final static StringRedisTemplate TEMPLATE;
 
     static {
@@ -46,7 +55,9 @@ public class RedisUtil {
      * @return boolean
      */
     public static boolean del(@NotNull String key) {
-        return Boolean.TRUE.equals(TEMPLATE.delete(key));
+        boolean success = Boolean.TRUE.equals(TEMPLATE.delete(key));
+        RedisNearCache.invalidate(key);
+        return success;
     }
 
     /**
@@ -56,8 +67,12 @@ public class RedisUtil {
      * @return long
      */
     public static long del(@NotNull Collection<String> keys) {
-        Long delNum = TEMPLATE.delete(keys);
-        return delNum == null ? 0 : delNum;
+        long delNum = RedisClusterSupport.fanOutCount(keys, group -> {
+            Long num = TEMPLATE.delete(group);
+            return num == null ? 0 : num;
+        });
+        RedisNearCache.invalidate(keys);
+        return delNum;
     }
 
     /**
@@ -105,17 +120,143 @@ public class RedisUtil {
      */
     public static void rename(@NotNull String oldKey, @NotNull String newKey) {
         TEMPLATE.rename(oldKey, newKey);
+        RedisNearCache.invalidate(oldKey, newKey);
     }
 
     /**
-     * Scan key by expression
+     * <p>Scan key by expression</p>
+     * <p>通过表达式查询键，使用SCAN游标遍历，不会像KEYS一样阻塞Redis</p>
+     * <p>ps: 结果集较大时请使用 {@link #scan(String, long)} 流式处理</p>
      *
      * @param keyExpr key expression
      * @return {@link Set}<{@link String}>
      */
-    @Nullable
     public static Set<String> keys(@NotNull String keyExpr) {
-        return TEMPLATE.keys(keyExpr);
+        try (Stream<String> stream = scan(keyExpr)) {
+            return stream.collect(Collectors.toSet());
+        }
+    }
+
+    /**
+     * <p>Lazy scan key by expression</p>
+     * <p>通过表达式惰性扫描键，需在使用后关闭流（try-with-resources）</p>
+     *
+     * @param keyExpr key expression
+     * @return {@link Stream}<{@link String}>
+     */
+    public static Stream<String> scan(@NotNull String keyExpr) {
+        return scan(keyExpr, SCAN_COUNT);
+    }
+
+    /**
+     * <p>Lazy scan key by expression</p>
+     * <p>通过表达式惰性扫描键，需在使用后关闭流（try-with-resources）</p>
+     * <p>ps: 同一个键可能被返回多次（SCAN语义）</p>
+     *
+     * @param keyExpr key expression
+     * @param count   count hint of each scan
+     * @return {@link Stream}<{@link String}>
+     */
+    public static Stream<String> scan(@NotNull String keyExpr, long count) {
+        return scanCursor(keyExpr, count).stream();
+    }
+
+    /**
+     * <p>Scan key cursor by expression</p>
+     * <p>通过表达式获取键游标，需在使用后关闭</p>
+     *
+     * @param keyExpr key expression
+     * @param count   count hint of each scan
+     * @return {@link Cursor}<{@link String}>
+     */
+    public static Cursor<String> scanCursor(@NotNull String keyExpr, long count) {
+        return TEMPLATE.scan(ScanOptions.scanOptions().match(keyExpr).count(count).build());
+    }
+
+    /**
+     * <p>Delete key by expression</p>
+     * <p>通过表达式删除键（SCAN + 管道UNLINK分批删除）</p>
+     *
+     * @param keyExpr key expression
+     * @return long delete count
+     */
+    public static long deleteByPattern(@NotNull String keyExpr) {
+        return deleteByPattern(keyExpr, SCAN_COUNT, DELETE_BATCH, null);
+    }
+
+    /**
+     * <p>Delete key by expression</p>
+     * <p>通过表达式删除键（SCAN + 管道UNLINK分批删除）</p>
+     * <p>ps: 每批删除后暂停pause以限制对Redis的压力，线程中断时停止删除</p>
+     *
+     * @param keyExpr   key expression
+     * @param count     count hint of each scan
+     * @param batchSize key size of each pipelined UNLINK batch
+     * @param pause     pause between batches, null is not pause
+     * @return long delete count
+     */
+    public static long deleteByPattern(@NotNull String keyExpr, long count, int batchSize, @Nullable Duration pause) {
+        long delNum = 0;
+        List<String> batch = new ArrayList<>(batchSize);
+        try (Cursor<String> cursor = scanCursor(keyExpr, count)) {
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() < batchSize) {
+                    continue;
+                }
+                delNum += unlink(batch);
+                batch.clear();
+                if (!pause(pause)) {
+                    return delNum;
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            delNum += unlink(batch);
+        }
+        return delNum;
+    }
+
+    /**
+     * <p>Unlink keys (non-blocking delete) in one pipeline</p>
+     * <p>管道批量异步删除键（UNLINK）</p>
+     *
+     * @param keys keys
+     * @return long
+     */
+    public static long unlink(@NotNull Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return 0;
+        }
+        RedisSerializer<String> serializer = TEMPLATE.getStringSerializer();
+        List<Object> results = TEMPLATE.executePipelined((RedisCallback<Object>) connection -> {
+            for (String key : keys) {
+                connection.keyCommands().unlink(serializer.serialize(key));
+            }
+            return null;
+        });
+        RedisNearCache.invalidate(keys);
+        long delNum = 0;
+        for (Object result : results) {
+            if (result instanceof Number) {
+                delNum += ((Number) result).longValue();
+            }
+        }
+        return delNum;
+    }
+
+    private static boolean pause(@Nullable Duration pause) {
+        if (pause == null || pause.isZero() || pause.isNegative()) {
+            return true;
+        }
+        try {
+            Thread.sleep(pause.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("delete by pattern interrupted");
+            return false;
+        }
     }
 
     /**
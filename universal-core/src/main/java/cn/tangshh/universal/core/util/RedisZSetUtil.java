@@ -4,9 +4,12 @@ package cn.tangshh.universal.core.util;
 import jakarta.annotation.Nullable;
 import jakarta.validation.constraints.NotNull;
 import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.zset.Aggregate;
+import org.springframework.data.redis.connection.zset.Weights;
 import org.springframework.data.redis.core.ZSetOperations;
 
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -231,4 +234,158 @@ public final class RedisZSetUtil extends RedisUtil {
         return OPERATIONS.addIfAbsent(key, set);
     }
 
+    /**
+     * Get score
+     *
+     * @param key   key
+     * @param value value
+     * @return {@link Double}
+     */
+    @Nullable
+    public static Double score(@NotNull String key, Object value) {
+        return OPERATIONS.score(key, JacksonUtil.toJson(value));
+    }
+
+    /**
+     * Score increment
+     *
+     * @param key   key
+     * @param value value
+     * @param delta increment
+     * @return {@link Double} new score
+     */
+    @Nullable
+    public static Double incrementScore(@NotNull String key, Object value, double delta) {
+        return OPERATIONS.incrementScore(key, JacksonUtil.toJson(value), delta);
+    }
+
+    /**
+     * Range query with score
+     *
+     * @param key   key
+     * @param start start index
+     * @param end   end index
+     * @return {@link Set}<{@link ZSetOperations.TypedTuple}<{@link String}>>
+     */
+    @Nullable
+    public static Set<ZSetOperations.TypedTuple<String>> rangeWithScores(@NotNull String key, long start, long end) {
+        return OPERATIONS.rangeWithScores(key, start, end);
+    }
+
+    /**
+     * Reverse range query (descending score)
+     *
+     * @param key   key
+     * @param start start index
+     * @param end   end index
+     * @return {@link Set}<{@link String}>
+     */
+    @Nullable
+    public static Set<String> reverseRange(@NotNull String key, long start, long end) {
+        return OPERATIONS.reverseRange(key, start, end);
+    }
+
+    /**
+     * Reverse range query with score (descending score)
+     *
+     * @param key   key
+     * @param start start index
+     * @param end   end index
+     * @return {@link Set}<{@link ZSetOperations.TypedTuple}<{@link String}>>
+     */
+    @Nullable
+    public static Set<ZSetOperations.TypedTuple<String>> reverseRangeWithScores(@NotNull String key, long start, long end) {
+        return OPERATIONS.reverseRangeWithScores(key, start, end);
+    }
+
+    /**
+     * Reverse range query by score (descending score)
+     *
+     * @param key      key
+     * @param minScore min score
+     * @param maxScore max score
+     * @param offset   offset
+     * @param count    count
+     * @return {@link Set}<{@link String}>
+     */
+    @Nullable
+    public static Set<String> reverseRangeByScore(@NotNull String key, double minScore, double maxScore,
+                                                  long offset, long count) {
+        return OPERATIONS.reverseRangeByScore(key, minScore, maxScore, offset, count);
+    }
+
+    /**
+     * Reverse range query by score with score (descending score)
+     *
+     * @param key      key
+     * @param minScore min score
+     * @param maxScore max score
+     * @param offset   offset
+     * @param count    count
+     * @return {@link Set}<{@link ZSetOperations.TypedTuple}<{@link String}>>
+     */
+    @Nullable
+    public static Set<ZSetOperations.TypedTuple<String>> reverseRangeByScoreWithScores(@NotNull String key, double minScore,
+                                                                                     double maxScore, long offset, long count) {
+        return OPERATIONS.reverseRangeByScoreWithScores(key, minScore, maxScore, offset, count);
+    }
+
+    /**
+     * Weighted union of sets and store to destination (ZUNIONSTORE)
+     *
+     * @param destKey destination key
+     * @param keys    source keys
+     * @param weights weight of each source key, empty is 1
+     * @return {@link Long} destination size
+     */
+    @Nullable
+    public static Long unionAndStore(@NotNull String destKey, @NotNull List<String> keys, double... weights) {
+        Weights w = weights(keys, weights);
+        return OPERATIONS.unionAndStore(keys.get(0), keys.subList(1, keys.size()), destKey, Aggregate.SUM, w);
+    }
+
+    /**
+     * Weighted intersection of sets and store to destination (ZINTERSTORE)
+     *
+     * @param destKey destination key
+     * @param keys    source keys
+     * @param weights weight of each source key, empty is 1
+     * @return {@link Long} destination size
+     */
+    @Nullable
+    public static Long intersectAndStore(@NotNull String destKey, @NotNull List<String> keys, double... weights) {
+        Weights w = weights(keys, weights);
+        return OPERATIONS.intersectAndStore(keys.get(0), keys.subList(1, keys.size()), destKey, Aggregate.SUM, w);
+    }
+
+    /**
+     * Pop values with the highest score (ZPOPMAX)
+     *
+     * @param key   key
+     * @param count count
+     * @return {@link Set}<{@link ZSetOperations.TypedTuple}<{@link String}>>
+     */
+    @Nullable
+    public static Set<ZSetOperations.TypedTuple<String>> popMax(@NotNull String key, long count) {
+        return OPERATIONS.popMax(key, count);
+    }
+
+    /**
+     * Pop values with the lowest score (ZPOPMIN)
+     *
+     * @param key   key
+     * @param count count
+     * @return {@link Set}<{@link ZSetOperations.TypedTuple}<{@link String}>>
+     */
+    @Nullable
+    public static Set<ZSetOperations.TypedTuple<String>> popMin(@NotNull String key, long count) {
+        return OPERATIONS.popMin(key, count);
+    }
+
+    private static Weights weights(List<String> keys, double[] weights) {
+        if (keys.isEmpty()) {
+            throw new IllegalArgumentException("keys must not be empty");
+        }
+        return weights.length == 0 ? Weights.fromSetCount(keys.size()) : Weights.of(weights);
+    }
 }